@@ -20,6 +20,8 @@ public class StatBuilder {
     double minValue = Double.MIN_VALUE;
     double maxValue = Double.MAX_VALUE;
     boolean percentageBased  = false;
+    String derivedFormula;
+    String formula;
 
     public static StatBuilder create() {
         return new StatBuilder();
@@ -106,6 +108,24 @@ public class StatBuilder {
         return this;
     }
 
+    /**
+     * 파생 수식, 다른 스탯 ID와 base(자기 기본값) 참조 가능
+     * 예: "base + vitality * 10"
+     */
+    public StatBuilder derived(String formula) {
+        this.derivedFormula = formula;
+        return this;
+    }
+
+    /**
+     * 최종값 집계 수식, 변수 base/flat/percent/multiply
+     * 예: 체감 효과 "1 - 1 / (1 + (base + flat) * (1 + percent) * multiply)"
+     */
+    public StatBuilder formula(String formula) {
+        this.formula = formula;
+        return this;
+    }
+
     /**
      * Stat 객체 생성
      *
@@ -124,10 +144,16 @@ public class StatBuilder {
                 defaultValue,
                 minValue,
                 maxValue,
-                percentageBased
+                percentageBased,
+                normalize(derivedFormula),
+                normalize(formula)
         );
     }
 
+    private static String normalize(String formula) {
+        return formula == null || formula.isBlank() ? null : formula.trim();
+    }
+
     private void validate() {
         if (id == null || id.isBlank()) {
             throw new IllegalStateException("Stat id is required");
@@ -155,7 +181,9 @@ public class StatBuilder {
             double defaultValue,
             double minValue,
             double maxValue,
-            boolean percentageBased
+            boolean percentageBased,
+            String derivedFormula,
+            String formula
     ) implements IStat {
 
         @Override
@@ -190,6 +218,16 @@ public class StatBuilder {
         public boolean isPercent() {
             return percentageBased;
         }
+
+        @Override
+        public String getDerivedFormula() {
+            return derivedFormula;
+        }
+
+        @Override
+        public String getFormula() {
+            return formula;
+        }
     }
 }
 
@@ -155,6 +155,7 @@ public class StatModifierBuilder {
 
     /**
      * 조건부 활성화
+     * 입력이 바뀔 때 자동으로 다시 평가되려면 StatCondition 사용
      */
     public StatModifierBuilder condition(Predicate<IStatHolder> condition) {
         this.condition = condition;
@@ -0,0 +1,33 @@
+package org.gi.stat;
+
+/**
+ * 홀더의 전체 스탯 최종값 (불변)
+ * 값은 레지스트리 순번(StatKey.ordinal) 순서, 인스턴스가 없는 스탯은 기본값
+ *
+ * @param version 생성 시점의 IStatHolder.getVersion(), 값이 하나라도 바뀌어야 증가
+ * @param generation 순번이 유효한 레지스트리 세대 (잠기지 않았으면 0, 값 없음)
+ */
+public record HolderSnapshot(long version, int generation, double[] values) {
+
+    /**
+     * @return 핸들 세대가 다르면 NaN
+     */
+    public double get(StatKey key) {
+        if (key == null || key.generation() != generation || key.ordinal() >= values.length) {
+            return Double.NaN;
+        }
+        return values[key.ordinal()];
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    /**
+     * @return 복사본
+     */
+    @Override
+    public double[] values() {
+        return values.clone();
+    }
+}
@@ -32,4 +32,25 @@ public interface IStat {
     double getMaxValue();
 
     boolean isPercent();
+
+    /**
+     * 다른 스탯에서 파생되는 기본값 수식
+     * 예: "base + vitality * 10" (base는 이 스탯의 기본값)
+     * @return 파생 스탯이 아니면 null
+     * */
+    default String getDerivedFormula(){
+        return null;
+    }
+
+    /**
+     * 최종값 집계 수식 (변수: base, flat, percent, multiply)
+     * @return null이면 기본 공식 (base + flat) × (1 + percent) × multiply
+     * */
+    default String getFormula(){
+        return null;
+    }
+
+    default boolean isDerived(){
+        return getDerivedFormula() != null;
+    }
 }
@@ -6,6 +6,7 @@ import org.gi.listener.IStatChangeListener;
 import java.util.Collection;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * 스탯 보유자 인터페이스
@@ -44,6 +45,17 @@ public interface IStatHolder {
      */
     Optional<IStatInstance> getIStatInstance(String statId);
 
+    /**
+     * 핸들 기반 스탯 인스턴스 조회
+     * 기본 구현은 문자열 경로로 위임
+     *
+     * @param key 레지스트리가 발급한 스탯 핸들
+     * @return 스탯 인스턴스, 없으면 empty
+     */
+    default Optional<IStatInstance> getIStatInstance(StatKey key){
+        return getIStatInstance(key.id());
+    }
+
     /**
      * 특정 스탯 인스턴스 조회
      *
@@ -72,6 +84,10 @@ public interface IStatHolder {
         return getIStatInstance(statId).map(IStatInstance::getFinal).orElse(0.0);
     }
 
+    default double getStat(StatKey key){
+        return getIStatInstance(key).map(IStatInstance::getFinal).orElse(0.0);
+    }
+
     default double getBase(String statId){
         return getIStatInstance(statId).map(IStatInstance::getBase).orElse(0.0);
     }
@@ -88,6 +104,69 @@ public interface IStatHolder {
         return getIStatInstance(statId).flatMap(instance -> instance.removeModifier(ModifierId));
     }
 
+    /**
+     * 여러 변경을 모아 한 번에 적용 (장비 세트 교체 등)
+     * 변경된 스탯마다 캐시 무효화 1회, 리스너 알림 1회
+     *
+     * 기본 구현은 변경을 즉시 하나씩 적용
+     *
+     * @param changes 변경 내용을 기록할 콜백
+     */
+    default void batch(Consumer<ModifierTransaction> changes){
+        changes.accept(new ModifierTransaction() {
+            @Override
+            public ModifierTransaction add(IStatModifier modifier) {
+                addModifier(modifier);
+                return this;
+            }
+
+            @Override
+            public ModifierTransaction remove(String statId, UUID modifierId) {
+                removeModifier(statId, modifierId);
+                return this;
+            }
+
+            @Override
+            public ModifierTransaction removeBySource(String source) {
+                removeAllModifiersBySource(source);
+                return this;
+            }
+
+            @Override
+            public ModifierTransaction setBase(String statId, double value) {
+                IStatHolder.this.setBase(statId, value);
+                return this;
+            }
+        });
+    }
+
+    /**
+     * 리소스(HP, MP 등) 값 변경 알림
+     * 해당 리소스를 읽는 StatCondition 수정자가 있는 스탯만 다시 계산 대상이 됨
+     *
+     * @param resourceId 리소스 ID
+     */
+    default void notifyResourceChanged(String resourceId){
+    }
+
+    /**
+     * @return 값 변경 번호, 스탯 최종값이 하나라도 실제로 바뀌었을 때만 증가 (단조 증가)
+     */
+    long getVersion();
+
+    /**
+     * @return since 이후 값이 바뀐 스탯이 있으면 true
+     */
+    default boolean hasChangedSince(long since){
+        return getVersion() != since;
+    }
+
+    /**
+     * 전체 최종값을 레지스트리 순번 배열로 조회
+     * 값이 바뀌지 않았으면 같은 스냅샷(같은 version)을 반환
+     */
+    HolderSnapshot getSnapshot();
+
     /**
      * @param source 소스 식별자
      * @return 제거된 수정자 수
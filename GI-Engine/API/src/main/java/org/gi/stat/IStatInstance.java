@@ -89,6 +89,15 @@ public interface IStatInstance {
 
     double getTotalMultiply();
 
+    /**
+     * 기본값/합계/최종값을 한 번에 조회 (서로 다른 재계산 결과가 섞이지 않음)
+     * 기본 구현은 개별 getter 조합
+     */
+    default StatSnapshot getSnapshot(){
+        return new StatSnapshot(getStat().getID(), getBase(), getTotalFlat(), getTotalPercent(),
+                getTotalMultiply(), getFinal(), 0);
+    }
+
     /**
      * 캐싱 값 무효
      * 수정자 변경 시 자동 호출로 사용, 강제 재계산 필요시
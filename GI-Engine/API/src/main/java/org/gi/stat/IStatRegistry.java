@@ -31,6 +31,23 @@ public interface IStatRegistry {
      * */
     Optional<IStat> get(String statId);
 
+    /**
+     * @param statId 스탯의 고유Id
+     * @return 스탯 핸들, 레지스트리가 잠겨있지 않으면 Empty
+     * */
+    Optional<StatKey> getKey(String statId);
+
+    /**
+     * @param ordinal StatKey.ordinal()
+     * @return 해당 순번의 스탯, 잠겨있지 않거나 범위 밖이면 Empty
+     * */
+    Optional<IStat> getByOrdinal(int ordinal);
+
+    /**
+     * @return 현재 핸들 세대, lock() 될 때마다 증가 (잠기지 않았으면 0)
+     * */
+    int getGeneration();
+
     /**
      * @return 등록된 전체 스탯
      * */
@@ -65,6 +82,7 @@ public interface IStatRegistry {
     void clear();
     /**
      * 레지스트리 잠금 -> 서버 실행 후 변경 방지
+     * 잠금 시 스탯마다 연속된 StatKey를 부여
      * */
     void lock();
     /**
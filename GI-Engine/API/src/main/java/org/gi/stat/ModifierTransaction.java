@@ -0,0 +1,28 @@
+package org.gi.stat;
+
+import java.util.UUID;
+
+/**
+ * 여러 수정자/기본값 변경을 모아 한 번에 적용하는 트랜잭션
+ * IStatHolder.batch() 콜백 안에서만 사용
+ *
+ * StatHolder 구현은 콜백이 끝난 뒤 한 번에 적용하며, 콜백에서 예외가 발생하면 아무것도 적용하지 않음
+ */
+public interface ModifierTransaction {
+    /**
+     * @throws IllegalArgumentException 등록되지 않은 스탯의 수정자인 경우
+     */
+    ModifierTransaction add(IStatModifier modifier);
+
+    ModifierTransaction remove(String statId, UUID modifierId);
+
+    /**
+     * 모든 스탯에서 해당 소스의 수정자 제거
+     */
+    ModifierTransaction removeBySource(String source);
+
+    /**
+     * @throws IllegalArgumentException 등록되지 않은 스탯인 경우
+     */
+    ModifierTransaction setBase(String statId, double value);
+}
@@ -0,0 +1,73 @@
+package org.gi.stat;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * 읽는 입력을 선언한 수정자 조건
+ *
+ * StatHolder는 선언된 스탯/리소스가 바뀔 때 이 조건을 가진 스탯만 다시 계산함.
+ * 일반 Predicate 조건은 수정자 변경 또는 recalculateAllStat() 때만 다시 평가됨
+ *
+ * 예: HP 30% 이하일 때 활성
+ * <pre>
+ * StatCondition.onResources(h -> hpPercent(h) <= 0.3, "health")
+ * </pre>
+ */
+public interface StatCondition extends Predicate<IStatHolder> {
+
+    /**
+     * @return 조건이 읽는 스탯 ID (소문자)
+     */
+    Set<String> getStatDependencies();
+
+    /**
+     * @return 조건이 읽는 리소스 ID (소문자), IStatHolder.notifyResourceChanged()로 알림
+     */
+    Set<String> getResourceDependencies();
+
+    static StatCondition of(Predicate<IStatHolder> test, Collection<String> statIds, Collection<String> resourceIds) {
+        Objects.requireNonNull(test, "Condition cannot be null");
+        Set<String> stats = normalize(statIds);
+        Set<String> resources = normalize(resourceIds);
+
+        return new StatCondition() {
+            @Override
+            public boolean test(IStatHolder holder) {
+                return test.test(holder);
+            }
+
+            @Override
+            public Set<String> getStatDependencies() {
+                return stats;
+            }
+
+            @Override
+            public Set<String> getResourceDependencies() {
+                return resources;
+            }
+        };
+    }
+
+    static StatCondition onStats(Predicate<IStatHolder> test, String... statIds) {
+        return of(test, Arrays.asList(statIds), Set.of());
+    }
+
+    static StatCondition onResources(Predicate<IStatHolder> test, String... resourceIds) {
+        return of(test, Set.of(), Arrays.asList(resourceIds));
+    }
+
+    private static Set<String> normalize(Collection<String> ids) {
+        if (ids == null) {
+            return Set.of();
+        }
+        return ids.stream()
+                .filter(Objects::nonNull)
+                .map(String::toLowerCase)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
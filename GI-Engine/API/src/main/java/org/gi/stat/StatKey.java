@@ -0,0 +1,14 @@
+package org.gi.stat;
+
+/**
+ * 스탯 핸들
+ *
+ * IStatRegistry.lock() 시점에 스탯마다 부여되는 0부터 시작하는 연속 번호.
+ * 문자열 ID 대신 배열 인덱스로 스탯에 접근하기 위해 사용.
+ *
+ * @param id 스탯 ID (소문자)
+ * @param ordinal 레지스트리 내 순번
+ * @param generation 발급된 잠금 세대, 레지스트리가 다시 잠기면 이전 세대 핸들은 문자열 경로로 처리됨
+ */
+public record StatKey(String id, int ordinal, int generation) {
+}
@@ -0,0 +1,24 @@
+package org.gi.stat;
+
+/**
+ * 한 시점의 스탯 계산 결과 (불변)
+ * 모든 값이 같은 재계산에서 나온 것이 보장됨 (UI 표시용)
+ *
+ * @param statId 스탯 ID
+ * @param base 계산에 사용된 기본값 (파생 스탯은 파생 수식 결과)
+ * @param totalFlat FLAT 합계
+ * @param totalPercent PERCENT 합계
+ * @param totalMultiply MULTIPLY 곱
+ * @param finalValue 최종값 (min/max 적용)
+ * @param version 인스턴스 변경 번호, 값이 다르면 그 사이 변경이 있었음
+ */
+public record StatSnapshot(
+        String statId,
+        double base,
+        double totalFlat,
+        double totalPercent,
+        double totalMultiply,
+        double finalValue,
+        int version
+) {
+}
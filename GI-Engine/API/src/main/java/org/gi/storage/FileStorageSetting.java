@@ -0,0 +1,44 @@
+package org.gi.storage;
+
+/**
+ * 파일 저장소(FILE) 설정
+ * 0 이하의 값은 기본값으로 대체
+ */
+public class FileStorageSetting {
+    public static final String DEFAULT_DIRECTORY = "player_data";
+    public static final int DEFAULT_PLAYERS_PER_SEGMENT = 1024;
+    public static final long DEFAULT_COMPACTION_INTERVAL_MINUTES = 10;
+    public static final double DEFAULT_COMPACTION_RATIO = 0.5;
+
+    private final String directory; //데이터 폴더 아래 세그먼트 파일을 둘 폴더
+    private final int playersPerSegment; //세그먼트 하나에 새로 배정할 최대 플레이어 수
+    private final long compactionIntervalMinutes; //압축 검사·인덱스 기록 주기
+    private final double compactionRatio; //세그먼트에서 쓸모없는 기록이 이 비율을 넘으면 압축
+
+    public FileStorageSetting() {
+        this(null, 0, 0, 0);
+    }
+
+    public FileStorageSetting(String directory, int playersPerSegment, long compactionIntervalMinutes, double compactionRatio) {
+        this.directory = directory == null || directory.isBlank() ? DEFAULT_DIRECTORY : directory;
+        this.playersPerSegment = playersPerSegment > 0 ? playersPerSegment : DEFAULT_PLAYERS_PER_SEGMENT;
+        this.compactionIntervalMinutes = compactionIntervalMinutes > 0 ? compactionIntervalMinutes : DEFAULT_COMPACTION_INTERVAL_MINUTES;
+        this.compactionRatio = compactionRatio > 0 && compactionRatio < 1 ? compactionRatio : DEFAULT_COMPACTION_RATIO;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public int getPlayersPerSegment() {
+        return playersPerSegment;
+    }
+
+    public long getCompactionIntervalMinutes() {
+        return compactionIntervalMinutes;
+    }
+
+    public double getCompactionRatio() {
+        return compactionRatio;
+    }
+}
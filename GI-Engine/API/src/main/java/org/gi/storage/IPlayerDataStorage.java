@@ -2,8 +2,7 @@ package org.gi.storage;
 
 import org.gi.Result;
 
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -21,11 +20,73 @@ public interface IPlayerDataStorage {
      */
     CompletableFuture<Result> save(PlayerStatData data);
 
+    /**
+     * 변경분만 저장 (바뀐 기본값 upsert, 영구 수정자 upsert/삭제)
+     * 변경이 없으면 쿼리 없이 완료
+     */
+    CompletableFuture<Result> saveDelta(PlayerStatDelta delta);
+
+    /**
+     * 여러 플레이어의 변경분을 한 번에 저장 (그룹 커밋)
+     * 기본 구현은 플레이어별 saveDelta, 구현체는 한 트랜잭션으로 묶을 수 있음
+     *
+     * @return 모두 성공하면 SUCCESS, 아니면 처음 실패한 결과
+     */
+    default CompletableFuture<Result> saveDeltas(Collection<PlayerStatDelta> deltas) {
+        List<CompletableFuture<Result>> futures = deltas.stream().map(this::saveDelta).toList();
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> futures.stream()
+                        .map(CompletableFuture::join)
+                        .filter(result -> !result.isSuccess())
+                        .findFirst()
+                        .orElse(Result.SUCCESS));
+    }
+
+    /**
+     * 우선순위를 지정해 변경분 저장, 우선순위를 구분하지 않는 구현체는 saveDeltas(deltas)와 같음
+     */
+    default CompletableFuture<Result> saveDeltas(Collection<PlayerStatDelta> deltas, StoragePriority priority) {
+        return saveDeltas(deltas);
+    }
+
     /**
      * 플레이어 데이터 로드
      */
     CompletableFuture<Optional<PlayerStatData>> load(UUID playerUUID);
 
+    /**
+     * 우선순위를 지정해 로드, 우선순위를 구분하지 않는 구현체는 load(playerUUID)와 같음
+     */
+    default CompletableFuture<Optional<PlayerStatData>> load(UUID playerUUID, StoragePriority priority) {
+        return load(playerUUID);
+    }
+
+    /**
+     * 여러 플레이어 데이터를 한 번에 로드 (서버 시작·리로드 시 일괄 접속)
+     * 기본 구현은 플레이어별 load, 구현체는 IN (...) 조회로 묶을 수 있음
+     *
+     * @return 플레이어 UUID -> 데이터, 저장된 데이터가 없는 플레이어는 포함되지 않음
+     */
+    default CompletableFuture<Map<UUID, PlayerStatData>> loadAll(Collection<UUID> playerUUIDs) {
+        Map<UUID, CompletableFuture<Optional<PlayerStatData>>> futures = new LinkedHashMap<>();
+        for (UUID playerUUID : playerUUIDs) {
+            futures.put(playerUUID, load(playerUUID));
+        }
+        return CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    Map<UUID, PlayerStatData> loaded = new HashMap<>();
+                    futures.forEach((playerUUID, future) -> future.join().ifPresent(data -> loaded.put(playerUUID, data)));
+                    return loaded;
+                });
+    }
+
+    /**
+     * 우선순위를 지정해 일괄 로드, 우선순위를 구분하지 않는 구현체는 loadAll(playerUUIDs)와 같음
+     */
+    default CompletableFuture<Map<UUID, PlayerStatData>> loadAll(Collection<UUID> playerUUIDs, StoragePriority priority) {
+        return loadAll(playerUUIDs);
+    }
+
     /**
      * 플레이어 데이터 삭제
      */
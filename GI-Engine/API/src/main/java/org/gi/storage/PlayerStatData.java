@@ -31,6 +31,26 @@ public class PlayerStatData {
         return permanentModifiers;
     }
 
+    /**
+     * 변경분을 적용한 새 데이터 (기존 객체는 그대로)
+     */
+    public PlayerStatData applied(PlayerStatDelta delta) {
+        Map<String,Double> mergedBase = new HashMap<>(baseValues);
+        mergedBase.putAll(delta.getBaseValues());
+
+        Map<UUID, IStatModifier> modifiers = new LinkedHashMap<>();
+        if (permanentModifiers != null) {
+            for (IStatModifier modifier : permanentModifiers) {
+                modifiers.put(modifier.getID(), modifier);
+            }
+        }
+        delta.getRemovedModifiers().forEach(modifiers::remove);
+        for (IStatModifier modifier : delta.getUpsertedModifiers()) {
+            modifiers.put(modifier.getID(), modifier);
+        }
+        return new PlayerStatData(playerUUID, mergedBase, new ArrayList<>(modifiers.values()));
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -0,0 +1,119 @@
+package org.gi.storage;
+
+import org.gi.stat.IStatModifier;
+
+import java.util.*;
+
+/**
+ * 마지막 저장 이후 바뀐 플레이어 데이터
+ * 바뀐 기본값과 추가/변경·제거된 영구 수정자만 포함
+ */
+public class PlayerStatDelta {
+    private final UUID playerUUID;
+    private final Map<String,Double> baseValues;
+    private final Collection<IStatModifier> upsertedModifiers;
+    private final Collection<UUID> removedModifiers;
+
+    public PlayerStatDelta(UUID playerUUID, Map<String,Double> baseValues,
+                           Collection<IStatModifier> upsertedModifiers, Collection<UUID> removedModifiers) {
+        this.playerUUID = playerUUID;
+        this.baseValues = baseValues;
+        this.upsertedModifiers = upsertedModifiers;
+        this.removedModifiers = removedModifiers;
+    }
+
+    public UUID getPlayerUUID() {
+        return playerUUID;
+    }
+
+    /**
+     * @return 바뀐 스탯 기본값 (스탯 ID -> 값)
+     */
+    public Map<String, Double> getBaseValues() {
+        return baseValues;
+    }
+
+    /**
+     * @return 새로 추가되었거나 교체된 영구 수정자
+     */
+    public Collection<IStatModifier> getUpsertedModifiers() {
+        return upsertedModifiers;
+    }
+
+    /**
+     * @return 제거된 영구 수정자 ID
+     */
+    public Collection<UUID> getRemovedModifiers() {
+        return removedModifiers;
+    }
+
+    /**
+     * @return 저장할 변경이 없으면 true
+     */
+    public boolean isEmpty() {
+        return baseValues.isEmpty() && upsertedModifiers.isEmpty() && removedModifiers.isEmpty();
+    }
+
+    /**
+     * 같은 플레이어의 더 최신 변경분을 덮어써 합침 (나중 값 우선)
+     * 한쪽에서 추가되고 다른 쪽에서 제거된 수정자는 나중 쪽 상태만 남음
+     *
+     * @param newer 이 변경분 이후에 만들어진 변경분
+     */
+    public PlayerStatDelta mergedWith(PlayerStatDelta newer) {
+        Map<String,Double> mergedBase = new HashMap<>(baseValues);
+        mergedBase.putAll(newer.baseValues);
+
+        Map<UUID, IStatModifier> upserted = new LinkedHashMap<>();
+        for (IStatModifier modifier : upsertedModifiers) {
+            upserted.put(modifier.getID(), modifier);
+        }
+        Set<UUID> removed = new LinkedHashSet<>(removedModifiers);
+
+        for (UUID modifierId : newer.removedModifiers) {
+            upserted.remove(modifierId);
+            removed.add(modifierId);
+        }
+        for (IStatModifier modifier : newer.upsertedModifiers) {
+            removed.remove(modifier.getID());
+            upserted.put(modifier.getID(), modifier);
+        }
+
+        return new PlayerStatDelta(playerUUID, mergedBase, new ArrayList<>(upserted.values()), new ArrayList<>(removed));
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private UUID playerUUID;
+        private final Map<String,Double> baseValues = new HashMap<>();
+        private final List<IStatModifier> upsertedModifiers = new ArrayList<>();
+        private final List<UUID> removedModifiers = new ArrayList<>();
+
+        public Builder playerUUID(UUID playerUUID) {
+            this.playerUUID = playerUUID;
+            return this;
+        }
+
+        public Builder baseValue(String statId, double value) {
+            this.baseValues.put(statId.toLowerCase(), value);
+            return this;
+        }
+
+        public Builder upsert(IStatModifier modifier) {
+            this.upsertedModifiers.add(modifier);
+            return this;
+        }
+
+        public Builder remove(UUID modifierId) {
+            this.removedModifiers.add(modifierId);
+            return this;
+        }
+
+        public PlayerStatDelta build() {
+            return new PlayerStatDelta(playerUUID, baseValues, upsertedModifiers, removedModifiers);
+        }
+    }
+}
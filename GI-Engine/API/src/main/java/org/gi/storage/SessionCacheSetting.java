@@ -0,0 +1,37 @@
+package org.gi.storage;
+
+/**
+ * 재접속용 세션 캐시 설정
+ * 0 이하의 값은 기본값으로 대체
+ */
+public class SessionCacheSetting {
+    public static final long DEFAULT_TTL_MILLIS = 60_000;
+    public static final int DEFAULT_MAX_PLAYERS = 512;
+    public static final long DEFAULT_MAX_MEMORY_KB = 8 * 1024;
+
+    private final long ttlMillis; //퇴장 후 상태를 보관하는 최대 시간
+    private final int maxPlayers; //보관할 최대 플레이어 수
+    private final long maxMemoryKb; //보관에 쓸 최대 메모리 (인코딩된 크기 기준)
+
+    public SessionCacheSetting() {
+        this(0, 0, 0);
+    }
+
+    public SessionCacheSetting(long ttlMillis, int maxPlayers, long maxMemoryKb) {
+        this.ttlMillis = ttlMillis > 0 ? ttlMillis : DEFAULT_TTL_MILLIS;
+        this.maxPlayers = maxPlayers > 0 ? maxPlayers : DEFAULT_MAX_PLAYERS;
+        this.maxMemoryKb = maxMemoryKb > 0 ? maxMemoryKb : DEFAULT_MAX_MEMORY_KB;
+    }
+
+    public long getTtlMillis() {
+        return ttlMillis;
+    }
+
+    public int getMaxPlayers() {
+        return maxPlayers;
+    }
+
+    public long getMaxMemoryKb() {
+        return maxMemoryKb;
+    }
+}
@@ -0,0 +1,9 @@
+package org.gi.storage;
+
+/**
+ * 저장소 작업(JDBC 호출)을 실행할 스레드 방식
+ */
+public enum StorageExecutorMode {
+    PLATFORM, //커넥션 수만큼의 고정 스레드 풀
+    VIRTUAL //작업마다 가상 스레드, 동시 실행은 커넥션 수로 제한
+}
@@ -0,0 +1,11 @@
+package org.gi.storage;
+
+/**
+ * 저장소 작업 우선순위 (앞에 있을수록 먼저 실행)
+ */
+public enum StoragePriority {
+    LOAD, //접속한 플레이어 로드, 존재 확인
+    QUIT_SAVE, //퇴장 저장
+    PERIODIC_SAVE, //자동 저장 등 정기 저장
+    MAINTENANCE //데이터 삭제, 스키마 이전
+}
@@ -1,5 +1,7 @@
 package org.gi.storage;
 
 public enum StorageType {
-    MYSQL,SQLITE
+    MYSQL,SQLITE,
+    MYSQL_BLOB,SQLITE_BLOB, //플레이어당 바이너리 한 행
+    FILE //SQL 없이 로컬 로그 파일
 }
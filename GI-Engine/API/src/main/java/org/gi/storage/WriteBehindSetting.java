@@ -0,0 +1,37 @@
+package org.gi.storage;
+
+/**
+ * write-behind 저장 큐 설정
+ * 0 이하의 값은 기본값으로 대체
+ */
+public class WriteBehindSetting {
+    public static final int DEFAULT_BATCH_SIZE = 64;
+    public static final long DEFAULT_MAX_DELAY_MILLIS = 500;
+    public static final int DEFAULT_MAX_PENDING = 2048;
+
+    private final int batchSize; //한 번에 커밋할 최대 플레이어 수
+    private final long maxDelayMillis; //가장 오래된 요청이 기다릴 최대 시간
+    private final int maxPending; //대기 가능한 최대 플레이어 수 (초과 시 정기 저장은 거절, 퇴장 저장은 바로 기록)
+
+    public WriteBehindSetting() {
+        this(0, 0, 0);
+    }
+
+    public WriteBehindSetting(int batchSize, long maxDelayMillis, int maxPending) {
+        this.batchSize = batchSize > 0 ? batchSize : DEFAULT_BATCH_SIZE;
+        this.maxDelayMillis = maxDelayMillis > 0 ? maxDelayMillis : DEFAULT_MAX_DELAY_MILLIS;
+        this.maxPending = Math.max(maxPending > 0 ? maxPending : DEFAULT_MAX_PENDING, this.batchSize);
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public long getMaxDelayMillis() {
+        return maxDelayMillis;
+    }
+
+    public int getMaxPending() {
+        return maxPending;
+    }
+}
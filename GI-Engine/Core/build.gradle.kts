@@ -14,9 +14,17 @@ dependencies {
     implementation(project(":Util"))
     testImplementation(platform("org.junit:junit-bom:5.10.0"))
     testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+    testRuntimeOnly("org.xerial:sqlite-jdbc:3.45.1.0") // 서버가 제공하는 드라이버, 테스트/벤치마크 실행용
+    testRuntimeOnly("com.mysql:mysql-connector-j:8.4.0")
     implementation("com.zaxxer:HikariCP:6.3.0")
 }
 
 tasks.test {
     useJUnitPlatform()
+    // *Benchmark 테스트는 -Pbenchmark 일 때만 실행
+    systemProperty("gi.benchmark", project.hasProperty("benchmark"))
+    // MySQL 벤치마크 접속 정보 (-Pgi.mysql.host=... 없으면 건너뜀)
+    project.properties.filterKeys { it.startsWith("gi.mysql.") }.forEach { (key, value) -> systemProperty(key, value.toString()) }
+    testLogging.showStandardStreams = project.hasProperty("benchmark")
 }
\ No newline at end of file
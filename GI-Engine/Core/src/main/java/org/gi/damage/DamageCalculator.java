@@ -1,6 +1,8 @@
 package org.gi.damage;
 
 import org.gi.stat.IStatHolder;
+import org.gi.stat.IStatRegistry;
+import org.gi.stat.StatKey;
 
 import java.util.concurrent.ThreadLocalRandom;
 
@@ -28,26 +30,39 @@ public class DamageCalculator implements IDamageCalculator {
     private static final String BLOCK_CHANCE = "block_chance";
     private static final String BLOCK_AMOUNT = "block_amount";
 
+    private final IStatRegistry statRegistry;
+    private volatile StatKeys statKeys;
+
+    public DamageCalculator() {
+        this(null);
+    }
+
+    /**
+     * @param statRegistry 잠긴 레지스트리면 StatKey 경로로 조회, null이면 문자열 경로
+     * */
+    public DamageCalculator(IStatRegistry statRegistry) {
+        this.statRegistry = statRegistry;
+    }
+
     @Override
     public IDamageResult calculate(IDamageSource source, IStatHolder target) {
         DamageResult.Builder result = DamageResult.builder().source(source).target(target);
 
         IStatHolder attacker = source.getAttacker();
         double baseDamage = source.getBaseDamage();
+        StatKeys keys = resolveKeys();
         // 1. 공격력 체크
         if (attacker != null) {
-            String attackStatId = source.getDamageType() == DamageType.MAGICAL
-                    ? MAGIC_POWER
-                    : ATTACK_POWER;
-
-            double attackerPower = attacker.getStat(attackStatId);
+            double attackerPower = source.getDamageType() == DamageType.MAGICAL
+                    ? read(attacker, keys.magicPower(), MAGIC_POWER)
+                    : read(attacker, keys.attackPower(), ATTACK_POWER);
             baseDamage += attackerPower * source.getSkillScaling();
         }
 
         // 2. 회피 체크
         if (source.canEvade() && attacker != null && target != null) {
-            double accuracy = attacker.getStat(ACCURACY);
-            double evasion = target.getStat(EVASION);
+            double accuracy = read(attacker, keys.accuracy(), ACCURACY);
+            double evasion = read(target, keys.evasion(), EVASION);
 
             if (rollEvasion(accuracy, evasion)) {
                 return result
@@ -64,11 +79,11 @@ public class DamageCalculator implements IDamageCalculator {
         double damageAfterCritical = baseDamage;
 
         if (source.canCritical() && attacker != null) {
-            double criticalChance = attacker.getStat(CRITICAL_CHANCE);
+            double criticalChance = read(attacker, keys.criticalChance(), CRITICAL_CHANCE);
 
             if (rollCritical(criticalChance)) {
                 isCritical = true;
-                double criticalDamage = attacker.getStat(CRITICAL_DAMAGE);
+                double criticalDamage = read(attacker, keys.criticalDamage(), CRITICAL_DAMAGE);
                 damageAfterCritical = baseDamage * criticalDamage;
             }
         }
@@ -82,14 +97,13 @@ public class DamageCalculator implements IDamageCalculator {
 
         if (source.getDamageType().isDefensible() && target != null) {
             String defenseStatId = source.getDamageType().getDefenseStatId();
-            double defense = target.getStat(defenseStatId);
+            double defense = read(target, keys.defense(source.getDamageType()), defenseStatId);
 
             double penetration = 0;
             if (attacker != null) {
-                String penStatId = source.getDamageType() == DamageType.MAGICAL
-                        ? MAGIC_PENETRATION
-                        : ARMOR_PENETRATION;
-                penetration = attacker.getStat(penStatId);
+                penetration = source.getDamageType() == DamageType.MAGICAL
+                        ? read(attacker, keys.magicPenetration(), MAGIC_PENETRATION)
+                        : read(attacker, keys.armorPenetration(), ARMOR_PENETRATION);
             }
 
             damageAfterDefense = calculateMitigation(damageAfterCritical, defense, penetration);
@@ -104,11 +118,11 @@ public class DamageCalculator implements IDamageCalculator {
         double damageAfterBlock = damageAfterDefense;
 
         if (source.canBlock() && target != null) {
-            double blockChance = target.getStat(BLOCK_CHANCE);
+            double blockChance = read(target, keys.blockChance(), BLOCK_CHANCE);
 
             if (rollBlock(blockChance)) {
                 isBlocked = true;
-                double blockAmount = target.getStat(BLOCK_AMOUNT);
+                double blockAmount = read(target, keys.blockAmount(), BLOCK_AMOUNT);
                 blockedDamage = Math.min(damageAfterDefense, blockAmount);
                 damageAfterBlock = damageAfterDefense - blockedDamage;
             }
@@ -175,4 +189,66 @@ public class DamageCalculator implements IDamageCalculator {
     private boolean roll(double chance){
         return ThreadLocalRandom.current().nextDouble() < chance;
     }
+
+    private static double read(IStatHolder holder, StatKey key, String statId){
+        return key != null ? holder.getStat(key) : holder.getStat(statId);
+    }
+
+    /**
+     * 레지스트리 세대가 바뀌었을 때만 다시 조회
+     * 잠기지 않은 경우 모든 핸들이 null -> 문자열 경로
+     * */
+    private StatKeys resolveKeys(){
+        int generation = statRegistry != null ? statRegistry.getGeneration() : 0;
+        StatKeys current = statKeys;
+
+        if (current != null && current.generation() == generation){
+            return current;
+        }
+
+        current = new StatKeys(
+                generation,
+                key(ATTACK_POWER),
+                key(MAGIC_POWER),
+                key(CRITICAL_CHANCE),
+                key(CRITICAL_DAMAGE),
+                key(ACCURACY),
+                key(ARMOR_PENETRATION),
+                key(MAGIC_PENETRATION),
+                key(EVASION),
+                key(BLOCK_CHANCE),
+                key(BLOCK_AMOUNT),
+                key(DamageType.PHYSICAL.getDefenseStatId()),
+                key(DamageType.MAGICAL.getDefenseStatId())
+        );
+        statKeys = current;
+        return current;
+    }
+
+    private StatKey key(String statId){
+        if (statRegistry == null){
+            return null;
+        }
+        return statRegistry.getKey(statId).orElse(null);
+    }
+
+    private record StatKeys(
+            int generation,
+            StatKey attackPower,
+            StatKey magicPower,
+            StatKey criticalChance,
+            StatKey criticalDamage,
+            StatKey accuracy,
+            StatKey armorPenetration,
+            StatKey magicPenetration,
+            StatKey evasion,
+            StatKey blockChance,
+            StatKey blockAmount,
+            StatKey armor,
+            StatKey magicResistance
+    ) {
+        StatKey defense(DamageType damageType){
+            return damageType == DamageType.MAGICAL ? magicResistance : armor;
+        }
+    }
 }
@@ -0,0 +1,70 @@
+package org.gi.stat;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * StatCondition 입력 -> 그 조건을 가진 StatInstance 역색인 (홀더별)
+ *
+ * 같은 인스턴스에 같은 입력을 읽는 조건이 여러 개면 개수로 관리
+ */
+final class ConditionIndex {
+    private static final StatInstance[] NONE = new StatInstance[0];
+
+    private final Map<String, Map<StatInstance, Integer>> byStat = new HashMap<>();
+    private final Map<String, Map<StatInstance, Integer>> byResource = new HashMap<>();
+    private volatile int size; // 등록된 조건 수, 0이면 조회 생략
+
+    synchronized void watch(StatInstance instance, StatCondition condition) {
+        for (String statId : condition.getStatDependencies()) {
+            byStat.computeIfAbsent(statId, key -> new HashMap<>()).merge(instance, 1, Integer::sum);
+        }
+        for (String resourceId : condition.getResourceDependencies()) {
+            byResource.computeIfAbsent(resourceId, key -> new HashMap<>()).merge(instance, 1, Integer::sum);
+        }
+        size++;
+    }
+
+    synchronized void unwatch(StatInstance instance, StatCondition condition) {
+        for (String statId : condition.getStatDependencies()) {
+            release(byStat, statId, instance);
+        }
+        for (String resourceId : condition.getResourceDependencies()) {
+            release(byResource, resourceId, instance);
+        }
+        size--;
+    }
+
+    StatInstance[] watchersOfStat(String statId) {
+        return size == 0 ? NONE : watchers(byStat, statId.toLowerCase());
+    }
+
+    StatInstance[] watchersOfResource(String resourceId) {
+        return size == 0 ? NONE : watchers(byResource, resourceId.toLowerCase());
+    }
+
+    synchronized void clear() {
+        byStat.clear();
+        byResource.clear();
+        size = 0;
+    }
+
+    /**
+     * 잠금 밖에서 무효화하도록 복사본 반환
+     */
+    private synchronized StatInstance[] watchers(Map<String, Map<StatInstance, Integer>> index, String id) {
+        Map<StatInstance, Integer> instances = index.get(id);
+        return instances == null ? NONE : instances.keySet().toArray(NONE);
+    }
+
+    private static void release(Map<String, Map<StatInstance, Integer>> index, String id, StatInstance instance) {
+        Map<StatInstance, Integer> instances = index.get(id);
+        if (instances == null) {
+            return;
+        }
+        instances.computeIfPresent(instance, (key, count) -> count > 1 ? count - 1 : null);
+        if (instances.isEmpty()) {
+            index.remove(id);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.gi.stat;
+
+import java.util.*;
+
+/**
+ * StatHolder.batch()용 트랜잭션, 변경을 스탯 id별로 기록만 하고 commit 시 적용
+ * 기록 중에는 홀더를 건드리지 않음 (인스턴스 생성도 commit에서) -> 콜백 실패 시 흔적 없음
+ */
+final class HolderTransaction implements ModifierTransaction {
+    private final StatHolder holder;
+    private final Map<String, List<Change>> changes = new LinkedHashMap<>(); // 소문자 스탯 id -> 변경
+
+    HolderTransaction(StatHolder holder) {
+        this.holder = holder;
+    }
+
+    @Override
+    public ModifierTransaction add(IStatModifier modifier) {
+        Objects.requireNonNull(modifier, "Modifier cannot be null");
+        record(requireStat(modifier.getStatID()), new Change.Add(modifier));
+        return this;
+    }
+
+    @Override
+    public ModifierTransaction remove(String statId, UUID modifierId) {
+        if (statId != null && modifierId != null) {
+            record(statId.toLowerCase(), new Change.Remove(modifierId));
+        }
+        return this;
+    }
+
+    @Override
+    public ModifierTransaction removeBySource(String source) {
+        if (source != null) {
+            // 이 트랜잭션에서 먼저 기록된 스탯도 포함 (commit 시 생성될 인스턴스)
+            Set<String> statIds = new LinkedHashSet<>(changes.keySet());
+            for (IStatInstance instance : holder.getAllIStatInstances()) {
+                statIds.add(instance.getStat().getID().toLowerCase());
+            }
+            for (String statId : statIds) {
+                record(statId, new Change.RemoveSource(source));
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public ModifierTransaction setBase(String statId, double value) {
+        record(requireStat(statId), new Change.Base(value));
+        return this;
+    }
+
+    /**
+     * 기록된 스탯 id를 인스턴스로 해석, 추가/기본값 변경이 있는 스탯만 새로 생성
+     * 콜백이 정상 종료된 뒤에만 호출
+     */
+    Map<StatInstance, List<Change>> commit() {
+        Map<StatInstance, List<Change>> resolved = new LinkedHashMap<>();
+
+        for (Map.Entry<String, List<Change>> entry : changes.entrySet()) {
+            List<Change> recorded = entry.getValue();
+            boolean creates = recorded.stream().anyMatch(change -> change instanceof Change.Add || change instanceof Change.Base);
+
+            Optional<IStatInstance> instance = creates
+                    ? Optional.of(holder.getOrCreateIStatInstance(entry.getKey()))
+                    : holder.getIStatInstance(entry.getKey());
+
+            if (instance.isEmpty()) {
+                continue; // 없는 스탯의 제거는 할 일 없음
+            }
+            if (!(instance.get() instanceof StatInstance statInstance)) {
+                throw new IllegalStateException("Unsupported stat instance: " + instance.get().getClass().getName());
+            }
+            resolved.put(statInstance, recorded);
+        }
+        return resolved;
+    }
+
+    /**
+     * @return 소문자 스탯 id
+     * @throws IllegalArgumentException 등록되지 않은 스탯
+     */
+    private String requireStat(String statId) {
+        if (statId == null || statId.isBlank()) {
+            throw new IllegalArgumentException("StatId cannot be null or blank");
+        }
+        String key = statId.toLowerCase();
+        if (holder.statRegistry.get(key).isEmpty()) {
+            throw new IllegalArgumentException("Stat '" + key + "' does not exist in registry");
+        }
+        return key;
+    }
+
+    private void record(String statId, Change change) {
+        changes.computeIfAbsent(statId, key -> new ArrayList<>()).add(change);
+    }
+
+    /**
+     * 기록된 변경 (기록 순서대로 적용)
+     */
+    sealed interface Change {
+        record Add(IStatModifier modifier) implements Change {}
+
+        record Remove(UUID modifierId) implements Change {}
+
+        record RemoveSource(String source) implements Change {}
+
+        record Base(double value) implements Change {}
+    }
+}
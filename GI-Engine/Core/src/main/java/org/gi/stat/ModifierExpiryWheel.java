@@ -0,0 +1,194 @@
+package org.gi.stat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 시간 제한 수정자 만료 처리용 계층형 타이밍 휠
+ *
+ * expireTime이 있는 수정자를 소유하고, 만료 틱에 해당 StatInstance에서만 제거함.
+ * 휠을 사용하는 StatInstance는 재계산 시 시간 확인을 하지 않음.
+ * 서버 틱마다 advance() 호출 필요 (메인 스레드), schedule/cancel은 어느 스레드에서나 가능
+ *
+ * 레벨당 64칸 x 5레벨 -> 64^5 틱 (50ms 기준 약 600일), 그 이상은 가장 먼 칸에 두고 재배치
+ */
+public final class ModifierExpiryWheel {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 5;
+    private static final long MAX_SPAN = 1L << (SLOT_BITS * LEVELS);
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final Entry[][] buckets = new Entry[LEVELS][SLOTS];
+
+    private long currentTick;
+    private int size;
+    private final List<Entry> expired = new ArrayList<>();
+
+    /**
+     * @param tickMillis 한 틱의 길이 (서버 틱이면 50)
+     * @param startMillis 기준 시각
+     */
+    public ModifierExpiryWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                Entry head = new Entry(null, null, 0);
+                head.prev = head;
+                head.next = head;
+                buckets[level][slot] = head;
+            }
+        }
+    }
+
+    public ModifierExpiryWheel() {
+        this(50, System.currentTimeMillis());
+    }
+
+    /**
+     * 틱 진행, 만료된 수정자를 각 StatInstance에서 제거하고 리스너 호출
+     *
+     * @param nowMillis 현재 시각
+     * @return 만료 처리된 수정자 수
+     */
+    public int advance(long nowMillis) {
+        List<Entry> due;
+
+        synchronized (this) {
+            long targetTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+
+            while (currentTick < targetTick) {
+                currentTick++;
+                cascade();
+                drain(buckets[0][(int) (currentTick & SLOT_MASK)]);
+            }
+
+            if (expired.isEmpty()) {
+                return 0;
+            }
+            due = new ArrayList<>(expired);
+            expired.clear();
+        }
+
+        // 휠 잠금 밖에서 인스턴스 처리 (인스턴스 -> 휠 순서로만 잠금)
+        for (Entry entry : due) {
+            entry.instance.expire(entry.modifier);
+        }
+        return due.size();
+    }
+
+    /**
+     * @return 예약된 수정자 수
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    synchronized Entry schedule(StatInstance instance, IStatModifier modifier) {
+        long deadline = Math.floorDiv(modifier.getExpireTime() - startMillis + tickMillis - 1, tickMillis);
+
+        // 현재 틱은 이미 처리됨 -> 최소 다음 틱
+        Entry entry = new Entry(instance, modifier, Math.max(deadline, currentTick + 1));
+        place(entry);
+        size++;
+        return entry;
+    }
+
+    synchronized void cancel(Entry entry) {
+        if (entry.unlink()) {
+            size--;
+        }
+    }
+
+    /**
+     * 상위 레벨 경계를 지날 때 해당 칸의 항목을 다시 배치
+     */
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            int shift = SLOT_BITS * level;
+            if ((currentTick & ((1L << shift) - 1)) != 0) {
+                return;
+            }
+
+            Entry head = buckets[level][(int) ((currentTick >>> shift) & SLOT_MASK)];
+            Entry entry = head.next;
+            while (entry != head) {
+                Entry next = entry.next;
+                entry.unlink();
+                place(entry);
+                entry = next;
+            }
+        }
+    }
+
+    private void drain(Entry head) {
+        Entry entry = head.next;
+        while (entry != head) {
+            Entry next = entry.next;
+            entry.unlink();
+            size--;
+            expired.add(entry);
+            entry = next;
+        }
+    }
+
+    private void place(Entry entry) {
+        long delta = entry.deadline - currentTick;
+        long slotTick = entry.deadline;
+        int level;
+
+        if (delta < SLOTS) {
+            level = 0;
+        } else if (delta >= MAX_SPAN) {
+            level = LEVELS - 1;
+            slotTick = currentTick + MAX_SPAN - 1;
+        } else {
+            level = (63 - Long.numberOfLeadingZeros(delta)) / SLOT_BITS;
+        }
+
+        int slot = (int) ((slotTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        entry.linkBefore(buckets[level][slot]);
+    }
+
+    /**
+     * 휠에 예약된 수정자, 칸마다 이중 연결 리스트로 보관하여 O(1) 취소
+     */
+    static final class Entry {
+        private final StatInstance instance;
+        private final IStatModifier modifier;
+        private final long deadline;
+        private Entry prev;
+        private Entry next;
+
+        private Entry(StatInstance instance, IStatModifier modifier, long deadline) {
+            this.instance = instance;
+            this.modifier = modifier;
+            this.deadline = deadline;
+        }
+
+        private void linkBefore(Entry head) {
+            prev = head.prev;
+            next = head;
+            head.prev.next = this;
+            head.prev = this;
+        }
+
+        private boolean unlink() {
+            if (prev == null) {
+                return false;
+            }
+            prev.next = next;
+            next.prev = prev;
+            prev = null;
+            next = null;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package org.gi.stat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * StatInstance 전용 수정자 저장소
+ *
+ * source별로 미리 묶어둔 배열 기반 그룹을 유지하여
+ * 재계산 시 스트림/컬렉션 할당 없이 FLAT/PERCENT/MULTIPLY 를 누적함.
+ * 그룹별 합계를 캐싱하여 변경된 그룹만 다시 계산함.
+ * 스레드 안전하지 않음 -> StatInstance의 lock 안에서만 사용
+ */
+final class ModifierStore {
+    private static final int STALE = Integer.MIN_VALUE;
+
+    private final boolean checkExpiry;
+
+    private final Map<String, SourceGroup> bySource = new HashMap<>();
+    private SourceGroup[] groups = new SourceGroup[4];
+    private int groupCount;
+
+    private double totalFlat;
+    private double totalPercent;
+    private double totalMultiply = 1.0;
+
+    /**
+     * @param checkExpiry false면 만료는 ModifierExpiryWheel이 처리 -> 재계산 시 시간 확인 없음
+     */
+    ModifierStore(boolean checkExpiry) {
+        this.checkExpiry = checkExpiry;
+    }
+
+    void add(IStatModifier modifier) {
+        SourceGroup group = bySource.get(modifier.getSource());
+
+        if (group == null) {
+            group = new SourceGroup(this, modifier.getSource());
+            bySource.put(group.source, group);
+
+            if (groupCount == groups.length) {
+                SourceGroup[] grown = new SourceGroup[groupCount * 2];
+                System.arraycopy(groups, 0, grown, 0, groupCount);
+                groups = grown;
+            }
+            group.slot = groupCount;
+            groups[groupCount++] = group;
+        }
+
+        group.insert(modifier);
+    }
+
+    boolean remove(IStatModifier modifier) {
+        SourceGroup group = bySource.get(modifier.getSource());
+
+        if (group == null || !group.delete(modifier)) {
+            return false;
+        }
+
+        if (group.size == 0) {
+            dropGroup(group);
+        }
+        return true;
+    }
+
+    void clear() {
+        for (int i = 0; i < groupCount; i++) {
+            groups[i] = null;
+        }
+        groupCount = 0;
+        bySource.clear();
+    }
+
+    /**
+     * source 그룹 단위로 합산
+     * 조건/만료가 없는 그룹은 변경되지 않는 한 이전 합계를 재사용 -> O(source 수)
+     *
+     * @param epoch 강제 재계산 세대, 바뀌면 모든 그룹을 다시 계산
+     */
+    void accumulate(IStatHolder holder, int epoch) {
+        long now = checkExpiry ? System.currentTimeMillis() : 0;
+        double flat = 0;
+        double percent = 0;
+        double multiply = 1.0;
+
+        for (int g = 0; g < groupCount; g++) {
+            SourceGroup group = groups[g];
+
+            if (group.dynamicCount > 0 || group.cachedEpoch != epoch) {
+                group.evaluate(holder, now);
+                group.cachedEpoch = group.dynamicCount == 0 ? epoch : STALE;
+            }
+
+            flat += group.flat;
+            percent += group.percent;
+            multiply *= group.multiply;
+        }
+
+        totalFlat = flat;
+        totalPercent = percent;
+        totalMultiply = multiply;
+    }
+
+    double getTotalFlat() {
+        return totalFlat;
+    }
+
+    double getTotalPercent() {
+        return totalPercent;
+    }
+
+    double getTotalMultiply() {
+        return totalMultiply;
+    }
+
+    private boolean isApplicable(IStatModifier modifier, IStatHolder holder, long now) {
+        if (!modifier.isActive()) {
+            return false;
+        }
+        if (checkExpiry) {
+            long expireTime = modifier.getExpireTime();
+            if (expireTime > 0 && expireTime <= now) {
+                return false;
+            }
+        }
+        return modifier.meetsCondition(holder);
+    }
+
+    private void dropGroup(SourceGroup group) {
+        bySource.remove(group.source);
+
+        int last = --groupCount;
+        if (group.slot != last) {
+            SourceGroup moved = groups[last];
+            groups[group.slot] = moved;
+            moved.slot = group.slot;
+        }
+        groups[last] = null;
+    }
+
+    /**
+     * 재계산 시점마다 결과가 달라질 수 있는 수정자 (입력 미선언 조건부, 휠 없이 만료 시간 있음)
+     * StatCondition은 입력 변경 시 StatHolder가 epoch를 올려주므로 캐시 가능
+     */
+    private boolean isDynamic(IStatModifier modifier) {
+        Predicate<IStatHolder> condition = modifier.getCondition();
+        return (condition != null && !(condition instanceof StatCondition))
+                || (checkExpiry && modifier.getExpireTime() > 0);
+    }
+
+    /**
+     * 같은 source의 수정자 묶음
+     * 절대값 내림차순으로 정렬 유지 (같은 값은 먼저 들어온 순서)
+     * 추가/삭제 시 이진 탐색으로 위치를 찾아 정렬을 유지하므로 재계산 시 정렬 없음
+     */
+    private static final class SourceGroup {
+        private final ModifierStore store;
+        private final String source;
+        private IStatModifier[] members = new IStatModifier[2];
+        private int size;
+        private int slot;
+
+        private int dynamicCount;
+        private int cachedEpoch = STALE;
+        private double flat;
+        private double percent;
+        private double multiply = 1.0;
+
+        private SourceGroup(ModifierStore store, String source) {
+            this.store = store;
+            this.source = source;
+        }
+
+        private void insert(IStatModifier modifier) {
+            if (size == members.length) {
+                IStatModifier[] grown = new IStatModifier[size * 2];
+                System.arraycopy(members, 0, grown, 0, size);
+                members = grown;
+            }
+
+            // 같은 절대값 뒤에 삽입
+            int index = upperBound(Math.abs(modifier.getValue()));
+
+            System.arraycopy(members, index, members, index + 1, size - index);
+            members[index] = modifier;
+            size++;
+
+            if (store.isDynamic(modifier)) {
+                dynamicCount++;
+            }
+            cachedEpoch = STALE;
+        }
+
+        private boolean delete(IStatModifier modifier) {
+            double magnitude = Math.abs(modifier.getValue());
+
+            for (int i = lowerBound(magnitude); i < size && Math.abs(members[i].getValue()) == magnitude; i++) {
+                if (members[i].getID().equals(modifier.getID())) {
+                    if (store.isDynamic(members[i])) {
+                        dynamicCount--;
+                    }
+                    System.arraycopy(members, i + 1, members, i, size - i - 1);
+                    members[--size] = null;
+                    cachedEpoch = STALE;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * 스택 규칙 적용 후 그룹 합계 계산
+         * - 만료/비활성/조건 불충족 제외
+         * - stackable=false: 절대값이 가장 큰 값만
+         * - stackable=true: maxStacks까지만 (절대값 내림차순)
+         */
+        private void evaluate(IStatHolder holder, long now) {
+            double flatSum = 0;
+            double percentSum = 0;
+            double multiplyProduct = 1.0;
+            int limit = Integer.MAX_VALUE;
+            int taken = 0;
+
+            for (int i = 0; i < size; i++) {
+                IStatModifier modifier = members[i];
+
+                if (!store.isApplicable(modifier, holder, now)) {
+                    continue;
+                }
+
+                if (taken == 0) {
+                    // 그룹의 스택 규칙은 첫 번째로 적용되는 수정자를 따름
+                    if (!modifier.isStackable()) {
+                        limit = 1;
+                    } else if (modifier.getStackCount() > 0) {
+                        limit = modifier.getStackCount();
+                    }
+                }
+
+                switch (modifier.getType()) {
+                    case FLAT -> flatSum += modifier.getValue();
+                    case PERCENT -> percentSum += modifier.getValue();
+                    case MULTIPLY -> multiplyProduct *= modifier.getValue();
+                }
+
+                if (++taken >= limit) {
+                    break;
+                }
+            }
+
+            flat = flatSum;
+            percent = percentSum;
+            multiply = multiplyProduct;
+        }
+
+        /**
+         * @return 절대값이 magnitude 이하인 첫 위치
+         */
+        private int lowerBound(double magnitude) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (Math.abs(members[mid].getValue()) > magnitude) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * @return 절대값이 magnitude 미만인 첫 위치
+         */
+        private int upperBound(double magnitude) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (Math.abs(members[mid].getValue()) >= magnitude) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package org.gi.stat;
+
+import org.gi.stat.formula.Formula;
+
+import java.util.*;
+
+/**
+ * 파생 스탯 의존성 그래프 (레지스트리 잠금 시 생성, 불변)
+ *
+ * 입력 스탯 -> 파생 스탯 간선으로 DAG를 구성하고,
+ * 스탯마다 전이적으로 영향을 받는 파생 스탯을 위상 순서로 미리 계산해 둠
+ */
+final class StatGraph {
+    static final StatGraph EMPTY = new StatGraph(0, new StatKey[0], Map.of(), new Derivation[0], new int[0][]);
+    private static final int[] NONE = new int[0];
+    private static final String BASE = "base";
+
+    private final int generation;
+    private final StatKey[] keys;
+    private final Map<String, StatKey> keysById;
+    private final Derivation[] derivations;
+    private final int[][] downstream;
+
+    private StatGraph(int generation, StatKey[] keys, Map<String, StatKey> keysById,
+                      Derivation[] derivations, int[][] downstream) {
+        this.generation = generation;
+        this.keys = keys;
+        this.keysById = keysById;
+        this.derivations = derivations;
+        this.downstream = downstream;
+    }
+
+    /**
+     * @param stats 순번 순서의 스탯
+     * @param keysById 소문자 ID -> 핸들
+     * @throws IllegalStateException 수식 오류, 알 수 없는 스탯 참조, 순환 의존
+     */
+    static StatGraph build(int generation, IStat[] stats, Map<String, StatKey> keysById) {
+        int count = stats.length;
+        StatKey[] keys = new StatKey[count];
+        for (StatKey key : keysById.values()) {
+            keys[key.ordinal()] = key;
+        }
+
+        Derivation[] derivations = new Derivation[count];
+        boolean any = false;
+        for (int i = 0; i < count; i++) {
+            derivations[i] = compile(stats[i], stats, keysById);
+            any |= derivations[i] != null;
+        }
+        if (!any) {
+            return new StatGraph(generation, keys, keysById, derivations, new int[count][]);
+        }
+
+        int[] position = topologicalPositions(derivations, keys);
+
+        List<List<Integer>> dependents = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            dependents.add(new ArrayList<>());
+        }
+        for (int i = 0; i < count; i++) {
+            if (derivations[i] == null) continue;
+            for (int input : derivations[i].inputs()) {
+                if (input >= 0 && !dependents.get(input).contains(i)) {
+                    dependents.get(input).add(i);
+                }
+            }
+        }
+
+        int[][] downstream = new int[count][];
+        for (int i = 0; i < count; i++) {
+            downstream[i] = collectDownstream(i, dependents, position);
+        }
+        return new StatGraph(generation, keys, keysById, derivations, downstream);
+    }
+
+    int getGeneration() {
+        return generation;
+    }
+
+    StatKey keyAt(int ordinal) {
+        return keys[ordinal];
+    }
+
+    /**
+     * @return 파생 스탯이 아니면 null
+     */
+    Derivation derivationOf(String statId) {
+        StatKey key = keysById.get(statId.toLowerCase());
+        return key != null ? derivations[key.ordinal()] : null;
+    }
+
+    /**
+     * @return 이 스탯 변경 시 다시 계산해야 할 파생 스탯 순번 (위상 순서)
+     */
+    int[] downstreamOf(String statId) {
+        StatKey key = keysById.get(statId.toLowerCase());
+        if (key == null) {
+            return NONE;
+        }
+        int[] ordinals = downstream[key.ordinal()];
+        return ordinals != null ? ordinals : NONE;
+    }
+
+    private static Derivation compile(IStat stat, IStat[] stats, Map<String, StatKey> keysById) {
+        String source = stat.getDerivedFormula();
+        if (source == null || source.isBlank()) {
+            return null;
+        }
+
+        Formula formula;
+        try {
+            formula = Formula.parse(source);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Stat '" + stat.getID() + "' has invalid derived formula: " + e.getMessage(), e);
+        }
+
+        List<String> variables = formula.getVariables();
+        int[] inputs = new int[variables.size()];
+        StatKey[] inputKeys = new StatKey[variables.size()];
+        double[] defaults = new double[variables.size()];
+
+        for (int i = 0; i < inputs.length; i++) {
+            String name = variables.get(i);
+            if (name.equals(BASE)) {
+                inputs[i] = -1;
+                continue;
+            }
+            StatKey key = keysById.get(name);
+            if (key == null) {
+                throw new IllegalStateException(
+                        "Stat '" + stat.getID() + "' derived formula references unknown stat '" + name + "'");
+            }
+            inputs[i] = key.ordinal();
+            inputKeys[i] = key;
+            defaults[i] = stats[key.ordinal()].getDefaultValue();
+        }
+        return new Derivation(formula, inputs, inputKeys, defaults);
+    }
+
+    /**
+     * DFS로 위상 순서 계산 (입력이 먼저), 순환 발견 시 경로와 함께 예외
+     */
+    private static int[] topologicalPositions(Derivation[] derivations, StatKey[] keys) {
+        int count = derivations.length;
+        byte[] state = new byte[count]; // 0: 미방문, 1: 방문 중, 2: 완료
+        int[] position = new int[count];
+        int[] next = {0};
+        Deque<Integer> path = new ArrayDeque<>();
+
+        for (int i = 0; i < count; i++) {
+            if (state[i] == 0) {
+                visit(i, derivations, keys, state, position, next, path);
+            }
+        }
+        return position;
+    }
+
+    private static void visit(int ordinal, Derivation[] derivations, StatKey[] keys,
+                              byte[] state, int[] position, int[] next, Deque<Integer> path) {
+        state[ordinal] = 1;
+        path.addLast(ordinal);
+
+        Derivation derivation = derivations[ordinal];
+        if (derivation != null) {
+            for (int input : derivation.inputs()) {
+                if (input < 0) continue;
+                if (state[input] == 1) {
+                    throw new IllegalStateException("Derived stat cycle: " + describeCycle(path, input, keys));
+                }
+                if (state[input] == 0) {
+                    visit(input, derivations, keys, state, position, next, path);
+                }
+            }
+        }
+
+        path.removeLast();
+        state[ordinal] = 2;
+        position[ordinal] = next[0]++;
+    }
+
+    private static String describeCycle(Deque<Integer> path, int start, StatKey[] keys) {
+        StringJoiner joiner = new StringJoiner(" <- ");
+        boolean inCycle = false;
+        for (int ordinal : path) {
+            inCycle |= ordinal == start;
+            if (inCycle) {
+                joiner.add(keys[ordinal].id());
+            }
+        }
+        joiner.add(keys[start].id());
+        return joiner.toString();
+    }
+
+    private static int[] collectDownstream(int ordinal, List<List<Integer>> dependents, int[] position) {
+        if (dependents.get(ordinal).isEmpty()) {
+            return NONE;
+        }
+
+        Set<Integer> seen = new HashSet<>();
+        Deque<Integer> queue = new ArrayDeque<>(dependents.get(ordinal));
+        while (!queue.isEmpty()) {
+            int current = queue.poll();
+            if (seen.add(current)) {
+                queue.addAll(dependents.get(current));
+            }
+        }
+
+        return seen.stream()
+                .sorted(Comparator.comparingInt(o -> position[o]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    /**
+     * 파생 스탯 수식과 변수별 입력
+     *
+     * @param inputs 변수별 입력 스탯 순번, -1이면 자기 기본값(base)
+     * @param inputKeys 변수별 입력 핸들 (base는 null)
+     * @param defaults 입력 스탯 인스턴스가 없을 때 사용할 기본값
+     */
+    record Derivation(Formula formula, int[] inputs, StatKey[] inputKeys, double[] defaults) {
+
+        /**
+         * @param values 변수 수 이상의 버퍼
+         */
+        double evaluate(StatHolder holder, double base, double[] values) {
+            for (int i = 0; i < inputs.length; i++) {
+                values[i] = inputs[i] < 0 ? base : holder.dependencyValue(inputKeys[i], defaults[i]);
+            }
+            return formula.evaluate(values);
+        }
+    }
+}
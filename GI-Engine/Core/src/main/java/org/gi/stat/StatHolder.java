@@ -6,17 +6,33 @@ import org.gi.stat.enums.ScalingType;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 public abstract class StatHolder implements IStatHolder{
     protected final IStatRegistry statRegistry;
+    protected final ModifierExpiryWheel expiryWheel;
     private static final Logger logger = Logger.getLogger(StatHolder.class.getName());
     private final Map<String, IStatInstance> statInstances = new ConcurrentHashMap<>();
     private final List<IStatChangeListener> statChangeListeners = new ArrayList<>();
+    private volatile Layout layout = Layout.EMPTY; // StatKey.ordinal -> 인스턴스 (레지스트리 잠금 시)
+    private final ConditionIndex conditions = new ConditionIndex();
+    private final AtomicLong invalidations = new AtomicLong(); // 스탯이 바뀔 수 있는 모든 변경마다 증가
+    private final Object snapshotLock = new Object();
+    private volatile SnapshotState snapshotState;
 
 
     public StatHolder(IStatRegistry statRegistry){
+        this(statRegistry, null);
+    }
+
+    /**
+     * @param expiryWheel 시간 제한 수정자 만료를 맡길 휠, null이면 재계산 시 만료 확인
+     */
+    public StatHolder(IStatRegistry statRegistry, ModifierExpiryWheel expiryWheel){
         this.statRegistry = Objects.requireNonNull(statRegistry,"StatRegistry cannot be null");
+        this.expiryWheel = expiryWheel;
     }
 
     @Override
@@ -36,6 +52,34 @@ public abstract class StatHolder implements IStatHolder{
         return Optional.ofNullable(statInstances.get(statId.toLowerCase()));
     }
 
+    @Override
+    public Optional<IStatInstance> getIStatInstance(StatKey key) {
+        if (key == null){
+            return Optional.empty();
+        }
+        IStatInstance[] slots = slotsFor(key);
+        IStatInstance instance = slots != null ? slots[key.ordinal()] : null;
+
+        if (instance == null){
+            return getIStatInstance(key.id()); // 느린 경로
+        }
+        return Optional.of(instance);
+    }
+
+    @Override
+    public double getStat(StatKey key) {
+        if (key == null){
+            return 0.0;
+        }
+        IStatInstance[] slots = slotsFor(key);
+        IStatInstance instance = slots != null ? slots[key.ordinal()] : null;
+
+        if (instance == null){
+            return getStat(key.id()); // 느린 경로
+        }
+        return instance.getFinal();
+    }
+
     @Override
     public IStatInstance getOrCreateIStatInstance(String statId) {
         if (statId == null || statId.isBlank()){
@@ -47,7 +91,10 @@ public abstract class StatHolder implements IStatHolder{
             IStat stat = statRegistry.get(id).orElseThrow(
                     () -> new IllegalArgumentException("Stat '" + id + "' does not exist in registry"));
 
-            return new StatInstance(stat, this);
+            StatInstance instance = new StatInstance(stat, this, stat.getDefaultValue(), expiryWheel);
+            assignSlot(id, instance);
+            markChanged();
+            return instance;
         });
     }
 
@@ -64,6 +111,66 @@ public abstract class StatHolder implements IStatHolder{
         return statInstances.containsKey(statId.toLowerCase());
     }
 
+    /**
+     * 변경을 모두 기록한 뒤 인스턴스별로 한 번에 적용
+     * 콜백에서 예외가 발생하면 아무것도 적용하지 않음
+     * 리스너는 값이 바뀐 스탯(하위 파생 스탯 포함)마다 한 번씩 호출
+     */
+    @Override
+    public void batch(Consumer<ModifierTransaction> changes) {
+        HolderTransaction transaction = new HolderTransaction(this);
+        changes.accept(transaction);
+
+        Map<StatInstance, List<HolderTransaction.Change>> recorded = transaction.commit();
+        if (recorded.isEmpty()){
+            return;
+        }
+
+        if (statChangeListeners.isEmpty()){
+            recorded.forEach(StatInstance::apply);
+            return;
+        }
+
+        // 알림 대상의 이전 값 기록
+        Map<IStatInstance, Double> before = new LinkedHashMap<>();
+        StatGraph graph = graph();
+        for (StatInstance instance : recorded.keySet()){
+            before.putIfAbsent(instance, instance.freshFinal());
+
+            int[] dependents = graph.downstreamOf(instance.getStat().getID());
+            IStatInstance[] slots = dependents.length > 0 ? slotsFor(graph.keyAt(dependents[0])) : null;
+            for (int ordinal : dependents){
+                IStatInstance dependent = instanceAt(graph, slots, ordinal);
+                if (dependent != null){
+                    before.putIfAbsent(dependent, freshFinal(dependent));
+                }
+            }
+        }
+
+        recorded.forEach(StatInstance::apply);
+
+        for (Map.Entry<IStatInstance, Double> entry : before.entrySet()){
+            double oldValue = entry.getValue();
+            double newValue = freshFinal(entry.getKey());
+            if (oldValue != newValue){
+                notifyStatChange(entry.getKey().getStat().getID(), oldValue, newValue);
+            }
+        }
+    }
+
+    /**
+     * 해당 리소스를 읽는 StatCondition이 있는 스탯만 무효화
+     */
+    @Override
+    public void notifyResourceChanged(String resourceId) {
+        if (resourceId == null){
+            return;
+        }
+        for (StatInstance instance : conditions.watchersOfResource(resourceId)){
+            instance.conditionInputChanged();
+        }
+    }
+
     @Override
     public int removeAllModifiersBySource(String source) {
         if (source == null){
@@ -85,9 +192,9 @@ public abstract class StatHolder implements IStatHolder{
     @Override
     public void recalculateAllStat(){
         for (IStatInstance instance : statInstances.values()){
-            double oldValue = instance.getFinal();
+            double oldValue = freshFinal(instance);
             instance.inValidateCache();
-            double newValue = instance.getFinal();
+            double newValue = freshFinal(instance);
 
             if (oldValue != newValue){
                 notifyStatChange(instance.getStat().getID(), oldValue, newValue);
@@ -124,7 +231,221 @@ public abstract class StatHolder implements IStatHolder{
     }
 
     public void clearAllStats(){
+        for (IStatInstance instance : statInstances.values()){
+            if (instance instanceof StatInstance statInstance){
+                statInstance.cancelTimers();
+            }
+        }
         statInstances.clear();
+        conditions.clear();
+        layout = Layout.EMPTY;
+        markChanged();
+    }
+
+    /**
+     * 무효화가 있었으면 값을 모아 직전 스냅샷과 비교, 값이 같으면 번호 유지
+     */
+    @Override
+    public long getVersion(){
+        return getSnapshot().version();
+    }
+
+    /**
+     * 무효화가 없으면 캐시된 스냅샷을 그대로 반환
+     * 무효화가 있었어도 값이 모두 같으면 이전 스냅샷 재사용 (recalculateAllStat 등)
+     */
+    @Override
+    public HolderSnapshot getSnapshot(){
+        SnapshotState state = snapshotState;
+        if (state != null && state.isCurrent(invalidations.get(), statRegistry.getGeneration())){
+            return state.snapshot();
+        }
+
+        synchronized (snapshotLock){
+            long seen = invalidations.get();
+            int generation = statRegistry.getGeneration();
+            state = snapshotState;
+            if (state != null && state.isCurrent(seen, generation)){
+                return state.snapshot();
+            }
+
+            double[] values = collectValues(generation);
+            HolderSnapshot snapshot;
+            if (state != null && state.snapshot().generation() == generation && Arrays.equals(state.values(), values)){
+                snapshot = state.snapshot();
+            }else{
+                snapshot = new HolderSnapshot(state == null ? 0 : state.snapshot().version() + 1, generation, values);
+            }
+
+            // 생성 중 무효화되었으면 invalidations가 달라 다음 조회 때 다시 비교
+            snapshotState = new SnapshotState(snapshot, values, seen);
+            return snapshot;
+        }
+    }
+
+    private double[] collectValues(int generation){
+        double[] values = new double[generation == 0 ? 0 : statRegistry.getStatCount()];
+        IStatInstance[] slots = generation == 0 ? null : currentSlots(generation);
+
+        for (int ordinal = 0; ordinal < values.length; ordinal++){
+            IStatInstance instance = slots != null && ordinal < slots.length ? slots[ordinal] : null;
+            if (instance != null){
+                values[ordinal] = freshFinal(instance); // 스냅샷과 함께 캐시되므로 재계산 중인 값을 기다림
+            }else{
+                values[ordinal] = statRegistry.getByOrdinal(ordinal).map(IStat::getDefaultValue).orElse(0.0);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * 기본값이 바뀐 뒤 호출 (변경 추적용, 인스턴스 잠금 안에서 호출될 수 있으므로 가볍게)
+     */
+    protected void onBaseChanged(IStatInstance instance){
+    }
+
+    /**
+     * 수정자가 추가/교체된 뒤 호출 (인스턴스 잠금 안)
+     */
+    protected void onModifierAdded(IStatInstance instance, IStatModifier modifier){
+    }
+
+    /**
+     * 수정자가 제거/만료된 뒤 호출 (인스턴스 잠금 안)
+     */
+    protected void onModifierRemoved(IStatInstance instance, IStatModifier modifier){
+    }
+
+    void markChanged(){
+        invalidations.incrementAndGet();
+    }
+
+    /**
+     * @return 레지스트리의 파생 스탯 그래프 (StatRegistry가 아니면 빈 그래프)
+     */
+    StatGraph graph(){
+        return statRegistry instanceof StatRegistry registry ? registry.getGraph() : StatGraph.EMPTY;
+    }
+
+    /**
+     * 파생 스탯 수식의 입력 값, 인스턴스가 없으면 fallback
+     */
+    double dependencyValue(StatKey key, double fallback){
+        IStatInstance[] slots = slotsFor(key);
+        IStatInstance instance = slots != null ? slots[key.ordinal()] : null;
+        if (instance == null){
+            instance = statInstances.get(key.id());
+        }
+        return instance != null ? instance.getFinal() : fallback;
+    }
+
+    /**
+     * 입력 스탯 변경 시 하위 파생 스탯만 dirty 표시 (위상 순서), 값은 다음 조회 때 계산
+     *
+     * @param dependents StatGraph.downstreamOf() 결과
+     */
+    void invalidateDependents(StatGraph graph, int[] dependents){
+        if (dependents.length == 0){
+            return;
+        }
+        IStatInstance[] slots = slotsFor(graph.keyAt(dependents[0]));
+
+        for (int ordinal : dependents){
+            if (instanceAt(graph, slots, ordinal) instanceof StatInstance statInstance){
+                statInstance.invalidateFromDependency();
+            }
+        }
+    }
+
+    /**
+     * 스탯 값이 바뀔 수 있을 때 그 스탯을 읽는 StatCondition 보유 인스턴스 무효화
+     */
+    void statInputChanged(String statId){
+        for (StatInstance instance : conditions.watchersOfStat(statId)){
+            instance.conditionInputChanged();
+        }
+    }
+
+    void watchCondition(StatInstance instance, StatCondition condition){
+        conditions.watch(instance, condition);
+    }
+
+    void unwatchCondition(StatInstance instance, StatCondition condition){
+        conditions.unwatch(instance, condition);
+    }
+
+    /**
+     * 다른 스레드의 재계산을 기다려서라도 최신 값 (알림의 이전/이후 값 비교용)
+     */
+    private static double freshFinal(IStatInstance instance){
+        return instance instanceof StatInstance statInstance ? statInstance.freshFinal() : instance.getFinal();
+    }
+
+    private IStatInstance instanceAt(StatGraph graph, IStatInstance[] slots, int ordinal){
+        IStatInstance instance = slots != null ? slots[ordinal] : null;
+        return instance != null ? instance : statInstances.get(graph.keyAt(ordinal).id());
+    }
+
+    /**
+     * 핸들과 같은 세대의 배열 반환, 세대가 맞지 않으면 null (문자열 경로 사용)
+     */
+    private IStatInstance[] slotsFor(StatKey key){
+        Layout current = layout;
+        if (current.generation() == key.generation()){
+            return current.slots();
+        }
+        if (statRegistry.getGeneration() != key.generation()){
+            return null;
+        }
+
+        current = rebuildLayout();
+        return current.generation() == key.generation() ? current.slots() : null;
+    }
+
+    private IStatInstance[] currentSlots(int generation){
+        Layout current = layout;
+        if (current.generation() != generation){
+            current = rebuildLayout();
+        }
+        return current.generation() == generation ? current.slots() : null;
+    }
+
+    private synchronized Layout rebuildLayout(){
+        int generation = statRegistry.getGeneration();
+        if (generation == 0 || layout.generation() == generation){
+            return layout;
+        }
+
+        IStatInstance[] slots = new IStatInstance[statRegistry.getStatCount()];
+        for (IStatInstance instance : statInstances.values()){
+            statRegistry.getKey(instance.getStat().getID())
+                    .filter(key -> key.generation() == generation && key.ordinal() < slots.length)
+                    .ifPresent(key -> slots[key.ordinal()] = instance);
+        }
+
+        layout = new Layout(generation, slots);
+        return layout;
+    }
+
+    private void assignSlot(String statId, IStatInstance instance){
+        Layout current = layout;
+        statRegistry.getKey(statId)
+                .filter(key -> key.generation() == current.generation() && key.ordinal() < current.slots().length)
+                .ifPresent(key -> current.slots()[key.ordinal()] = instance);
+    }
+
+    private record Layout(int generation, IStatInstance[] slots){
+        static final Layout EMPTY = new Layout(0, new IStatInstance[0]);
+    }
+
+    /**
+     * @param values snapshot이 가진 배열 (HolderSnapshot.values()는 복사본이라 비교용으로 보관)
+     * @param invalidations 값을 모을 때의 무효화 번호
+     */
+    private record SnapshotState(HolderSnapshot snapshot, double[] values, long invalidations){
+        boolean isCurrent(long invalidations, int generation){
+            return this.invalidations == invalidations && snapshot.generation() == generation;
+        }
     }
 
     public String getStatSummary() { //스탯 요약
@@ -2,35 +2,77 @@ package org.gi.stat;
 
 import org.gi.stat.enums.ModifierType;
 import org.gi.stat.enums.ScalingType;
+import org.gi.stat.formula.StatFormula;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class StatInstance implements IStatInstance{
+    private static final VarHandle SNAPSHOT;
+    private static final VarHandle SNAPSHOT_VERSION;
+    private static final VarHandle WRITE_STATE;
+    private static final VarHandle FORCED_EPOCH;
+    private static final VarHandle RECOMPUTING;
+    private static final long WRITERS = 0xFFFFFFFFL; // writeState의 쓰기 스레드 비트
+    private static final AtomicInteger WRITER_SLOTS = new AtomicInteger();
+    private static final ThreadLocal<long[]> WRITER_BIT = ThreadLocal.withInitial(() -> new long[1]); // 0이면 쓴 적 없음
+    private static final ThreadLocal<Boolean> IN_RECALCULATION = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            SNAPSHOT = lookup.findVarHandle(StatInstance.class, "snapshot", StatSnapshot.class);
+            SNAPSHOT_VERSION = lookup.findVarHandle(StatInstance.class, "snapshotVersion", int.class);
+            WRITE_STATE = lookup.findVarHandle(StatInstance.class, "writeState", long.class);
+            FORCED_EPOCH = lookup.findVarHandle(StatInstance.class, "forcedEpoch", int.class);
+            RECOMPUTING = lookup.findVarHandle(StatInstance.class, "recomputing", boolean.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     private final IStat stat;
     private final IStatHolder holder;
     private final Map<UUID, IStatModifier> modifiers= new ConcurrentHashMap<>();
+    private final ModifierStore store; // cacheLock 보호
+    private final ModifierExpiryWheel expiryWheel; // null이면 재계산 시 만료 시간 확인
+    private final StatFormula formula; // null이면 기본 공식
+    private final Map<UUID, ModifierExpiryWheel.Entry> timers = new HashMap<>(); // cacheLock 보호
 
     private double baseValue;
 
-    private volatile boolean cacheValid = false;
-    private double cacheTotalMultiply;
-    private double cacheFinalValue;
-    private double cacheTotalFlat;
-    private double cacheTotalPercent;
+    // 무효화는 version 증가만 (잠금 없음), 읽기는 snapshotVersion이 같으면 snapshot 그대로 사용
+    // 상위 32비트 version, 하위 32비트 아직 스냅샷에 반영되지 않은 쓰기 스레드 비트 (한 번의 CAS로 함께 갱신)
+    private volatile long writeState = 0; // WRITE_STATE
+    private StatSnapshot snapshot; // SNAPSHOT (acquire/release), 값이 바뀐 재계산에서만 교체
+    private int snapshotVersion; // SNAPSHOT_VERSION (acquire/release), snapshot이 유효한 version
+    private volatile boolean recomputing; // RECOMPUTING, 재계산 중인 스레드가 있으면 true
+    private volatile int forcedEpoch = 0; // FORCED_EPOCH, 강제 재계산/조건 입력 변경 시 증가 -> 그룹 합계 캐시 무효
+    private volatile GraphLinks links; // 레지스트리 그래프가 바뀌면 다시 해석
+    private double[] inputValues = new double[0]; // cacheLock 보호
 
     private final Object cacheLock = new Object();
     public StatInstance(IStat stat, IStatHolder holder) {
-        this.stat = Objects.requireNonNull(stat, "Stat cannot be null");
-        this.holder = Objects.requireNonNull(holder, "Holder cannot be null");
-        this.baseValue = stat.getDefaultValue();
+        this(stat, holder, stat.getDefaultValue(), null);
     }
 
     public StatInstance(IStat stat, IStatHolder holder, double baseValue) {
+        this(stat, holder, baseValue, null);
+    }
+
+    /**
+     * @param expiryWheel 시간 제한 수정자를 맡길 휠, null이면 재계산 시 만료 확인
+     */
+    public StatInstance(IStat stat, IStatHolder holder, double baseValue, ModifierExpiryWheel expiryWheel) {
         this.stat = Objects.requireNonNull(stat, "Stat cannot be null");
         this.holder = Objects.requireNonNull(holder, "Holder cannot be null");
         this.baseValue = baseValue;
+        this.expiryWheel = expiryWheel;
+        this.store = new ModifierStore(expiryWheel == null);
+        this.formula = stat.getFormula() != null ? StatFormula.compile(stat.getFormula()) : null;
     }
 
     @Override
@@ -47,17 +89,16 @@ public class StatInstance implements IStatInstance{
     public void setBase(double value) {
         if (this.baseValue != value) {
             this.baseValue = value;
-            inValidateCache();
+            markStale();
+            if (holder instanceof StatHolder statHolder){
+                statHolder.onBaseChanged(this);
+            }
         }
     }
 
     @Override
     public double getFinal() {
-        if(!cacheValid){
-            recalculate();
-        }
-
-        return cacheFinalValue;
+        return current().finalValue();
     }
 
     @Override
@@ -72,26 +113,25 @@ public class StatInstance implements IStatInstance{
 
     @Override
     public double getTotalFlat() {
-        if(!cacheValid){
-            recalculate();
-        }
-        return cacheTotalFlat;
+        return current().totalFlat();
     }
 
     @Override
     public double getTotalPercent() {
-        if(!cacheValid){
-            recalculate();
-        }
-        return cacheTotalPercent;
+        return current().totalPercent();
     }
 
     @Override
     public double getTotalMultiply() {
-        if(!cacheValid){
-            recalculate();
-        }
-        return cacheTotalMultiply;
+        return current().totalMultiply();
+    }
+
+    /**
+     * 대기 없이 일관된 스냅샷 반환 (변경이 없으면 잠금 없이 읽기만)
+     */
+    @Override
+    public StatSnapshot getSnapshot() {
+        return current();
     }
 
     @Override
@@ -106,9 +146,15 @@ public class StatInstance implements IStatInstance{
             );
         }
 
-        IStatModifier previous = modifiers.put(modifier.getID(), modifier);
-        inValidateCache();
-        return previous == null;
+        synchronized (cacheLock) {
+            IStatModifier previous = modifiers.put(modifier.getID(), modifier);
+            if (previous != null){
+                detach(previous);
+            }
+            attach(modifier);
+            markStale();
+            return previous == null;
+        }
     }
 
     @Override
@@ -116,11 +162,14 @@ public class StatInstance implements IStatInstance{
         if (id == null){
             return Optional.empty();
         }
-        IStatModifier removed = modifiers.remove(id);
-        if (removed != null){
-            inValidateCache();
+        synchronized (cacheLock) {
+            IStatModifier removed = modifiers.remove(id);
+            if (removed != null){
+                detach(removed);
+                markStale();
+            }
+            return Optional.ofNullable(removed);
         }
-        return Optional.ofNullable(removed);
     }
 
     @Override
@@ -129,40 +178,61 @@ public class StatInstance implements IStatInstance{
             return List.of();
         }
 
-        List<IStatModifier> removed = modifiers.values().stream()
-                .filter(m -> m.getSource().equals(source))
-                .toList();
+        synchronized (cacheLock) {
+            List<IStatModifier> removed = modifiers.values().stream()
+                    .filter(m -> m.getSource().equals(source))
+                    .toList();
 
-        removed.forEach(m -> modifiers.remove(m.getID()));
+            for (IStatModifier modifier : removed){
+                modifiers.remove(modifier.getID());
+                detach(modifier);
+            }
 
-        if (!removed.isEmpty()){
-            inValidateCache();
+            if (!removed.isEmpty()){
+                markStale();
+            }
+            return removed;
         }
-        return removed;
     }
 
     @Override
     public void clearModifiers() {
-        if (!modifiers.isEmpty()){
-            modifiers.clear();
-            inValidateCache();
+        synchronized (cacheLock) {
+            if (!modifiers.isEmpty()){
+                if (holder instanceof StatHolder statHolder){
+                    for (IStatModifier modifier : modifiers.values()){
+                        if (modifier.getCondition() instanceof StatCondition condition){
+                            statHolder.unwatchCondition(this, condition);
+                        }
+                        statHolder.onModifierRemoved(this, modifier);
+                    }
+                }
+                modifiers.clear();
+                store.clear();
+                cancelTimers();
+                markStale();
+            }
         }
     }
 
     @Override
     public int cleanExpiredModifiers() {
-        List<UUID> expiredIds = modifiers.values().stream()
-                .filter(IStatModifier::isExpired)
-                .map(IStatModifier::getID)
-                .toList();
+        synchronized (cacheLock) {
+            List<IStatModifier> expired = modifiers.values().stream()
+                    .filter(IStatModifier::isExpired)
+                    .toList();
 
-        expiredIds.forEach(modifiers::remove);
+            for (IStatModifier modifier : expired){
+                modifiers.remove(modifier.getID());
+                detach(modifier);
+            }
 
-        if (!expiredIds.isEmpty()){
-            inValidateCache();
-        }
+            if (!expired.isEmpty()){
+                markStale();
+            }
 
-        return expiredIds.size();
+            return expired.size();
+        }
     }
     @Override
     public Optional<IStatModifier> getModifier(UUID id) {
@@ -209,97 +279,363 @@ public class StatInstance implements IStatInstance{
 
     @Override
     public void inValidateCache() {
-        cacheValid = false;
+        FORCED_EPOCH.getAndAdd(this, 1);
+        bumpVersion();
+        propagate();
     }
 
-    @Override
-    public int getModifierCount() {
-        return modifiers.size();
+    /**
+     * 입력 스탯이 바뀌었을 때 StatHolder에서 호출 (하위 파생 스탯은 호출 측이 이미 위상 순서로 처리)
+     * 이미 무효 상태였으면 조건 감시자에게도 이미 전파된 것으로 봄
+     */
+    void invalidateFromDependency() {
+        boolean wasValid = isCacheValid();
+        bumpVersion();
+        if (wasValid && holder instanceof StatHolder statHolder){
+            statHolder.statInputChanged(stat.getID());
+        }
     }
 
     /**
-     * 스탯 재계산
-     * 공식: (Base + Σ FLAT) × (1 + Σ PERCENT)
+     * StatCondition 입력(스탯/리소스)이 바뀌었을 때 StatHolder에서 호출
+     * 조건 결과가 바뀔 수 있으므로 그룹 캐시도 무효, 이미 무효 상태면 전파 생략 (조건 순환 방지)
+     */
+    void conditionInputChanged() {
+        boolean wasValid = isCacheValid();
+        FORCED_EPOCH.getAndAdd(this, 1);
+        bumpVersion();
+        if (wasValid){
+            propagate();
+        }
+    }
+
+    /**
+     * 캐시 무효화, 홀더 전체 버전도 증가, 현재 스레드를 쓰기 스레드로 기록
+     */
+    private void bumpVersion() {
+        long writer = writerBit();
+        long state;
+        do {
+            state = writeState;
+        } while (!WRITE_STATE.compareAndSet(this, state, ((long) (version(state) + 1) << 32) | (state & WRITERS) | writer));
+        if (holder instanceof StatHolder statHolder){
+            statHolder.markChanged();
+        }
+    }
+
+    private boolean isCacheValid() {
+        long state = writeState;
+        int valid = (int) SNAPSHOT_VERSION.getAcquire(this);
+        return SNAPSHOT.getAcquire(this) != null && valid == version(state);
+    }
+
+    private static int version(long state) {
+        return (int) (state >>> 32);
+    }
+
+    /**
+     * 현재 스레드의 쓰기 비트, 처음 쓸 때 32칸을 돌아가며 배정 (겹치면 기다리는 쪽으로만 틀림)
+     */
+    private static long writerBit() {
+        long[] bit = WRITER_BIT.get();
+        if (bit[0] == 0){
+            bit[0] = 1L << (WRITER_SLOTS.getAndIncrement() & 31);
+        }
+        return bit[0];
+    }
+
+    /**
+     * StatHolder.batch()에서 기록된 변경을 잠금 1회, 무효화 1회로 적용
+     *
+     * @return 실제로 바뀐 것이 있으면 true
+     */
+    boolean apply(List<HolderTransaction.Change> changes) {
+        synchronized (cacheLock) {
+            boolean changed = false;
+
+            for (HolderTransaction.Change change : changes){
+                switch (change){
+                    case HolderTransaction.Change.Add add -> {
+                        IStatModifier modifier = add.modifier();
+                        IStatModifier previous = modifiers.put(modifier.getID(), modifier);
+                        if (previous != null){
+                            detach(previous);
+                        }
+                        attach(modifier);
+                        changed = true;
+                    }
+                    case HolderTransaction.Change.Remove remove -> {
+                        IStatModifier removed = modifiers.remove(remove.modifierId());
+                        if (removed != null){
+                            detach(removed);
+                            changed = true;
+                        }
+                    }
+                    case HolderTransaction.Change.RemoveSource removeSource -> {
+                        Iterator<IStatModifier> iterator = modifiers.values().iterator();
+                        while (iterator.hasNext()){
+                            IStatModifier modifier = iterator.next();
+                            if (modifier.getSource().equals(removeSource.source())){
+                                iterator.remove();
+                                detach(modifier);
+                                changed = true;
+                            }
+                        }
+                    }
+                    case HolderTransaction.Change.Base base -> {
+                        if (baseValue != base.value()){
+                            baseValue = base.value();
+                            changed = true;
+                            if (holder instanceof StatHolder statHolder){
+                                statHolder.onBaseChanged(this);
+                            }
+                        }
+                    }
+                }
+            }
+
+            if (changed){
+                markStale();
+            }
+            return changed;
+        }
+    }
+
+    /**
+     * ModifierExpiryWheel에서 만료 틱에 호출
+     * 이 인스턴스만 무효화하고 값이 바뀌었으면 리스너 호출
      */
-    private void recalculate(){
+    void expire(IStatModifier modifier) {
+        double oldValue = freshFinal();
+
         synchronized (cacheLock) {
-            if (cacheValid) return;  // Double-check
+            if (!modifiers.remove(modifier.getID(), modifier)){
+                return; // 이미 제거/교체됨
+            }
+            detach(modifier);
+            markStale();
+        }
 
-            Collection<IStatModifier> activeModifiers = getActiveModifiers();
-            List<IStatModifier> processedModifiers = processStacks(activeModifiers);
+        double newValue = freshFinal();
+        if (oldValue != newValue && holder instanceof StatHolder statHolder){
+            statHolder.notifyStatChange(stat.getID(), oldValue, newValue);
+        }
+    }
 
-            // FLAT
-            cacheTotalFlat = processedModifiers.stream()
-                    .filter(m -> m.getType() == ModifierType.FLAT)
-                    .mapToDouble(IStatModifier::getValue).sum();
+    /**
+     * 휠에 예약된 만료 취소 (홀더에서 인스턴스를 버릴 때)
+     */
+    void cancelTimers() {
+        synchronized (cacheLock) {
+            if (expiryWheel == null){
+                return;
+            }
+            for (ModifierExpiryWheel.Entry entry : timers.values()){
+                expiryWheel.cancel(entry);
+            }
+            timers.clear();
+        }
+    }
 
-            // PERCENT
-            cacheTotalPercent = processedModifiers.stream()
-                    .filter(m -> m.getType() == ModifierType.PERCENT)
-                    .mapToDouble(IStatModifier::getValue).sum();
+    private void attach(IStatModifier modifier) {
+        store.add(modifier);
+        if (expiryWheel != null && modifier.getExpireTime() > 0){
+            timers.put(modifier.getID(), expiryWheel.schedule(this, modifier));
+        }
+        if (holder instanceof StatHolder statHolder){
+            if (modifier.getCondition() instanceof StatCondition condition){
+                statHolder.watchCondition(this, condition);
+            }
+            statHolder.onModifierAdded(this, modifier);
+        }
+    }
 
-            // MULTIPLY 추가
-            cacheTotalMultiply = processedModifiers.stream()
-                    .filter(m -> m.getType() == ModifierType.MULTIPLY)
-                    .mapToDouble(IStatModifier::getValue)
-                    .reduce(1.0, (a, b) -> a * b);  // 곱연산
+    private void detach(IStatModifier modifier) {
+        store.remove(modifier);
+        ModifierExpiryWheel.Entry entry = timers.remove(modifier.getID());
+        if (entry != null){
+            expiryWheel.cancel(entry);
+        }
+        if (holder instanceof StatHolder statHolder){
+            if (modifier.getCondition() instanceof StatCondition condition){
+                statHolder.unwatchCondition(this, condition);
+            }
+            statHolder.onModifierRemoved(this, modifier);
+        }
+    }
 
-            // 공식: (Base + FLAT) × (1 + PERCENT) × MULTIPLY
-            double finalValue = (baseValue + cacheTotalFlat)
-                    * (1 + cacheTotalPercent)
-                    * cacheTotalMultiply;
+    /**
+     * 수정자/기본값 변경 시 호출, 변경된 source 그룹만 다시 계산됨
+     */
+    private void markStale() {
+        bumpVersion();
+        propagate();
+    }
 
-            finalValue = Math.max(stat.getMinValue(), finalValue);
-            finalValue = Math.min(stat.getMaxValue(), finalValue);
+    /**
+     * 이 스탯을 입력으로 쓰는 파생 스탯과 조건부 수정자 무효화
+     */
+    private void propagate() {
+        if (!(holder instanceof StatHolder statHolder)){
+            return;
+        }
+        GraphLinks current = links();
+        if (current.dependents().length > 0){
+            statHolder.invalidateDependents(current.graph(), current.dependents());
+        }
+        statHolder.statInputChanged(stat.getID());
+    }
 
-            cacheFinalValue = finalValue;
-            cacheValid = true;
+    private GraphLinks links() {
+        StatGraph graph = holder instanceof StatHolder statHolder ? statHolder.graph() : StatGraph.EMPTY;
+        GraphLinks current = links;
+        if (current == null || current.graph() != graph){
+            current = new GraphLinks(graph, graph.derivationOf(stat.getID()), graph.downstreamOf(stat.getID()));
+            links = current;
         }
+        return current;
     }
 
+    /**
+     * @return 파생 스탯이면 수식 결과, 아니면 baseValue
+     */
+    private double effectiveBase(double baseValue) {
+        StatGraph.Derivation derivation = links().derivation();
+        if (derivation == null){
+            return baseValue;
+        }
+        if (inputValues.length < derivation.inputs().length){
+            inputValues = new double[derivation.inputs().length];
+        }
+        return derivation.evaluate((StatHolder) holder, baseValue, inputValues);
+    }
+
+    @Override
+    public int getModifierCount() {
+        return modifiers.size();
+    }
 
     /**
-     * 스택 처리
-     * - stackable=false: 같은 source에서 가장 높은 값만
-     * - stackable=true: maxStacks까지만 적용
+     * 유효한 스냅샷이면 그대로, 아니면 한 스레드만 재계산
+     * 다른 스레드가 재계산 중이면 대기 없이 직전 스냅샷 반환
+     * 단, 직전 스냅샷 이후 이 스레드가 쓴 적이 있으면 cacheLock에서 대기 (자기 쓰기는 항상 보임)
+     * 재계산 안에서의 조회(파생 입력, 조건)는 항상 최신 값 -> 오래된 입력으로 계산한 값이 캐시되지 않음
      */
-    private List<IStatModifier> processStacks(Collection<IStatModifier> modifiers){
-        // source별로 그룹핑
-        Map<String,List<IStatModifier>> bySource = modifiers.stream()
-                .collect(Collectors.groupingBy(IStatModifier::getSource));
+    private StatSnapshot current() {
+        long state = writeState; // 스냅샷보다 먼저 읽음 -> 쓰기 비트가 지워졌으면 그 쓰기를 반영한 스냅샷이 보임
+        int valid = (int) SNAPSHOT_VERSION.getAcquire(this);
+        StatSnapshot cached = (StatSnapshot) SNAPSHOT.getAcquire(this);
+        if (cached != null && valid == version(state)){
+            return cached;
+        }
+        if (cached == null || IN_RECALCULATION.get()){
+            return recalculate();
+        }
+        if (!RECOMPUTING.compareAndSet(this, false, true)){
+            return (state & WRITER_BIT.get()[0]) == 0 ? cached : recalculate();
+        }
+        try{
+            return recalculate();
+        }finally{
+            RECOMPUTING.setRelease(this, false);
+        }
+    }
 
-        List<IStatModifier> result = new ArrayList<>();
+    /**
+     * 재계산 중인 스레드가 있어도 기다려서 최신 값 반환 (변경 알림의 이전/이후 값 비교용)
+     */
+    double freshFinal() {
+        long state = writeState;
+        int valid = (int) SNAPSHOT_VERSION.getAcquire(this);
+        StatSnapshot cached = (StatSnapshot) SNAPSHOT.getAcquire(this);
+        if (cached != null && valid == version(state)){
+            return cached.finalValue();
+        }
+        return recalculate().finalValue();
+    }
 
-        for (Map.Entry<String, List<IStatModifier>> entry : bySource.entrySet()) {
-            List<IStatModifier> sourceModifiers = entry.getValue();
+    /**
+     * 스탯 재계산
+     * 공식: (Base + Σ FLAT) × (1 + Σ PERCENT) × Π MULTIPLY
+     * 파생 스탯은 Base 대신 파생 수식 결과 사용 (입력 스탯은 홀더에서 조회)
+     * 스탯에 formula가 있으면 컴파일된 수식으로 대체
+     * source별로 미리 묶인 ModifierStore를 한 번 순회 (할당 없음, 변경 없는 그룹은 캐시 사용)
+     * 결과가 직전 스냅샷과 같으면 그 스냅샷을 그대로 유효 처리 (새로 할당하지 않음)
+     */
+    private StatSnapshot recalculate(){
+        synchronized (cacheLock) {
+            int seen = version(writeState);
+            StatSnapshot cached = (StatSnapshot) SNAPSHOT.getAcquire(this);
+            if (cached != null && snapshotVersion == seen) return cached;  // Double-check
 
-            if (sourceModifiers.isEmpty()){
-                continue;
+            boolean outermost = !IN_RECALCULATION.get();
+            if (outermost){
+                IN_RECALCULATION.set(Boolean.TRUE);
             }
-
-            IStatModifier first = sourceModifiers.get(0);
-
-            if (!first.isStackable()){
-                sourceModifiers.stream()
-                        .max(Comparator.comparingDouble(m -> Math.abs(m.getValue())))
-                        .ifPresent(result::add);
-            }else{
-                int maxStacks = first.getStackCount();
-
-                if (maxStacks > 0 && sourceModifiers.size() > maxStacks){
-                    //최대 스택제한 = 값이 높은 순으로 maxStacks갯수만
-                    sourceModifiers.stream()
-                            .sorted(Comparator.comparingDouble(
-                                    (IStatModifier m) -> Math.abs(m.getValue())
-                            ).reversed())
-                            .limit(maxStacks)
-                            .forEach(result::add);
-                }else{ //제한 없음
-                    result.addAll(sourceModifiers);
+            try{
+                return compute(seen, cached);
+            }finally{
+                if (outermost){
+                    IN_RECALCULATION.set(Boolean.FALSE);
                 }
             }
         }
+    }
+
+    /**
+     * cacheLock 안에서 호출
+     */
+    private StatSnapshot compute(int seen, StatSnapshot cached){
+        double base = effectiveBase(baseValue); // baseValue는 한 번만 읽음 (setBase는 잠금 밖)
+        store.accumulate(holder, forcedEpoch);
+
+        double totalFlat = store.getTotalFlat();
+        double totalPercent = store.getTotalPercent();
+        double totalMultiply = store.getTotalMultiply();
+
+        double finalValue;
+        if (formula == null){
+            // 공식: (Base + FLAT) × (1 + PERCENT) × MULTIPLY
+            finalValue = (base + totalFlat)
+                    * (1 + totalPercent)
+                    * totalMultiply;
+        }else{
+            finalValue = formula.apply(base, totalFlat, totalPercent, totalMultiply);
+        }
+
+        finalValue = Math.max(stat.getMinValue(), finalValue);
+        finalValue = Math.min(stat.getMaxValue(), finalValue);
+
+        // 계산 중 무효화되었으면 version이 달라 다음 조회 때 다시 계산
+        if (cached != null && cached.finalValue() == finalValue && cached.base() == base
+                && cached.totalFlat() == totalFlat && cached.totalPercent() == totalPercent
+                && cached.totalMultiply() == totalMultiply){
+            SNAPSHOT_VERSION.setRelease(this, seen);
+            clearWriters(seen);
+            return cached;
+        }
 
-        return result;
+        StatSnapshot computed = new StatSnapshot(stat.getID(), base,
+                totalFlat, totalPercent, totalMultiply, finalValue, seen);
+        SNAPSHOT.setRelease(this, computed);
+        SNAPSHOT_VERSION.setRelease(this, seen);
+        clearWriters(seen);
+        return computed;
     }
+
+    /**
+     * 스냅샷 발행 후 호출, 그 사이 새 쓰기가 없을 때만 쓰기 비트 초기화
+     */
+    private void clearWriters(int seen) {
+        long state = writeState;
+        if (version(state) == seen && (state & WRITERS) != 0){
+            WRITE_STATE.compareAndSet(this, state, (long) seen << 32);
+        }
+    }
+
+    /**
+     * @param derivation 파생 스탯이 아니면 null
+     * @param dependents 이 스탯 변경 시 무효화할 파생 스탯 순번
+     */
+    private record GraphLinks(StatGraph graph, StatGraph.Derivation derivation, int[] dependents){}
 }
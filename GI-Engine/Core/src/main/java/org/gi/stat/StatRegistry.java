@@ -9,6 +9,8 @@ import java.util.concurrent.ConcurrentHashMap;
 public class StatRegistry implements IStatRegistry{
     private final Map<String, IStat> statMap = new ConcurrentHashMap<>();
     private volatile boolean locked = false;
+    private volatile KeyIndex keyIndex = KeyIndex.EMPTY;
+    private int lastGeneration = 0;
 
     @Override
     public boolean register(IStat stat) {
@@ -43,6 +45,35 @@ public class StatRegistry implements IStatRegistry{
        return Optional.ofNullable(statMap.get(statId.toLowerCase()));
     }
 
+    @Override
+    public Optional<StatKey> getKey(String statId) {
+        if (statId == null){
+            return Optional.empty();
+        }
+        return Optional.ofNullable(keyIndex.keys().get(statId.toLowerCase()));
+    }
+
+    @Override
+    public Optional<IStat> getByOrdinal(int ordinal) {
+        IStat[] stats = keyIndex.stats();
+        if (ordinal < 0 || ordinal >= stats.length){
+            return Optional.empty();
+        }
+        return Optional.of(stats[ordinal]);
+    }
+
+    @Override
+    public int getGeneration() {
+        return keyIndex.generation();
+    }
+
+    /**
+     * @return 파생 스탯 의존성 그래프, 잠금 전이면 빈 그래프
+     */
+    StatGraph getGraph() {
+        return keyIndex.graph();
+    }
+
     @Override
     public Collection<IStat> getAll() {
         return Collections.unmodifiableCollection(statMap.values());
@@ -90,8 +121,15 @@ public class StatRegistry implements IStatRegistry{
 
     }
 
+    /**
+     * @throws IllegalStateException 파생 스탯 수식 오류 또는 순환 의존 (잠기지 않음)
+     */
     @Override
-    public void lock() {
+    public synchronized void lock() {
+        if (locked){
+            return;
+        }
+        this.keyIndex = buildKeyIndex(++lastGeneration);
         this.locked = true;
     }
 
@@ -101,7 +139,29 @@ public class StatRegistry implements IStatRegistry{
     }
 
     @Override
-    public void unlock() {
+    public synchronized void unlock() {
         this.locked = false;
+        this.keyIndex = KeyIndex.EMPTY;
+    }
+
+    /**
+     * ID 순으로 정렬하여 0부터 연속된 순번 부여, 파생 스탯 그래프 생성
+     */
+    private KeyIndex buildKeyIndex(int generation){
+        IStat[] stats = statMap.values().stream()
+                .sorted(Comparator.comparing(stat -> stat.getID().toLowerCase()))
+                .toArray(IStat[]::new);
+
+        Map<String, StatKey> keys = new HashMap<>();
+        for (int i = 0; i < stats.length; i++){
+            String id = stats[i].getID().toLowerCase();
+            keys.put(id, new StatKey(id, i, generation));
+        }
+        Map<String, StatKey> frozen = Map.copyOf(keys);
+        return new KeyIndex(generation, stats, frozen, StatGraph.build(generation, stats, frozen));
+    }
+
+    private record KeyIndex(int generation, IStat[] stats, Map<String, StatKey> keys, StatGraph graph){
+        static final KeyIndex EMPTY = new KeyIndex(0, new IStat[0], Map.of(), StatGraph.EMPTY);
     }
 }
@@ -0,0 +1,37 @@
+package org.gi.stat.formula;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+/**
+ * StatFormula가 수식마다 히든 클래스로 복제해 쓰는 템플릿 (직접 로드/초기화하지 않음)
+ *
+ * 클래스 데이터 [핸들, 수식 문자열]을 static final 로 받으므로
+ * JIT가 핸들을 상수로 보고 MethodHandle 트리 전체를 인라인함
+ */
+final class CompiledFormula implements StatFormula.Evaluator {
+    private static final MethodHandle HANDLE; // (double, double, double, double) -> double
+    private static final String SOURCE;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HANDLE = MethodHandles.classDataAt(lookup, ConstantDescs.DEFAULT_NAME, MethodHandle.class, 0);
+            SOURCE = MethodHandles.classDataAt(lookup, ConstantDescs.DEFAULT_NAME, String.class, 1);
+        } catch (IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Override
+    public double apply(double base, double flat, double percent, double multiply) {
+        try {
+            return (double) HANDLE.invokeExact(base, flat, percent, multiply);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Formula evaluation failed: " + SOURCE, e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.gi.stat.formula;
+
+import java.lang.invoke.MethodHandle;
+import java.util.List;
+
+/**
+ * 파싱된 스탯 수식 (불변)
+ *
+ * 예: "base + vitality * 10", "min(agility * 0.01, 0.75)"
+ * 변수 값은 getVariables() 순서대로 전달
+ */
+public final class Formula {
+    private final String source;
+    private final FormulaNode root;
+    private final List<String> variables;
+
+    private Formula(String source, FormulaNode root, List<String> variables) {
+        this.source = source;
+        this.root = root;
+        this.variables = variables;
+    }
+
+    /**
+     * @throws IllegalArgumentException 문법 오류 또는 알 수 없는 함수
+     */
+    public static Formula parse(String source) {
+        FormulaParser parser = FormulaParser.parse(source);
+        FormulaNode root = parser.root();
+        return new Formula(source.trim(), root, parser.variables());
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * @return 소문자로 정규화된 변수 이름 (처음 등장한 순서)
+     */
+    public List<String> getVariables() {
+        return variables;
+    }
+
+    /**
+     * @param values getVariables()와 같은 순서의 변수 값
+     */
+    public double evaluate(double[] values) {
+        return root.evaluate(values);
+    }
+
+    /**
+     * MethodHandle 트리로 컴파일 (호출마다 구문 트리를 순회하지 않음)
+     *
+     * @param parameters 핸들 인자 순서의 변수 이름
+     * @return (double × parameters.size()) -> double
+     * @throws IllegalArgumentException parameters에 없는 변수 사용 시
+     */
+    public MethodHandle compile(List<String> parameters) {
+        return FormulaCompiler.compile(root, parameters);
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+}
@@ -0,0 +1,159 @@
+package org.gi.stat.formula;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 수식 구문 트리 -> MethodHandle 트리 변환
+ *
+ * 결과 핸들은 (double × 변수 수) -> double 이며 호출 시 트리 순회가 없음 (JIT 인라인 대상).
+ * 변수가 없는 하위 트리는 컴파일 시 상수로 접음
+ */
+final class FormulaCompiler {
+    private static final MethodType UNARY = MethodType.methodType(double.class, double.class);
+    private static final MethodType BINARY = MethodType.methodType(double.class, double.class, double.class);
+    private static final MethodType TERNARY = MethodType.methodType(double.class, double.class, double.class, double.class);
+
+    private static final MethodHandle ADD = operator("add", BINARY);
+    private static final MethodHandle SUBTRACT = operator("subtract", BINARY);
+    private static final MethodHandle MULTIPLY = operator("multiply", BINARY);
+    private static final MethodHandle DIVIDE = operator("divide", BINARY);
+    private static final MethodHandle REMAINDER = operator("remainder", BINARY);
+    private static final MethodHandle NEGATE = operator("negate", UNARY);
+
+    private FormulaCompiler() {}
+
+    /**
+     * @param parameters 핸들 인자 순서의 변수 이름
+     * @throws IllegalArgumentException parameters에 없는 변수 사용 시
+     */
+    static MethodHandle compile(FormulaNode root, List<String> parameters) {
+        MethodType type = MethodType.methodType(double.class, Collections.nCopies(parameters.size(), double.class));
+        return node(root, parameters, type);
+    }
+
+    private static MethodHandle node(FormulaNode node, List<String> parameters, MethodType type) {
+        if (!(node instanceof FormulaNode.Constant) && isConstant(node)) {
+            return constant(node.evaluate(new double[0]), type);
+        }
+
+        return switch (node) {
+            case FormulaNode.Constant constant -> constant(constant.value(), type);
+            case FormulaNode.Variable variable -> {
+                int index = parameters.indexOf(variable.name());
+                if (index < 0) {
+                    throw new IllegalArgumentException(
+                            "Unknown variable '" + variable.name() + "', expected one of " + parameters);
+                }
+                yield MethodHandles.permuteArguments(MethodHandles.identity(double.class), type, index);
+            }
+            case FormulaNode.Negate negate -> MethodHandles.filterReturnValue(node(negate.operand(), parameters, type), NEGATE);
+            case FormulaNode.Binary binary -> combine(operator(binary.operator()), type,
+                    node(binary.left(), parameters, type),
+                    node(binary.right(), parameters, type));
+            case FormulaNode.Call call -> combine(function(call.function()), type,
+                    call.arguments().stream().map(argument -> node(argument, parameters, type)).toArray(MethodHandle[]::new));
+        };
+    }
+
+    /**
+     * op(a(x), b(x), ...) 형태로 결합, 피연산자 핸들은 모두 같은 인자 x를 받음
+     */
+    private static MethodHandle combine(MethodHandle operator, MethodType type, MethodHandle... operands) {
+        int arity = type.parameterCount();
+        MethodHandle combined = operator;
+        for (int i = 0; i < operands.length; i++) {
+            combined = MethodHandles.collectArguments(combined, i * arity, operands[i]);
+        }
+
+        int[] reorder = new int[arity * operands.length];
+        for (int i = 0; i < reorder.length; i++) {
+            reorder[i] = i % arity;
+        }
+        return MethodHandles.permuteArguments(combined, type, reorder);
+    }
+
+    private static MethodHandle constant(double value, MethodType type) {
+        return MethodHandles.dropArguments(MethodHandles.constant(double.class, value), 0, type.parameterList());
+    }
+
+    private static boolean isConstant(FormulaNode node) {
+        return switch (node) {
+            case FormulaNode.Constant constant -> true;
+            case FormulaNode.Variable variable -> false;
+            case FormulaNode.Negate negate -> isConstant(negate.operand());
+            case FormulaNode.Binary binary -> isConstant(binary.left()) && isConstant(binary.right());
+            case FormulaNode.Call call -> call.arguments().stream().allMatch(FormulaCompiler::isConstant);
+        };
+    }
+
+    private static MethodHandle operator(char operator) {
+        return switch (operator) {
+            case '+' -> ADD;
+            case '-' -> SUBTRACT;
+            case '*' -> MULTIPLY;
+            case '/' -> DIVIDE;
+            case '%' -> REMAINDER;
+            case '^' -> math("pow", BINARY);
+            default -> throw new IllegalStateException("Unknown operator: " + operator);
+        };
+    }
+
+    private static MethodHandle function(FormulaFunction function) {
+        return switch (function) {
+            case MIN -> math("min", BINARY);
+            case MAX -> math("max", BINARY);
+            case ABS -> math("abs", UNARY);
+            case SQRT -> math("sqrt", UNARY);
+            case FLOOR -> math("floor", UNARY);
+            case CEIL -> math("ceil", UNARY);
+            case LOG -> math("log", UNARY);
+            case EXP -> math("exp", UNARY);
+            case POW -> math("pow", BINARY);
+            case CLAMP -> find(FormulaFunction.class, "clamp", TERNARY);
+        };
+    }
+
+    private static MethodHandle math(String name, MethodType type) {
+        return find(Math.class, name, type);
+    }
+
+    private static MethodHandle operator(String name, MethodType type) {
+        return find(FormulaCompiler.class, name, type);
+    }
+
+    private static MethodHandle find(Class<?> owner, String name, MethodType type) {
+        try {
+            return MethodHandles.lookup().findStatic(owner, name, type);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException("Cannot resolve " + owner.getSimpleName() + "." + name, e);
+        }
+    }
+
+    private static double add(double a, double b) {
+        return a + b;
+    }
+
+    private static double subtract(double a, double b) {
+        return a - b;
+    }
+
+    private static double multiply(double a, double b) {
+        return a * b;
+    }
+
+    private static double divide(double a, double b) {
+        return a / b;
+    }
+
+    private static double remainder(double a, double b) {
+        return a % b;
+    }
+
+    private static double negate(double a) {
+        return -a;
+    }
+}
@@ -0,0 +1,59 @@
+package org.gi.stat.formula;
+
+/**
+ * 수식에서 사용 가능한 함수
+ */
+enum FormulaFunction {
+    MIN(2),
+    MAX(2),
+    ABS(1),
+    SQRT(1),
+    FLOOR(1),
+    CEIL(1),
+    LOG(1),
+    EXP(1),
+    POW(2),
+    CLAMP(3);
+
+    private final int arity;
+
+    FormulaFunction(int arity) {
+        this.arity = arity;
+    }
+
+    int getArity() {
+        return arity;
+    }
+
+    double apply(double a) {
+        return switch (this) {
+            case ABS -> Math.abs(a);
+            case SQRT -> Math.sqrt(a);
+            case FLOOR -> Math.floor(a);
+            case CEIL -> Math.ceil(a);
+            case LOG -> Math.log(a);
+            case EXP -> Math.exp(a);
+            default -> throw new IllegalStateException(name() + " takes " + arity + " arguments");
+        };
+    }
+
+    double apply(double a, double b) {
+        return switch (this) {
+            case MIN -> Math.min(a, b);
+            case MAX -> Math.max(a, b);
+            case POW -> Math.pow(a, b);
+            default -> throw new IllegalStateException(name() + " takes " + arity + " arguments");
+        };
+    }
+
+    double apply(double a, double b, double c) {
+        if (this != CLAMP) {
+            throw new IllegalStateException(name() + " takes " + arity + " arguments");
+        }
+        return clamp(a, b, c);
+    }
+
+    static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
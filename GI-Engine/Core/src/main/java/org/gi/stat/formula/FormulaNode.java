@@ -0,0 +1,66 @@
+package org.gi.stat.formula;
+
+import java.util.List;
+
+/**
+ * 수식 구문 트리
+ */
+sealed interface FormulaNode {
+
+    double evaluate(double[] values);
+
+    record Constant(double value) implements FormulaNode {
+        @Override
+        public double evaluate(double[] values) {
+            return value;
+        }
+    }
+
+    /**
+     * @param index Formula.getVariables() 내 위치
+     */
+    record Variable(String name, int index) implements FormulaNode {
+        @Override
+        public double evaluate(double[] values) {
+            return values[index];
+        }
+    }
+
+    record Negate(FormulaNode operand) implements FormulaNode {
+        @Override
+        public double evaluate(double[] values) {
+            return -operand.evaluate(values);
+        }
+    }
+
+    record Binary(char operator, FormulaNode left, FormulaNode right) implements FormulaNode {
+        @Override
+        public double evaluate(double[] values) {
+            double l = left.evaluate(values);
+            double r = right.evaluate(values);
+            return switch (operator) {
+                case '+' -> l + r;
+                case '-' -> l - r;
+                case '*' -> l * r;
+                case '/' -> l / r;
+                case '%' -> l % r;
+                case '^' -> Math.pow(l, r);
+                default -> throw new IllegalStateException("Unknown operator: " + operator);
+            };
+        }
+    }
+
+    record Call(FormulaFunction function, List<FormulaNode> arguments) implements FormulaNode {
+        @Override
+        public double evaluate(double[] values) {
+            return switch (arguments.size()) {
+                case 1 -> function.apply(arguments.get(0).evaluate(values));
+                case 2 -> function.apply(arguments.get(0).evaluate(values), arguments.get(1).evaluate(values));
+                default -> function.apply(
+                        arguments.get(0).evaluate(values),
+                        arguments.get(1).evaluate(values),
+                        arguments.get(2).evaluate(values));
+            };
+        }
+    }
+}
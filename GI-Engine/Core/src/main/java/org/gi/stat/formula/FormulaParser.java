@@ -0,0 +1,195 @@
+package org.gi.stat.formula;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 재귀 하강 수식 파서
+ *
+ * expr    := term (('+' | '-') term)*
+ * term    := unary (('*' | '/' | '%') unary)*
+ * unary   := '-' unary | power
+ * power   := primary ('^' unary)?
+ * primary := number | name | name '(' expr (',' expr)* ')' | '(' expr ')'
+ *
+ * 변수 이름은 소문자로 정규화되며 처음 등장한 순서대로 번호가 매겨짐
+ */
+final class FormulaParser {
+    private final String source;
+    private final List<String> variables = new ArrayList<>();
+    private int position;
+
+    private FormulaParser(String source) {
+        this.source = source;
+    }
+
+    static FormulaParser parse(String source) {
+        if (source == null || source.isBlank()) {
+            throw new IllegalArgumentException("Formula cannot be null or blank");
+        }
+        return new FormulaParser(source);
+    }
+
+    FormulaNode root() {
+        FormulaNode node = expression();
+        skipWhitespace();
+        if (position < source.length()) {
+            throw error("Unexpected '" + source.charAt(position) + "'");
+        }
+        return node;
+    }
+
+    List<String> variables() {
+        return List.copyOf(variables);
+    }
+
+    private FormulaNode expression() {
+        FormulaNode node = term();
+        while (true) {
+            if (accept('+')) {
+                node = new FormulaNode.Binary('+', node, term());
+            } else if (accept('-')) {
+                node = new FormulaNode.Binary('-', node, term());
+            } else {
+                return node;
+            }
+        }
+    }
+
+    private FormulaNode term() {
+        FormulaNode node = unary();
+        while (true) {
+            if (accept('*')) {
+                node = new FormulaNode.Binary('*', node, unary());
+            } else if (accept('/')) {
+                node = new FormulaNode.Binary('/', node, unary());
+            } else if (accept('%')) {
+                node = new FormulaNode.Binary('%', node, unary());
+            } else {
+                return node;
+            }
+        }
+    }
+
+    private FormulaNode unary() {
+        if (accept('-')) {
+            return new FormulaNode.Negate(unary());
+        }
+        if (accept('+')) {
+            return unary();
+        }
+        return power();
+    }
+
+    private FormulaNode power() {
+        FormulaNode base = primary();
+        if (accept('^')) {
+            return new FormulaNode.Binary('^', base, unary());
+        }
+        return base;
+    }
+
+    private FormulaNode primary() {
+        skipWhitespace();
+        if (position >= source.length()) {
+            throw error("Unexpected end of formula");
+        }
+
+        char c = source.charAt(position);
+
+        if (accept('(')) {
+            FormulaNode node = expression();
+            expect(')');
+            return node;
+        }
+        if (Character.isDigit(c) || c == '.') {
+            return number();
+        }
+        if (Character.isLetter(c) || c == '_') {
+            String name = name();
+            if (accept('(')) {
+                return call(name);
+            }
+            return variable(name);
+        }
+        throw error("Unexpected '" + c + "'");
+    }
+
+    private FormulaNode number() {
+        int start = position;
+        while (position < source.length()
+                && (Character.isDigit(source.charAt(position)) || source.charAt(position) == '.')) {
+            position++;
+        }
+        try {
+            return new FormulaNode.Constant(Double.parseDouble(source.substring(start, position)));
+        } catch (NumberFormatException e) {
+            throw error("Invalid number '" + source.substring(start, position) + "'");
+        }
+    }
+
+    private String name() {
+        int start = position;
+        while (position < source.length()
+                && (Character.isLetterOrDigit(source.charAt(position)) || source.charAt(position) == '_')) {
+            position++;
+        }
+        return source.substring(start, position).toLowerCase();
+    }
+
+    private FormulaNode variable(String name) {
+        int index = variables.indexOf(name);
+        if (index < 0) {
+            index = variables.size();
+            variables.add(name);
+        }
+        return new FormulaNode.Variable(name, index);
+    }
+
+    private FormulaNode call(String name) {
+        FormulaFunction function;
+        try {
+            function = FormulaFunction.valueOf(name.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw error("Unknown function '" + name + "'");
+        }
+
+        List<FormulaNode> arguments = new ArrayList<>();
+        if (!accept(')')) {
+            do {
+                arguments.add(expression());
+            } while (accept(','));
+            expect(')');
+        }
+
+        if (arguments.size() != function.getArity()) {
+            throw error(name + "() takes " + function.getArity() + " arguments");
+        }
+        return new FormulaNode.Call(function, List.copyOf(arguments));
+    }
+
+    private boolean accept(char expected) {
+        skipWhitespace();
+        if (position < source.length() && source.charAt(position) == expected) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char expected) {
+        if (!accept(expected)) {
+            throw error("Expected '" + expected + "'");
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < source.length() && Character.isWhitespace(source.charAt(position))) {
+            position++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at " + position + " in formula '" + source + "'");
+    }
+}
@@ -0,0 +1,91 @@
+package org.gi.stat.formula;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 스탯 최종값 집계 수식 (stat.yml의 formula)
+ *
+ * 변수: base, flat, percent, multiply
+ * 예: 체감 회피율 "1 - 1 / (1 + (base + flat) * (1 + percent) * multiply)"
+ * 같은 수식 문자열은 한 번만 컴파일하여 공유
+ * 수식마다 히든 클래스를 정의하여 핸들을 상수 호출 지점으로 둠 (인스턴스 필드 핸들은 JIT 인라인 불가)
+ */
+public final class StatFormula {
+    public static final List<String> VARIABLES = List.of("base", "flat", "percent", "multiply");
+
+    private static final Map<String, StatFormula> compiled = new ConcurrentHashMap<>();
+    private static final byte[] TEMPLATE = templateBytes();
+
+    private final String source;
+    private final Evaluator evaluator;
+
+    private StatFormula(String source, Evaluator evaluator) {
+        this.source = source;
+        this.evaluator = evaluator;
+    }
+
+    /**
+     * @throws IllegalArgumentException 문법 오류 또는 VARIABLES 외의 변수 사용
+     */
+    public static StatFormula compile(String source) {
+        if (source == null || source.isBlank()) {
+            throw new IllegalArgumentException("Formula cannot be null or blank");
+        }
+        return compiled.computeIfAbsent(source.trim(), key -> {
+            Formula formula = Formula.parse(key);
+            return new StatFormula(key, define(key, formula.compile(VARIABLES)));
+        });
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public double apply(double base, double flat, double percent, double multiply) {
+        return evaluator.apply(base, flat, percent, multiply);
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+
+    /**
+     * 컴파일된 수식 (CompiledFormula 히든 클래스가 구현)
+     */
+    interface Evaluator {
+        double apply(double base, double flat, double percent, double multiply);
+    }
+
+    /**
+     * CompiledFormula 템플릿을 [핸들, 수식]을 클래스 데이터로 가진 히든 클래스로 정의
+     */
+    private static Evaluator define(String source, MethodHandle handle) {
+        try {
+            MethodHandles.Lookup hidden = MethodHandles.lookup()
+                    .defineHiddenClassWithClassData(TEMPLATE, List.of(handle, source), true);
+            return (Evaluator) hidden.findConstructor(hidden.lookupClass(), MethodType.methodType(void.class)).invoke();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Cannot define formula class: " + source, e);
+        }
+    }
+
+    private static byte[] templateBytes() {
+        try (InputStream in = CompiledFormula.class.getResourceAsStream(CompiledFormula.class.getSimpleName() + ".class")) {
+            if (in == null) {
+                throw new IllegalStateException("Missing formula template class");
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
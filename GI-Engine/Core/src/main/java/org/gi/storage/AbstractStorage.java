@@ -4,25 +4,75 @@ import org.gi.Result;
 import org.gi.builder.StatModifierBuilder;
 import org.gi.stat.IStatModifier;
 import org.gi.stat.enums.ModifierType;
+import java.nio.ByteBuffer;
 import java.sql.*;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
+/**
+ * SQL 저장소 공통 구현 (스키마 v2)
+ *
+ * UUID는 16바이트 바이너리, 스탯 ID와 수정자 출처는 사전 테이블의 정수 키로 저장.
+ * v1 테이블(player_stats, player_modifiers)에 행이 남아 있으면 백그라운드에서 조금씩 옮기고,
+ * 그 전에 로드되는 플레이어는 로드 시점에 바로 옮김.
+ * blob 형식이면 위 테이블 대신 플레이어당 한 행(PlayerBlobStore)으로 저장.
+ * 작업은 우선순위(StoragePriority)별로 스케줄, 순위를 받지 않는 메서드는 작업 종류에 맞는 기본 순위
+ */
 public abstract class AbstractStorage implements IPlayerDataStorage{
     protected final Logger logger;
-    protected final ExecutorService executor;
+    protected final StorageScheduler scheduler;
 
     protected static final String PERMANENT_PREFIX = "permanent:";
+    protected static final int MAX_PARAMETERS = 900; // 문장당 바인딩 수 (SQLite 구버전 제한 999 이하)
+
+    protected static final String STATS_TABLE = "player_stats_v2";
+    protected static final String MODIFIERS_TABLE = "player_modifiers_v2";
+    protected static final String STAT_DICTIONARY_TABLE = "stat_dictionary";
+    protected static final String SOURCE_DICTIONARY_TABLE = "source_dictionary";
+    protected static final String META_TABLE = "storage_meta";
+
+    private static final String LEGACY_STATS_TABLE = "player_stats";
+    private static final String LEGACY_MODIFIERS_TABLE = "player_modifiers";
+    private static final String SCHEMA_VERSION_KEY = "schema_version";
+    private static final String SCHEMA_VERSION = "2";
+    private static final int MIGRATION_CHUNK = 200; // 백그라운드 이전 한 번에 옮길 플레이어 수
+
+    private static final List<String> STAT_COLUMNS = List.of("player_uuid", "stat_key", "base_value");
+    private static final List<String> STAT_KEYS = List.of("player_uuid", "stat_key");
+    private static final List<String> MODIFIER_COLUMNS = List.of(
+            "player_uuid", "modifier_uuid", "stat_key", "source_key",
+            "type", "value", "priority", "stackable", "max_stacks");
+    private static final List<String> MODIFIER_KEYS = List.of("player_uuid", "modifier_uuid");
+    private static final List<String> META_COLUMNS = List.of("meta_key", "meta_value");
+    private static final List<String> META_KEYS = List.of("meta_key");
+
+    private final boolean blobFormat;
+    private PlayerBlobStore blobStore; // initialize()에서 생성, blob 형식이 아니면 null
+    private SqlDictionary statDictionary;
+    private SqlDictionary sourceDictionary;
+    private volatile boolean legacyPending; // v1 테이블 이전이 끝나지 않음
 
     protected AbstractStorage(Logger logger, int threadPoolSize) {
+        this(logger, threadPoolSize, false);
+    }
+
+    /**
+     * @param blobFormat true면 플레이어당 바이너리 한 행으로 저장
+     */
+    protected AbstractStorage(Logger logger, int threadPoolSize, boolean blobFormat) {
+        this(logger, threadPoolSize, blobFormat, StorageExecutorMode.PLATFORM);
+    }
+
+    /**
+     * @param executorMode 저장소 작업을 실행할 스레드 방식, 동시 실행 수는 어느 쪽이든 threadPoolSize
+     */
+    protected AbstractStorage(Logger logger, int threadPoolSize, boolean blobFormat, StorageExecutorMode executorMode) {
         this.logger = logger;
-        this.executor = Executors.newFixedThreadPool(
-                Math.max(1, threadPoolSize)
-        );
+        this.scheduler = new StorageScheduler("GI-Engine-Storage", threadPoolSize, executorMode);
+        this.blobFormat = blobFormat;
     }
 
     protected AbstractStorage(Logger logger) {
@@ -33,24 +83,80 @@ public abstract class AbstractStorage implements IPlayerDataStorage{
 
     protected abstract String getCreateStatsTableSQL();
     protected abstract String getCreateModifiersTableSQL();
+    protected abstract String getCreateStatDictionaryTableSQL();
+    protected abstract String getCreateSourceDictionaryTableSQL();
+    protected abstract String getCreateMetaTableSQL();
+    protected abstract String getCreateBlobTableSQL();
+
+    /**
+     * DB별 upsert 절, 다중 행 INSERT ... VALUES 뒤에 붙음
+     *
+     * @param keyColumns 충돌 판단 키 (기본 키 또는 유니크 키)
+     * @param updateColumns 충돌 시 새 값으로 갱신할 컬럼, 비어 있으면 기존 행 유지
+     */
+    protected abstract String getUpsertClause(List<String> keyColumns, List<String> updateColumns);
 
     @Override
     public Result initialize(){
-        try{
-            createTables();
+        if (blobFormat){
+            if (blobStore == null){
+                blobStore = new PlayerBlobStore(this);
+            }
+            try (Connection conn = getConnection();
+                 Statement stmt = conn.createStatement()) {
+                stmt.execute(getCreateBlobTableSQL());
+            }catch (SQLException e){
+                logger.severe("Failed to initialize storage: " + e.getMessage());
+                return Result.Exception(e);
+            }
             logger.info("Storage initialized: " + getType());
             return Result.SUCCESS;
+        }
+
+        statDictionary = new SqlDictionary(STAT_DICTIONARY_TABLE, "stat_key", "stat_id",
+                getUpsertClause(List.of("stat_id"), List.of()));
+        sourceDictionary = new SqlDictionary(SOURCE_DICTIONARY_TABLE, "source_key", "source",
+                getUpsertClause(List.of("source"), List.of()));
+
+        try (Connection conn = getConnection()) {
+            createTables(conn);
+            statDictionary.load(conn);
+            sourceDictionary.load(conn);
+            checkLegacySchema(conn);
         }catch (SQLException e){
             logger.severe("Failed to initialize storage: " + e.getMessage());
             return Result.Exception(e);
         }
+
+        if (legacyPending){
+            logger.info("Legacy player tables found, migrating to schema v" + SCHEMA_VERSION + " in background");
+            scheduleMigration(LEGACY_STATS_TABLE, "");
+        }
+        logger.info("Storage initialized: " + getType());
+        return Result.SUCCESS;
     }
 
     public abstract Connection getConnection() throws SQLException;
 
-    private void createTables() throws SQLException{
-        try (Connection conn = getConnection();
-             Statement stmt = conn.createStatement()) {
+    /**
+     * 로드·존재 확인용 커넥션, 기본은 getConnection()
+     */
+    protected Connection getReadConnection() throws SQLException{
+        return getConnection();
+    }
+
+    /**
+     * 로드·존재 확인을 실행할 스케줄러, 기본은 저장과 같은 스케줄러
+     */
+    protected StorageScheduler getReadScheduler(){
+        return scheduler;
+    }
+
+    private void createTables(Connection conn) throws SQLException{
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(getCreateStatDictionaryTableSQL());
+            stmt.execute(getCreateSourceDictionaryTableSQL());
+            stmt.execute(getCreateMetaTableSQL());
             stmt.execute(getCreateStatsTableSQL());
             stmt.execute(getCreateModifiersTableSQL());
         }
@@ -58,13 +164,13 @@ public abstract class AbstractStorage implements IPlayerDataStorage{
 
     @Override
     public void shutdown() {
-        executor.shutdown();
+        scheduler.shutdown();
         try {
-            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
-                executor.shutdownNow();
+            if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
+                scheduler.shutdownNow();
             }
         } catch (InterruptedException e) {
-            executor.shutdownNow();
+            scheduler.shutdownNow();
             Thread.currentThread().interrupt();
         }
     }
@@ -72,193 +178,686 @@ public abstract class AbstractStorage implements IPlayerDataStorage{
     @Override
     public abstract boolean isConnected();
 
+    /**
+     * 저장소가 직접 관리하는 PreparedStatement 캐시 지표
+     * 드라이버 캐시를 쓰는 저장소(MySQL)는 empty
+     */
+    public Optional<StatementCacheMetrics> getStatementCacheMetrics(){
+        return Optional.empty();
+    }
+
+    /**
+     * 저장·읽기 큐의 우선순위별 대기 지표
+     */
+    public List<StorageQueueMetrics> getQueueMetrics(){
+        List<StorageQueueMetrics> metrics = new ArrayList<>(scheduler.metrics());
+        if (getReadScheduler() != scheduler){
+            metrics.addAll(getReadScheduler().metrics());
+        }
+        return metrics;
+    }
+
+    /**
+     * blob 형식이면 true
+     */
+    public boolean isBlobFormat(){
+        return blobFormat;
+    }
+
     @Override
     public CompletableFuture<Result> save(PlayerStatData data){
+        if (blobFormat){
+            return CompletableFuture.supplyAsync(() -> {
+                try (Connection conn = getConnection()) {
+                    blobStore.save(conn, data);
+                    return Result.SUCCESS;
+                } catch (SQLException e) {
+                    logger.severe("Failed to save player data: " + e.getMessage());
+                    return Result.Exception(e);
+                }
+            }, scheduler.at(StoragePriority.PERIODIC_SAVE, List.of(data.getPlayerUUID())));
+        }
         return CompletableFuture.supplyAsync(() -> {
-            try{
-                saveBaseValues(data);
-                savePermanentModifiers(data);
+            byte[] uuid = toBytes(data.getPlayerUUID());
+            List<IStatModifier> modifiers = data.getPermanentModifiers() == null ? List.of()
+                    : data.getPermanentModifiers().stream()
+                    .filter(modifier -> modifier.getSource().startsWith(PERMANENT_PREFIX))
+                    .toList();
+
+            try (Connection conn = getConnection()) {
+                RowKeys keys = internKeys(conn, data.getBaseValues().keySet(), modifiers);
+
+                inTransaction(conn, c -> {
+                    upsert(c, STATS_TABLE, STAT_COLUMNS, STAT_KEYS, true, keys.baseRows(uuid, data.getBaseValues()),
+                            AbstractStorage::bindBaseValue);
+
+                    //기존의 영구 Modifier 삭제 후 다시 기록 (같은 트랜잭션)
+                    try (PreparedStatement stmt = c.prepareStatement(
+                            "DELETE FROM " + MODIFIERS_TABLE + " WHERE player_uuid = ?")) {
+                        stmt.setBytes(1, uuid);
+                        stmt.executeUpdate();
+                    }
+                    upsert(c, MODIFIERS_TABLE, MODIFIER_COLUMNS, MODIFIER_KEYS, true, keys.modifierRows(uuid, modifiers),
+                            AbstractStorage::bindModifier);
+                    return null;
+                });
                 return Result.SUCCESS;
             } catch (SQLException e) {
                 logger.severe("Failed to save player data: " + e.getMessage());
                 return Result.Exception(e);
             }
-        }, executor);
+        }, scheduler.at(StoragePriority.PERIODIC_SAVE, List.of(data.getPlayerUUID())));
     }
 
-    public void saveBaseValues(PlayerStatData data) throws SQLException{
-        String sql = "REPLACE INTO player_stats (player_uuid, stat_id, base_value) VALUES (?,?,?)";
+    @Override
+    public CompletableFuture<Result> saveDelta(PlayerStatDelta delta){
+        return saveDeltas(List.of(delta));
+    }
+
+    @Override
+    public CompletableFuture<Result> saveDeltas(Collection<PlayerStatDelta> deltas){
+        return saveDeltas(deltas, StoragePriority.PERIODIC_SAVE);
+    }
 
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            for(Map.Entry<String,Double> entry : data.getBaseValues().entrySet()){
-                stmt.setString(1, data.getPlayerUUID().toString());
-                stmt.setString(2, entry.getKey());
-                stmt.setDouble(3, entry.getValue());
-                stmt.addBatch();
+    /**
+     * 여러 플레이어의 변경분을 한 트랜잭션으로 기록
+     * 기본값·수정자 행은 플레이어 구분 없이 다중 행 문장으로 묶임
+     */
+    @Override
+    public CompletableFuture<Result> saveDeltas(Collection<PlayerStatDelta> deltas, StoragePriority priority){
+        List<PlayerStatDelta> changed = deltas.stream().filter(delta -> !delta.isEmpty()).toList();
+        if (changed.isEmpty()){
+            return CompletableFuture.completedFuture(Result.SUCCESS);
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try (Connection conn = getConnection()) {
+                if (blobFormat){
+                    blobStore.saveDeltas(conn, changed);
+                }else{
+                    saveDeltaValues(conn, changed);
+                }
+                return Result.SUCCESS;
+            } catch (SQLException e) {
+                logger.severe("Failed to save player delta: " + e.getMessage());
+                return Result.Exception(e);
             }
-            stmt.executeBatch();
+        }, scheduler.at(priority, changed.stream().map(PlayerStatDelta::getPlayerUUID).toList()));
+    }
+
+    /**
+     * 하나의 커넥션, 하나의 트랜잭션에서 실행 (실패 시 롤백)
+     */
+    protected <T> T inTransaction(SqlWork<T> work) throws SQLException{
+        try (Connection conn = getConnection()) {
+            return inTransaction(conn, work);
         }
     }
-    //기존의 영구 Modifier 삭제
-    private void savePermanentModifiers(PlayerStatData data) throws SQLException{
-        String deleteSQL = "DELETE FROM player_modifiers WHERE player_uuid = ?";
 
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(deleteSQL)) {
-            stmt.setString(1, data.getPlayerUUID().toString());
-            stmt.executeUpdate();
+    /**
+     * 주어진 커넥션에서 트랜잭션 실행, 커넥션은 닫지 않음
+     */
+    protected <T> T inTransaction(Connection conn, SqlWork<T> work) throws SQLException{
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try{
+            T result = work.run(conn);
+            conn.commit();
+            return result;
+        }catch (SQLException | RuntimeException e){
+            conn.rollback();
+            throw e;
+        }finally {
+            conn.setAutoCommit(autoCommit);
         }
+    }
 
-        if (data.getPermanentModifiers() == null || data.getPermanentModifiers().isEmpty()){
-            return;
+    /**
+     * 바뀐 기본값 upsert, 영구 수정자 upsert/삭제 (바뀐 행만)
+     */
+    private void saveDeltaValues(Connection conn, Collection<PlayerStatDelta> deltas) throws SQLException{
+        Set<String> statIds = new HashSet<>();
+        List<IStatModifier> modifiers = new ArrayList<>();
+        for (PlayerStatDelta delta : deltas){
+            statIds.addAll(delta.getBaseValues().keySet());
+            for (IStatModifier modifier : delta.getUpsertedModifiers()){
+                if (modifier.getSource().startsWith(PERMANENT_PREFIX)){
+                    modifiers.add(modifier);
+                }
+            }
+        }
+        RowKeys keys = internKeys(conn, statIds, modifiers);
+
+        List<BaseRow> baseRows = new ArrayList<>();
+        List<ModifierRow> modifierRows = new ArrayList<>();
+        for (PlayerStatDelta delta : deltas){
+            byte[] uuid = toBytes(delta.getPlayerUUID());
+            baseRows.addAll(keys.baseRows(uuid, delta.getBaseValues()));
+            modifierRows.addAll(keys.modifierRows(uuid, delta.getUpsertedModifiers().stream()
+                    .filter(modifier -> modifier.getSource().startsWith(PERMANENT_PREFIX))
+                    .toList()));
         }
 
-        String insertSQL = """
-              INSERT INTO player_modifiers
-              (player_uuid, modifier_uuid, stat_id, source, display_name, type, value, priority, stackable, max_stacks)
-              VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
-              """;
+        inTransaction(conn, c -> {
+            for (PlayerStatDelta delta : deltas){
+                deleteModifiers(c, toBytes(delta.getPlayerUUID()), delta.getRemovedModifiers());
+            }
+            upsert(c, STATS_TABLE, STAT_COLUMNS, STAT_KEYS, true, baseRows, AbstractStorage::bindBaseValue);
+            upsert(c, MODIFIERS_TABLE, MODIFIER_COLUMNS, MODIFIER_KEYS, true, modifierRows, AbstractStorage::bindModifier);
+            return null;
+        });
+    }
+
+    /**
+     * 스탯 ID와 출처를 사전 키로 변환 (트랜잭션 밖, 자동 커밋)
+     */
+    private RowKeys internKeys(Connection conn, Collection<String> statIds, Collection<IStatModifier> modifiers) throws SQLException{
+        Set<String> stats = new HashSet<>(statIds);
+        Set<String> sources = new HashSet<>();
+        for (IStatModifier modifier : modifiers){
+            stats.add(modifier.getStatID());
+            sources.add(modifier.getSource());
+        }
+        return new RowKeys(statDictionary.keysFor(conn, stats), sourceDictionary.keysFor(conn, sources));
+    }
 
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(insertSQL)) {
-            for (IStatModifier modifier : data.getPermanentModifiers()){
-                if (!modifier.getSource().startsWith(PERMANENT_PREFIX)){
-                    continue;
+    private void deleteModifiers(Connection conn, byte[] playerUUID, Collection<UUID> modifierIds) throws SQLException{
+        List<byte[]> removed = modifierIds.stream().map(AbstractStorage::toBytes).toList();
+        int from = 0;
+        for (int size : chunkSizes(removed.size(), MAX_PARAMETERS - 1)){
+            List<byte[]> chunk = removed.subList(from, from + size);
+            from += size;
+            String sql = "DELETE FROM " + MODIFIERS_TABLE + " WHERE player_uuid = ? AND modifier_uuid IN ("
+                    + placeholders(chunk.size()) + ")";
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setBytes(1, playerUUID);
+                for (int i = 0; i < chunk.size(); i++){
+                    stmt.setBytes(i + 2, chunk.get(i));
                 }
-                stmt.setString(1, data.getPlayerUUID().toString());
-                stmt.setString(2, modifier.getID().toString());
-                stmt.setString(3, modifier.getStatID());
-                stmt.setString(4, modifier.getSource());
-                stmt.setString(5, modifier.getSource());
-                stmt.setString(6, modifier.getType().name());
-                stmt.setDouble(7, modifier.getValue());
-                stmt.setInt(8, modifier.getPriority());
-                stmt.setBoolean(9, modifier.isStackable());
-                stmt.setInt(10, modifier.getStackCount());
-                stmt.addBatch();
+                stmt.executeUpdate();
             }
-            stmt.executeBatch();
         }
     }
 
+    /**
+     * 여러 행을 한 문장으로 기록, 파라미터 제한에 맞춰 나눠 실행
+     *
+     * @param overwrite false면 이미 있는 행은 유지 (v1 이전용)
+     */
+    <R> void upsert(Connection conn, String table, List<String> columns, List<String> keys, boolean overwrite,
+                            List<R> rows, RowBinder<R> binder) throws SQLException{
+        if (rows.isEmpty()){
+            return;
+        }
+        List<String> updates = overwrite
+                ? columns.stream().filter(column -> !keys.contains(column)).toList()
+                : List.of();
+        String prefix = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ";
+        String row = "(" + placeholders(columns.size()) + ")";
+        String suffix = getUpsertClause(keys, updates);
+
+        int from = 0;
+        for (int size : chunkSizes(rows.size(), Math.max(1, MAX_PARAMETERS / columns.size()))){
+            List<R> chunk = rows.subList(from, from + size);
+            from += size;
+            String sql = prefix + String.join(", ", Collections.nCopies(chunk.size(), row)) + suffix;
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                int index = 1;
+                for (R value : chunk){
+                    index = binder.bind(stmt, index, value);
+                }
+                stmt.executeUpdate();
+            }
+        }
+    }
+
+    /**
+     * total개를 문장당 최대 max개로 나눈 크기 목록
+     * 나머지는 2의 거듭제곱 크기로 나눠 SQL 모양 수를 줄임 (캐시된 문장 재사용, 예: 37 -> 32, 4, 1)
+     */
+    static List<Integer> chunkSizes(int total, int max){
+        List<Integer> sizes = new ArrayList<>();
+        int left = total;
+        while (left >= max){
+            sizes.add(max);
+            left -= max;
+        }
+        while (left > 0){
+            int size = Integer.highestOneBit(left);
+            sizes.add(size);
+            left -= size;
+        }
+        return sizes;
+    }
+
+    private static String placeholders(int count){
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private static int bindBaseValue(PreparedStatement stmt, int index, BaseRow row) throws SQLException{
+        stmt.setBytes(index, row.playerUUID());
+        stmt.setInt(index + 1, row.statKey());
+        stmt.setDouble(index + 2, row.value());
+        return index + 3;
+    }
+
+    private static int bindModifier(PreparedStatement stmt, int index, ModifierRow row) throws SQLException{
+        IStatModifier modifier = row.modifier();
+        stmt.setBytes(index, row.playerUUID());
+        stmt.setBytes(index + 1, toBytes(modifier.getID()));
+        stmt.setInt(index + 2, row.statKey());
+        stmt.setInt(index + 3, row.sourceKey());
+        stmt.setString(index + 4, modifier.getType().name());
+        stmt.setDouble(index + 5, modifier.getValue());
+        stmt.setInt(index + 6, modifier.getPriority());
+        stmt.setBoolean(index + 7, modifier.isStackable());
+        stmt.setInt(index + 8, modifier.getStackCount());
+        return index + 9;
+    }
+
     @Override
     public CompletableFuture<Optional<PlayerStatData>> load(UUID playerUUID){
+        return load(playerUUID, StoragePriority.LOAD);
+    }
+
+    @Override
+    public CompletableFuture<Optional<PlayerStatData>> load(UUID playerUUID, StoragePriority priority){
+        boolean migrating = legacyPending; // 로드 중 v1 이전(쓰기)이 일어날 수 있어 저장 쪽에서 실행
         return CompletableFuture.supplyAsync(() -> {
-            try{
-                Map<String,Double> baseValues = loadBaseValues(playerUUID);
-                List<IStatModifier> modifiers = loadPermanentModifiers(playerUUID);
+            try (Connection conn = migrating ? getConnection() : getReadConnection()) {
+                return Optional.ofNullable(loadPlayers(conn, List.of(playerUUID)).get(playerUUID));
+            } catch (SQLException e) {
+                logger.severe("Failed to load player data: " + e.getMessage());
+                return Optional.empty();
+            }
+        }, (migrating ? scheduler : getReadScheduler()).at(priority));
+    }
 
-                if (baseValues.isEmpty() && modifiers.isEmpty()){
-                    return Optional.empty();
-                }
+    @Override
+    public CompletableFuture<Map<UUID, PlayerStatData>> loadAll(Collection<UUID> playerUUIDs){
+        return loadAll(playerUUIDs, StoragePriority.LOAD);
+    }
 
-                PlayerStatData statData = PlayerStatData.builder()
-                        .playerUUID(playerUUID)
-                        .baseValues(baseValues)
-                        .permanentModifiers(modifiers)
-                        .build();
+    /**
+     * 테이블마다 player_uuid IN (...) 조회 한 번 (파라미터 제한을 넘으면 나눠 조회)
+     */
+    @Override
+    public CompletableFuture<Map<UUID, PlayerStatData>> loadAll(Collection<UUID> playerUUIDs, StoragePriority priority){
+        if (playerUUIDs.isEmpty()){
+            return CompletableFuture.completedFuture(Map.of());
+        }
+        List<UUID> uuids = playerUUIDs.stream().distinct().toList();
 
-                return Optional.of(statData);
+        boolean migrating = legacyPending;
+        return CompletableFuture.supplyAsync(() -> {
+            try (Connection conn = migrating ? getConnection() : getReadConnection()) {
+                return loadPlayers(conn, uuids);
             } catch (SQLException e) {
                 logger.severe("Failed to load player data: " + e.getMessage());
-                return Optional.empty();
+                return Map.<UUID, PlayerStatData>of();
             }
-        }, executor);
+        }, (migrating ? scheduler : getReadScheduler()).at(priority));
     }
 
-    private Map<String,Double> loadBaseValues(UUID playerUUID) throws SQLException{
-        Map<String,Double> values = new HashMap<>();
+    /**
+     * v2 테이블에서 로드, 이전이 끝나지 않았다면 v2에 없는 플레이어는 v1에서 옮긴 뒤 다시 로드
+     */
+    private Map<UUID, PlayerStatData> loadPlayers(Connection conn, List<UUID> uuids) throws SQLException{
+        if (blobFormat){
+            return blobStore.read(conn, uuids);
+        }
+        Map<UUID, PlayerStatData> loaded = readPlayers(conn, uuids);
+        if (!legacyPending){
+            return loaded;
+        }
 
-        String sql = "SELECT stat_id, base_value FROM player_stats WHERE player_uuid = ?";
+        List<UUID> missing = uuids.stream().filter(uuid -> !loaded.containsKey(uuid)).toList();
+        if (!missing.isEmpty() && migrateLegacy(conn, missing.stream().map(UUID::toString).toList()) > 0){
+            loaded.putAll(readPlayers(conn, missing));
+        }
+        return loaded;
+    }
 
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, playerUUID.toString());
+    private Map<UUID, PlayerStatData> readPlayers(Connection conn, List<UUID> uuids) throws SQLException{
+        List<byte[]> keys = uuids.stream().map(AbstractStorage::toBytes).toList();
+        Map<UUID, Map<String,Double>> baseValues = new HashMap<>();
+        Map<UUID, List<IStatModifier>> modifiers = new HashMap<>();
 
-            try(ResultSet rs = stmt.executeQuery()){
-                while (rs.next()){
-                    values.put(rs.getString("stat_id"), rs.getDouble("base_value"));
-                }
-            }
+        selectByPlayers(conn, "SELECT player_uuid, stat_key, base_value FROM " + STATS_TABLE, keys, rs ->
+                baseValues.computeIfAbsent(fromBytes(rs.getBytes("player_uuid")), k -> new HashMap<>())
+                        .put(statDictionary.valueOf(conn, rs.getInt("stat_key")), rs.getDouble("base_value")));
+        selectByPlayers(conn, "SELECT * FROM " + MODIFIERS_TABLE, keys, rs ->
+                modifiers.computeIfAbsent(fromBytes(rs.getBytes("player_uuid")), k -> new ArrayList<>())
+                        .add(readModifier(conn, rs)));
+
+        return toPlayerData(baseValues, modifiers);
+    }
+
+    private static <K> Map<K, PlayerStatData> toPlayerData(Map<K, Map<String,Double>> baseValues,
+                                                           Map<K, List<IStatModifier>> modifiers){
+        Map<K, PlayerStatData> loaded = new HashMap<>();
+        Set<K> found = new HashSet<>(baseValues.keySet());
+        found.addAll(modifiers.keySet());
+        for (K player : found){
+            UUID playerUUID = player instanceof UUID uuid ? uuid : UUID.fromString(player.toString());
+            loaded.put(player, PlayerStatData.builder()
+                    .playerUUID(playerUUID)
+                    .baseValues(baseValues.getOrDefault(player, new HashMap<>()))
+                    .permanentModifiers(modifiers.getOrDefault(player, new ArrayList<>()))
+                    .build());
         }
-        return values;
+        return loaded;
     }
 
+    <K> void selectByPlayers(Connection conn, String select, List<K> uuids, RowReader reader) throws SQLException{
+        int from = 0;
+        for (int size : chunkSizes(uuids.size(), MAX_PARAMETERS)){
+            List<K> chunk = uuids.subList(from, from + size);
+            from += size;
+            String sql = select + " WHERE player_uuid IN (" + placeholders(chunk.size()) + ")";
 
-    private List<IStatModifier> loadPermanentModifiers(UUID playerUUID) throws SQLException{
-        List<IStatModifier> modifiers = new ArrayList<>();
-        String sql = "SELECT * FROM player_modifiers WHERE player_uuid = ?";
-
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, playerUUID.toString());
-
-            try(ResultSet rs = stmt.executeQuery()){
-                while (rs.next()){
-                    IStatModifier modifier = StatModifierBuilder.create()
-                            .uniqueId(UUID.fromString(rs.getString("modifier_uuid")))
-                            .statId(rs.getString("stat_id"))
-                            .source(rs.getString("source"))
-                            .displayName(rs.getString("display_name"))
-                            .type(ModifierType.valueOf(rs.getString("type")))
-                            .value(rs.getDouble("value"))
-                            .priority(rs.getInt("priority"))
-                            .stackable(rs.getBoolean("stackable"))
-                            .maxStacks(rs.getInt("max_stacks"))
-                            .permanent()
-                            .build();
-                    modifiers.add(modifier);
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (int i = 0; i < chunk.size(); i++){
+                    stmt.setObject(i + 1, chunk.get(i));
+                }
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()){
+                        reader.read(rs);
+                    }
                 }
             }
         }
-        return modifiers;
+    }
+
+    private IStatModifier readModifier(Connection conn, ResultSet rs) throws SQLException{
+        String source = sourceDictionary.valueOf(conn, rs.getInt("source_key"));
+        return StatModifierBuilder.create()
+                .uniqueId(fromBytes(rs.getBytes("modifier_uuid")))
+                .statId(statDictionary.valueOf(conn, rs.getInt("stat_key")))
+                .source(source)
+                .displayName(source)
+                .type(ModifierType.valueOf(rs.getString("type")))
+                .value(rs.getDouble("value"))
+                .priority(rs.getInt("priority"))
+                .stackable(rs.getBoolean("stackable"))
+                .maxStacks(rs.getInt("max_stacks"))
+                .permanent()
+                .build();
     }
 
     @Override
     public CompletableFuture<Result> delete(UUID playerUUID){
         return CompletableFuture.supplyAsync(() -> {
             try{
-                String deleteStats = "DELETE FROM player_stats WHERE player_uuid = ?";
-                String deleteModifiers = "DELETE FROM player_modifiers WHERE player_uuid = ?";
-
-                try (Connection conn = getConnection();
-                     PreparedStatement statement = conn.prepareStatement(deleteStats)) {
-                    statement.setString(1, playerUUID.toString());
-                    statement.executeUpdate();
-                }
-
-                try (Connection conn = getConnection();
-                     PreparedStatement statement = conn.prepareStatement(deleteModifiers)) {
-                    statement.setString(1, playerUUID.toString());
-                    statement.executeUpdate();
-                }
-
+                inTransaction(conn -> {
+                    if (blobFormat){
+                        blobStore.delete(conn, playerUUID);
+                        return null;
+                    }
+                    deletePlayer(conn, STATS_TABLE, toBytes(playerUUID));
+                    deletePlayer(conn, MODIFIERS_TABLE, toBytes(playerUUID));
+                    if (legacyPending){
+                        // 이전 전 데이터가 다시 옮겨지지 않도록
+                        deletePlayer(conn, LEGACY_STATS_TABLE, playerUUID.toString());
+                        deletePlayer(conn, LEGACY_MODIFIERS_TABLE, playerUUID.toString());
+                    }
+                    return null;
+                });
                 return Result.SUCCESS;
             }catch (SQLException e){
                 logger.severe("Failed to delete stats: " + e.getMessage());
                 return Result.Exception(e);
             }
-        }, executor);
+        }, scheduler.at(StoragePriority.MAINTENANCE, List.of(playerUUID)));
+    }
+
+    private void deletePlayer(Connection conn, String table, Object playerUUID) throws SQLException{
+        try (PreparedStatement statement = conn.prepareStatement("DELETE FROM " + table + " WHERE player_uuid = ?")) {
+            statement.setObject(1, playerUUID);
+            statement.executeUpdate();
+        }
     }
 
     @Override
     public CompletableFuture<Boolean> exists(UUID playerUUID){
         return CompletableFuture.supplyAsync(() -> {
-            String sql = "SELECT 1 FROM player_stats WHERE player_uuid = ? LIMIT 1";
-
-            try (Connection conn = getConnection();
-                 PreparedStatement statement = conn.prepareStatement(sql)) {
-                statement.setString(1, playerUUID.toString());
-
-                try(ResultSet rs = statement.executeQuery()){
-                    return rs.next();
+            try (Connection conn = getReadConnection()) {
+                if (blobFormat){
+                    return blobStore.exists(conn, playerUUID);
                 }
+                return hasRows(conn, STATS_TABLE, toBytes(playerUUID))
+                        || legacyPending && hasRows(conn, LEGACY_STATS_TABLE, playerUUID.toString());
             } catch (SQLException e) {
                 logger.severe("Failed to find stats: " + e.getMessage());
                 return false;
             }
-        }, executor);
+        }, getReadScheduler().at(StoragePriority.LOAD));
+    }
+
+    private boolean hasRows(Connection conn, String table, Object playerUUID) throws SQLException{
+        try (PreparedStatement statement = conn.prepareStatement(
+                "SELECT 1 FROM " + table + " WHERE player_uuid = ? LIMIT 1")) {
+            statement.setObject(1, playerUUID);
+
+            try(ResultSet rs = statement.executeQuery()){
+                return rs.next();
+            }
+        }
+    }
+
+    // ----- v1 -> v2 이전 -----
+
+    /**
+     * 스키마 버전이 기록되지 않았고 v1 테이블이 있으면 이전 대기 상태로 표시
+     */
+    private void checkLegacySchema(Connection conn) throws SQLException{
+        if (SCHEMA_VERSION.equals(readMeta(conn, SCHEMA_VERSION_KEY))){
+            return;
+        }
+        if (!tableExists(conn, LEGACY_STATS_TABLE) && !tableExists(conn, LEGACY_MODIFIERS_TABLE)){
+            writeMeta(conn, SCHEMA_VERSION_KEY, SCHEMA_VERSION);
+            return;
+        }
+
+        legacyPending = true;
     }
 
+    private void scheduleMigration(String table, String after){
+        try{
+            scheduler.execute(StoragePriority.MAINTENANCE, () -> migrateChunk(table, after));
+        }catch (RejectedExecutionException e){
+            logger.info("Legacy migration paused (storage shut down), resuming on next start");
+        }
+    }
+
+    /**
+     * v1 테이블에서 after 다음 플레이어들을 옮기고 다음 묶음을 예약
+     * 묶음마다 별도 작업이라 그 사이에 저장·로드가 끼어들 수 있음
+     */
+    private void migrateChunk(String table, String after){
+        List<String> uuids = new ArrayList<>();
+        try (Connection conn = getConnection()) {
+            String sql = "SELECT DISTINCT player_uuid FROM " + table
+                    + " WHERE player_uuid > ? ORDER BY player_uuid LIMIT " + MIGRATION_CHUNK;
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setString(1, after);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()){
+                        uuids.add(rs.getString(1));
+                    }
+                }
+            }
+
+            if (uuids.isEmpty()){
+                if (table.equals(LEGACY_STATS_TABLE) && tableExists(conn, LEGACY_MODIFIERS_TABLE)){
+                    scheduleMigration(LEGACY_MODIFIERS_TABLE, "");
+                    return;
+                }
+                writeMeta(conn, SCHEMA_VERSION_KEY, SCHEMA_VERSION);
+                legacyPending = false;
+                logger.info("Legacy migration complete, empty tables " + LEGACY_STATS_TABLE + " and "
+                        + LEGACY_MODIFIERS_TABLE + " can be dropped");
+                return;
+            }
+
+            migrateLegacy(conn, uuids);
+        } catch (SQLException e) {
+            logger.severe("Legacy migration failed, retrying on next start: " + e.getMessage());
+            return;
+        }
+        scheduleMigration(table, uuids.getLast());
+    }
+
+    /**
+     * v1 행을 v2로 옮김, v2에 이미 있는 행(이전 후 저장된 값)은 유지
+     *
+     * @return 옮긴 플레이어 수
+     */
+    private int migrateLegacy(Connection conn, List<String> uuids) throws SQLException{
+        Map<String, Map<String,Double>> baseValues = new HashMap<>();
+        Map<String, List<IStatModifier>> modifiers = new HashMap<>();
+
+        if (tableExists(conn, LEGACY_STATS_TABLE)){
+            selectByPlayers(conn, "SELECT player_uuid, stat_id, base_value FROM " + LEGACY_STATS_TABLE, uuids, rs ->
+                    baseValues.computeIfAbsent(rs.getString("player_uuid"), k -> new HashMap<>())
+                            .put(rs.getString("stat_id"), rs.getDouble("base_value")));
+        }
+        if (tableExists(conn, LEGACY_MODIFIERS_TABLE)){
+            selectByPlayers(conn, "SELECT * FROM " + LEGACY_MODIFIERS_TABLE, uuids, rs ->
+                    modifiers.computeIfAbsent(rs.getString("player_uuid"), k -> new ArrayList<>())
+                            .add(readLegacyModifier(rs)));
+        }
+
+        Collection<PlayerStatData> players = toPlayerData(baseValues, modifiers).values();
+        if (players.isEmpty()){
+            return 0;
+        }
+
+        Set<String> statIds = new HashSet<>();
+        List<IStatModifier> allModifiers = new ArrayList<>();
+        for (PlayerStatData data : players){
+            statIds.addAll(data.getBaseValues().keySet());
+            allModifiers.addAll(data.getPermanentModifiers());
+        }
+        RowKeys keys = internKeys(conn, statIds, allModifiers);
+
+        List<BaseRow> baseRows = new ArrayList<>();
+        List<ModifierRow> modifierRows = new ArrayList<>();
+        for (PlayerStatData data : players){
+            byte[] uuid = toBytes(data.getPlayerUUID());
+            baseRows.addAll(keys.baseRows(uuid, data.getBaseValues()));
+            modifierRows.addAll(keys.modifierRows(uuid, data.getPermanentModifiers()));
+        }
+
+        // 옮긴 v1 행은 같은 트랜잭션에서 삭제 (이후 v2에서 지운 수정자가 다시 옮겨지지 않도록)
+        inTransaction(conn, c -> {
+            upsert(c, STATS_TABLE, STAT_COLUMNS, STAT_KEYS, false, baseRows, AbstractStorage::bindBaseValue);
+            upsert(c, MODIFIERS_TABLE, MODIFIER_COLUMNS, MODIFIER_KEYS, false, modifierRows, AbstractStorage::bindModifier);
+            for (PlayerStatData data : players){
+                if (data.getBaseValues() != null && !data.getBaseValues().isEmpty()){
+                    deletePlayer(c, LEGACY_STATS_TABLE, data.getPlayerUUID().toString());
+                }
+                if (!data.getPermanentModifiers().isEmpty()){
+                    deletePlayer(c, LEGACY_MODIFIERS_TABLE, data.getPlayerUUID().toString());
+                }
+            }
+            return null;
+        });
+        return players.size();
+    }
+
+    private IStatModifier readLegacyModifier(ResultSet rs) throws SQLException{
+        return StatModifierBuilder.create()
+                .uniqueId(UUID.fromString(rs.getString("modifier_uuid")))
+                .statId(rs.getString("stat_id"))
+                .source(rs.getString("source"))
+                .displayName(rs.getString("display_name"))
+                .type(ModifierType.valueOf(rs.getString("type")))
+                .value(rs.getDouble("value"))
+                .priority(rs.getInt("priority"))
+                .stackable(rs.getBoolean("stackable"))
+                .maxStacks(rs.getInt("max_stacks"))
+                .permanent()
+                .build();
+    }
+
+    private boolean tableExists(Connection conn, String table) throws SQLException{
+        try (ResultSet rs = conn.getMetaData().getTables(conn.getCatalog(), null, table, new String[]{"TABLE"})) {
+            return rs.next();
+        }
+    }
+
+    private String readMeta(Connection conn, String key) throws SQLException{
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "SELECT meta_value FROM " + META_TABLE + " WHERE meta_key = ?")) {
+            stmt.setString(1, key);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+
+    private void writeMeta(Connection conn, String key, String value) throws SQLException{
+        upsert(conn, META_TABLE, META_COLUMNS, META_KEYS, true, List.of(Map.entry(key, value)), (stmt, index, entry) -> {
+            stmt.setString(index, entry.getKey());
+            stmt.setString(index + 1, entry.getValue());
+            return index + 2;
+        });
+    }
+
+    protected static byte[] toBytes(UUID uuid){
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    protected static UUID fromBytes(byte[] bytes){
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    @FunctionalInterface
+    protected interface SqlWork<T> {
+        T run(Connection conn) throws SQLException;
+    }
+
+    /**
+     * 한 번의 저장에 필요한 사전 키 (스탯 ID -> stat_key, 출처 -> source_key)
+     */
+    private record RowKeys(Map<String, Integer> statKeys, Map<String, Integer> sourceKeys) {
+
+        List<BaseRow> baseRows(byte[] playerUUID, Map<String,Double> baseValues){
+            List<BaseRow> rows = new ArrayList<>(baseValues.size());
+            baseValues.forEach((statId, value) -> rows.add(new BaseRow(playerUUID, statKeys.get(statId), value)));
+            return rows;
+        }
+
+        List<ModifierRow> modifierRows(byte[] playerUUID, Collection<IStatModifier> modifiers){
+            List<ModifierRow> rows = new ArrayList<>(modifiers.size());
+            for (IStatModifier modifier : modifiers){
+                rows.add(new ModifierRow(playerUUID, modifier,
+                        statKeys.get(modifier.getStatID()), sourceKeys.get(modifier.getSource())));
+            }
+            return rows;
+        }
+    }
+
+    private record BaseRow(byte[] playerUUID, int statKey, double value) {}
+
+    private record ModifierRow(byte[] playerUUID, IStatModifier modifier, int statKey, int sourceKey) {}
+
+    @FunctionalInterface
+    interface RowReader {
+        void read(ResultSet rs) throws SQLException;
+    }
+
+    @FunctionalInterface
+    interface RowBinder<R> {
+        /**
+         * @return 다음 행의 시작 파라미터 위치
+         */
+        int bind(PreparedStatement stmt, int index, R row) throws SQLException;
+    }
 }
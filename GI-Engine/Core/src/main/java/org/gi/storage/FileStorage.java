@@ -0,0 +1,312 @@
+package org.gi.storage;
+
+import org.gi.Result;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * SQL 없이 로컬 파일에 저장하는 저장소 (단일 서버용)
+ *
+ * 플레이어 데이터는 PlayerDataCodec 바이너리로 세그먼트 로그에 덧붙이고 (기록마다 fsync),
+ * 플레이어별 마지막 기록 위치는 메모리에 두어 로드는 파일 읽기 한 번.
+ * 새 플레이어는 마지막 세그먼트에 배정하고, 플레이어 수가 차면 새 세그먼트를 만듦.
+ * 주기적으로 쓸모없는 기록이 많은 세그먼트를 압축하고 인덱스 파일을 갱신
+ */
+public class FileStorage implements IPlayerDataStorage {
+    private static final long MIN_COMPACTION_BYTES = 64 * 1024; // 이보다 작은 세그먼트는 압축하지 않음
+
+    private final Logger logger;
+    private final Path directory;
+    private final FileStorageSetting setting;
+    private final ScheduledExecutorService writer; // 기록·압축은 이 스레드 하나에서만
+    private final ExecutorService reader;
+
+    private final List<LogSegment> segments = new CopyOnWriteArrayList<>();
+    private final Map<UUID, LogSegment> owners = new ConcurrentHashMap<>(); // 플레이어 -> 기록이 있는 세그먼트
+    private FileChannel lockChannel;
+    private FileLock directoryLock;
+    private volatile boolean connected;
+
+    public FileStorage(Logger logger, File dataFolder, FileStorageSetting setting) {
+        this.logger = logger;
+        this.directory = new File(dataFolder, setting.getDirectory()).toPath();
+        this.setting = setting;
+        this.writer = Executors.newSingleThreadScheduledExecutor(runnable -> new Thread(runnable, "GI-Engine-FileStorage"));
+        this.reader = Executors.newFixedThreadPool(2,
+                Thread.ofPlatform().name("GI-Engine-FileStorage-read-", 0).daemon(true).factory());
+    }
+
+    @Override
+    public Result initialize() {
+        try {
+            Files.createDirectories(directory);
+
+            // 다른 서버가 같은 폴더에 덧붙이지 않도록
+            lockChannel = FileChannel.open(directory.resolve(".lock"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            try {
+                directoryLock = lockChannel.tryLock();
+            } catch (OverlappingFileLockException e) {
+                directoryLock = null; // 같은 JVM에서 이미 열림 (종료하지 않고 다시 로드한 경우)
+            }
+            if (directoryLock == null) {
+                lockChannel.close();
+                return Result.Error("Player data directory is already in use: " + directory);
+            }
+
+            List<Integer> ids;
+            try (Stream<Path> files = Files.list(directory)) {
+                ids = files.map(LogSegment::parseId)
+                        .filter(OptionalInt::isPresent)
+                        .map(OptionalInt::getAsInt)
+                        .sorted()
+                        .toList();
+            }
+            for (int id : ids) {
+                LogSegment segment = LogSegment.open(directory, id, logger);
+                segments.add(segment);
+                segment.playerUUIDs().forEach(uuid -> owners.put(uuid, segment));
+            }
+            if (segments.isEmpty()) {
+                segments.add(LogSegment.open(directory, 1, logger));
+            }
+        } catch (IOException e) {
+            logger.severe("Failed to initialize FileStorage: " + e.getMessage());
+            return Result.Exception(e);
+        }
+
+        long interval = setting.getCompactionIntervalMinutes();
+        writer.scheduleWithFixedDelay(this::maintain, interval, interval, TimeUnit.MINUTES);
+        connected = true;
+
+        logger.info("FileStorage initialized: " + owners.size() + " players in " + segments.size() + " segments");
+        return Result.SUCCESS;
+    }
+
+    @Override
+    public void shutdown() {
+        connected = false;
+        for (ExecutorService executor : List.of(writer, reader)) {
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // 다음 시작 때 로그를 다시 읽지 않도록 인덱스 기록
+        for (LogSegment segment : segments) {
+            try {
+                segment.writeIndex();
+                segment.close();
+            } catch (IOException e) {
+                logger.warning("Error closing segment " + segment.id() + ": " + e.getMessage());
+            }
+        }
+        try {
+            if (directoryLock != null) {
+                directoryLock.release();
+                lockChannel.close();
+            }
+        } catch (IOException e) {
+            logger.warning("Error releasing player data directory lock: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public CompletableFuture<Result> save(PlayerStatData data) {
+        return submitWrite(() -> write(Map.of(data.getPlayerUUID(), PlayerBlobStore.permanentOnly(data))));
+    }
+
+    @Override
+    public CompletableFuture<Result> saveDelta(PlayerStatDelta delta) {
+        return saveDeltas(List.of(delta));
+    }
+
+    /**
+     * 현재 기록에 변경분을 적용한 전체 데이터를 덧붙임 (fsync는 세그먼트당 한 번)
+     */
+    @Override
+    public CompletableFuture<Result> saveDeltas(Collection<PlayerStatDelta> deltas) {
+        List<PlayerStatDelta> changed = deltas.stream().filter(delta -> !delta.isEmpty()).toList();
+        if (changed.isEmpty()) {
+            return CompletableFuture.completedFuture(Result.SUCCESS);
+        }
+        return submitWrite(() -> {
+            Map<UUID, PlayerStatData> updated = new LinkedHashMap<>();
+            for (PlayerStatDelta delta : changed) {
+                UUID uuid = delta.getPlayerUUID();
+                PlayerStatData current = updated.containsKey(uuid) ? updated.get(uuid)
+                        : read(uuid).orElseGet(() -> new PlayerStatData(uuid, Map.of(), List.of()));
+                updated.put(uuid, PlayerBlobStore.permanentOnly(current.applied(delta)));
+            }
+            write(updated);
+        });
+    }
+
+    @Override
+    public CompletableFuture<Optional<PlayerStatData>> load(UUID playerUUID) {
+        if (!owners.containsKey(playerUUID)) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return read(playerUUID);
+            } catch (IOException e) {
+                logger.severe("Failed to load player data: " + e.getMessage());
+                return Optional.empty();
+            }
+        }, reader);
+    }
+
+    @Override
+    public CompletableFuture<Map<UUID, PlayerStatData>> loadAll(Collection<UUID> playerUUIDs) {
+        List<UUID> stored = playerUUIDs.stream().distinct().filter(owners::containsKey).toList();
+        if (stored.isEmpty()) {
+            return CompletableFuture.completedFuture(Map.of());
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            Map<UUID, PlayerStatData> loaded = new HashMap<>();
+            for (UUID uuid : stored) {
+                try {
+                    read(uuid).ifPresent(data -> loaded.put(uuid, data));
+                } catch (IOException e) {
+                    logger.severe("Failed to load player data: " + e.getMessage());
+                }
+            }
+            return loaded;
+        }, reader);
+    }
+
+    @Override
+    public CompletableFuture<Result> delete(UUID playerUUID) {
+        return submitWrite(() -> {
+            LogSegment segment = owners.get(playerUUID);
+            if (segment != null) {
+                segment.append(List.of(LogSegment.Write.delete(playerUUID)));
+                owners.remove(playerUUID);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exists(UUID playerUUID) {
+        return CompletableFuture.completedFuture(owners.containsKey(playerUUID));
+    }
+
+    @Override
+    public StorageType getType() {
+        return StorageType.FILE;
+    }
+
+    @Override
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * 세그먼트 폴더 경로 반환 (디버깅용)
+     */
+    public String getDirectoryPath() {
+        return directory.toAbsolutePath().toString();
+    }
+
+    private Optional<PlayerStatData> read(UUID playerUUID) throws IOException {
+        LogSegment segment = owners.get(playerUUID);
+        if (segment == null) {
+            return Optional.empty();
+        }
+        Optional<byte[]> bytes = segment.read(playerUUID);
+        if (bytes.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(PlayerDataCodec.decode(playerUUID, bytes.get()));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupted player data for " + playerUUID + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 세그먼트별로 묶어 덧붙임, 새 플레이어는 마지막 세그먼트에 배정 (기록 스레드에서만 호출)
+     */
+    private void write(Map<UUID, PlayerStatData> players) throws IOException {
+        Map<LogSegment, List<LogSegment.Write>> bySegment = new LinkedHashMap<>();
+        for (PlayerStatData data : players.values()) {
+            LogSegment segment = owners.get(data.getPlayerUUID());
+            if (segment == null) {
+                segment = segmentForNewPlayer(bySegment);
+            }
+            bySegment.computeIfAbsent(segment, ignored -> new ArrayList<>())
+                    .add(LogSegment.Write.put(data.getPlayerUUID(), PlayerDataCodec.encode(data)));
+        }
+
+        for (Map.Entry<LogSegment, List<LogSegment.Write>> entry : bySegment.entrySet()) {
+            entry.getKey().append(entry.getValue());
+            entry.getValue().forEach(write -> owners.put(write.playerUUID(), entry.getKey()));
+        }
+    }
+
+    private LogSegment segmentForNewPlayer(Map<LogSegment, List<LogSegment.Write>> pending) throws IOException {
+        LogSegment last = segments.get(segments.size() - 1);
+        int queued = pending.getOrDefault(last, List.of()).size();
+        if (last.players() + queued < setting.getPlayersPerSegment()) {
+            return last;
+        }
+        LogSegment next = LogSegment.open(directory, last.id() + 1, logger);
+        segments.add(next);
+        return next;
+    }
+
+    /**
+     * 압축 대상 세그먼트 압축, 나머지는 바뀐 인덱스만 기록
+     */
+    private void maintain() {
+        for (LogSegment segment : segments) {
+            try {
+                if (segment.size() >= MIN_COMPACTION_BYTES && segment.garbageRatio() >= setting.getCompactionRatio()) {
+                    segment.compact();
+                } else {
+                    segment.writeIndex();
+                }
+            } catch (IOException e) {
+                logger.warning("Failed to maintain segment " + segment.id() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private CompletableFuture<Result> submitWrite(IOTask task) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    task.run();
+                    return Result.SUCCESS;
+                } catch (IOException e) {
+                    logger.severe("Failed to save player data: " + e.getMessage());
+                    return Result.Exception(e);
+                }
+            }, writer);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(Result.Error("FileStorage is shut down"));
+        }
+    }
+
+    @FunctionalInterface
+    private interface IOTask {
+        void run() throws IOException;
+    }
+}
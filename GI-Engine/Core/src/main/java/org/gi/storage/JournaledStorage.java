@@ -0,0 +1,548 @@
+package org.gi.storage;
+
+import org.gi.Result;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+
+/**
+ * 저장소 앞에 두는 로컬 journal (fsync된 추가 전용 파일)
+ *
+ * 저장·삭제는 journal에 기록되면 바로 완료되고, 전용 스레드가 순서대로 실제 저장소에 반영.
+ * 반영에 실패하면 (DB 장애) 간격을 늘려가며 재시도하고, 종료 시 남은 기록은 다음 시작 때 다시 반영.
+ * 로드는 실제 저장소 결과 위에 아직 반영되지 않은 기록을 덮어 반환
+ */
+public class JournaledStorage implements IPlayerDataStorage {
+    private static final byte SAVE = 0;
+    private static final byte DELTA = 1;
+    private static final byte DELETE = 2;
+
+    private static final int RECORD_HEADER = 8; // 길이, CRC
+    private static final int RECORD_PREFIX = 17; // 종류, UUID
+    private static final int MAX_RECORD = 16 * 1024 * 1024;
+    private static final int REPLAY_BATCH = 256;
+    private static final long MIN_BACKOFF_MILLIS = 500;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private final IPlayerDataStorage backend;
+    private final Logger logger;
+    private final File journalFile;
+    private final long drainTimeoutMillis;
+
+    private final Object fileLock = new Object(); // 파일 기록 -> lock 순서로만 잡음
+    private FileChannel channel;
+    private long size;
+    private volatile boolean open;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final ArrayDeque<Entry> pending = new ArrayDeque<>(); // journal 순서, 아직 저장소에 반영되지 않음
+    private final Map<UUID, ArrayDeque<Entry>> unapplied = new HashMap<>(); // 플레이어별 pending
+    private boolean running;
+    private boolean backendReady;
+    private Thread replayer;
+
+    private final LongAdder journaled = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder failedReplays = new LongAdder();
+
+    /**
+     * @param drainTimeoutMillis 종료 시 남은 기록을 반영하려고 기다리는 최대 시간
+     */
+    public JournaledStorage(IPlayerDataStorage backend, Logger logger, File journalFile, long drainTimeoutMillis) {
+        this.backend = backend;
+        this.logger = logger;
+        this.journalFile = journalFile;
+        this.drainTimeoutMillis = Math.max(0, drainTimeoutMillis);
+    }
+
+    /**
+     * journal을 열어 남은 기록을 불러온 뒤 저장소 초기화
+     * 저장소 초기화에 실패해도 저장은 journal에 쌓이고, 전용 스레드가 초기화를 다시 시도
+     */
+    @Override
+    public Result initialize() {
+        try {
+            File parent = journalFile.getAbsoluteFile().getParentFile();
+            if (parent != null && !parent.exists()) {
+                parent.mkdirs();
+            }
+            channel = FileChannel.open(journalFile.toPath(),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            recover();
+            open = true;
+        } catch (IOException e) {
+            logger.severe("Failed to open storage journal: " + e.getMessage());
+            return Result.Exception(e);
+        }
+        if (!pending.isEmpty()) {
+            logger.info("Storage journal has " + pending.size() + " saves to replay");
+        }
+
+        Result result = backend.initialize();
+        backendReady = result.isSuccess();
+        if (!backendReady) {
+            logger.warning("Storage unavailable, saves are kept in " + journalFile.getName() + " until it recovers");
+        }
+
+        running = true;
+        replayer = new Thread(this::run, "GI-Engine-Journal");
+        replayer.setDaemon(true);
+        replayer.start();
+        return Result.SUCCESS;
+    }
+
+    /**
+     * 남은 기록을 제한 시간 동안 반영한 뒤 종료 (저장소가 응답하지 않으면 기다리지 않음)
+     * 반영하지 못한 기록은 journal에 남아 다음 시작 때 반영
+     */
+    @Override
+    public void shutdown() {
+        open = false;
+        lock.lock();
+        try {
+            running = false;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        if (replayer != null) {
+            try {
+                replayer.join(drainTimeoutMillis + 1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            replayer.interrupt();
+        }
+
+        int left = getPendingCount();
+        if (left > 0) {
+            logger.warning(left + " saves left in " + journalFile.getName() + ", replaying on next start");
+        }
+        synchronized (fileLock) {
+            try {
+                if (channel != null) {
+                    channel.close();
+                }
+            } catch (IOException e) {
+                logger.warning("Error closing storage journal: " + e.getMessage());
+            }
+        }
+        backend.shutdown();
+    }
+
+    @Override
+    public CompletableFuture<Result> save(PlayerStatData data) {
+        PlayerStatData permanent = PlayerBlobStore.permanentOnly(data);
+        return CompletableFuture.completedFuture(
+                append(List.of(new Entry(SAVE, data.getPlayerUUID(), permanent, null))));
+    }
+
+    @Override
+    public CompletableFuture<Result> saveDelta(PlayerStatDelta delta) {
+        return saveDeltas(List.of(delta));
+    }
+
+    /**
+     * 변경분을 journal에 한 번에 기록 (fsync 한 번)
+     */
+    @Override
+    public CompletableFuture<Result> saveDeltas(Collection<PlayerStatDelta> deltas) {
+        List<Entry> entries = deltas.stream()
+                .filter(delta -> !delta.isEmpty())
+                .map(delta -> new Entry(DELTA, delta.getPlayerUUID(), null, delta))
+                .toList();
+        if (entries.isEmpty()) {
+            return CompletableFuture.completedFuture(Result.SUCCESS);
+        }
+        return CompletableFuture.completedFuture(append(entries));
+    }
+
+    @Override
+    public CompletableFuture<Optional<PlayerStatData>> load(UUID playerUUID) {
+        return load(playerUUID, StoragePriority.LOAD);
+    }
+
+    @Override
+    public CompletableFuture<Optional<PlayerStatData>> load(UUID playerUUID, StoragePriority priority) {
+        List<Entry> overlay = unappliedFor(List.of(playerUUID)).get(playerUUID);
+        if (overlay == null) {
+            return backend.load(playerUUID, priority);
+        }
+        return backend.load(playerUUID, priority).thenApply(loaded -> applyOverlay(playerUUID, loaded, overlay));
+    }
+
+    @Override
+    public CompletableFuture<Map<UUID, PlayerStatData>> loadAll(Collection<UUID> playerUUIDs) {
+        return loadAll(playerUUIDs, StoragePriority.LOAD);
+    }
+
+    @Override
+    public CompletableFuture<Map<UUID, PlayerStatData>> loadAll(Collection<UUID> playerUUIDs, StoragePriority priority) {
+        Map<UUID, List<Entry>> overlays = unappliedFor(playerUUIDs);
+        if (overlays.isEmpty()) {
+            return backend.loadAll(playerUUIDs, priority);
+        }
+        return backend.loadAll(playerUUIDs, priority).thenApply(loaded -> {
+            Map<UUID, PlayerStatData> merged = new HashMap<>(loaded);
+            overlays.forEach((uuid, overlay) ->
+                    applyOverlay(uuid, Optional.ofNullable(loaded.get(uuid)), overlay)
+                            .ifPresentOrElse(data -> merged.put(uuid, data), () -> merged.remove(uuid)));
+            return merged;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Result> delete(UUID playerUUID) {
+        return CompletableFuture.completedFuture(append(List.of(new Entry(DELETE, playerUUID, null, null))));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exists(UUID playerUUID) {
+        List<Entry> overlay = unappliedFor(List.of(playerUUID)).get(playerUUID);
+        if (overlay != null) {
+            return CompletableFuture.completedFuture(overlay.get(overlay.size() - 1).type() != DELETE);
+        }
+        return backend.exists(playerUUID);
+    }
+
+    @Override
+    public StorageType getType() {
+        return backend.getType();
+    }
+
+    /**
+     * journal이 열려 있으면 true (저장소 장애 중에도 저장 가능)
+     */
+    @Override
+    public boolean isConnected() {
+        return open;
+    }
+
+    public IPlayerDataStorage getBackend() {
+        return backend;
+    }
+
+    /**
+     * 아직 저장소에 반영되지 않은 기록 수
+     */
+    public int getPendingCount() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 디버그 로그용 상태 문자열
+     */
+    public String getStatus() {
+        return String.format("pending=%d, journaled=%d, replayed=%d, failed replays=%d, journal=%dKB",
+                getPendingCount(), journaled.sum(), replayed.sum(), failedReplays.sum(), size / 1024);
+    }
+
+    /**
+     * journal에 기록하고 fsync한 뒤 반영 대기열에 추가
+     */
+    private Result append(List<Entry> entries) {
+        List<byte[]> payloads = new ArrayList<>(entries.size());
+        int total = 0;
+        for (Entry entry : entries) {
+            byte[] payload = switch (entry.type()) {
+                case SAVE -> PlayerDataCodec.encode(entry.data());
+                case DELTA -> PlayerDataCodec.encodeDelta(entry.delta());
+                default -> new byte[0];
+            };
+            payloads.add(payload);
+            total += RECORD_HEADER + RECORD_PREFIX + payload.length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(total);
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            byte[] payload = payloads.get(i);
+            int start = buffer.position();
+            int length = RECORD_PREFIX + payload.length;
+            buffer.putInt(length).putInt(0)
+                    .put(entry.type())
+                    .putLong(entry.playerUUID().getMostSignificantBits())
+                    .putLong(entry.playerUUID().getLeastSignificantBits())
+                    .put(payload);
+            buffer.putInt(start + 4, LogSegment.checksum(buffer.slice(start + RECORD_HEADER, length)));
+        }
+        buffer.flip();
+
+        synchronized (fileLock) {
+            if (channel == null || !channel.isOpen()) {
+                return Result.Error("Storage journal is closed");
+            }
+            try {
+                LogSegment.writeFully(channel, buffer, size);
+                channel.force(false);
+            } catch (IOException e) {
+                try {
+                    channel.truncate(size); // 기록하다 실패한 부분은 버림
+                } catch (IOException ignored) {
+                }
+                logger.severe("Failed to write storage journal: " + e.getMessage());
+                return Result.Exception(e);
+            }
+            size += total;
+            journaled.add(entries.size());
+
+            lock.lock();
+            try {
+                entries.forEach(this::enqueue);
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+        return Result.SUCCESS;
+    }
+
+    /**
+     * 시작 시 journal의 기록을 불러옴, 잘린 꼬리는 버림
+     */
+    private void recover() throws IOException {
+        size = channel.size();
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER);
+        long position = 0;
+        while (size - position >= RECORD_HEADER) {
+            header.clear();
+            LogSegment.readFully(channel, header, position);
+            header.flip();
+            int length = header.getInt();
+            int crc = header.getInt();
+            if (length < RECORD_PREFIX || length > MAX_RECORD || position + RECORD_HEADER + length > size) {
+                break;
+            }
+
+            ByteBuffer body = ByteBuffer.allocate(length);
+            LogSegment.readFully(channel, body, position + RECORD_HEADER);
+            body.flip();
+            if (LogSegment.checksum(body) != crc) {
+                break;
+            }
+            byte type = body.get();
+            UUID uuid = new UUID(body.getLong(), body.getLong());
+            byte[] payload = new byte[body.remaining()];
+            body.get(payload);
+            try {
+                enqueue(switch (type) {
+                    case SAVE -> new Entry(SAVE, uuid, PlayerDataCodec.decode(uuid, payload), null);
+                    case DELTA -> new Entry(DELTA, uuid, null, PlayerDataCodec.decodeDelta(uuid, payload));
+                    case DELETE -> new Entry(DELETE, uuid, null, null);
+                    default -> throw new IllegalArgumentException("Unknown journal entry type " + type);
+                });
+            } catch (IllegalArgumentException e) {
+                logger.warning("Skipping unreadable journal entry for " + uuid + ": " + e.getMessage());
+            }
+            position += RECORD_HEADER + length;
+        }
+
+        if (position < size) {
+            logger.warning("Truncating " + (size - position) + " bytes of incomplete records in " + journalFile.getName());
+            channel.truncate(position);
+            channel.force(true);
+            size = position;
+        }
+    }
+
+    /**
+     * lock 보유 상태
+     */
+    private void enqueue(Entry entry) {
+        pending.addLast(entry);
+        unapplied.computeIfAbsent(entry.playerUUID(), ignored -> new ArrayDeque<>()).addLast(entry);
+    }
+
+    /**
+     * 저장소를 읽기 전에 가져와야 함 (그 사이 반영된 기록은 저장소 결과에 포함되고, 다시 덮어써도 결과가 같음)
+     */
+    private Map<UUID, List<Entry>> unappliedFor(Collection<UUID> playerUUIDs) {
+        Map<UUID, List<Entry>> result = new HashMap<>();
+        lock.lock();
+        try {
+            if (unapplied.isEmpty()) {
+                return result;
+            }
+            for (UUID uuid : playerUUIDs) {
+                ArrayDeque<Entry> entries = unapplied.get(uuid);
+                if (entries != null) {
+                    result.put(uuid, List.copyOf(entries));
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return result;
+    }
+
+    private static Optional<PlayerStatData> applyOverlay(UUID playerUUID, Optional<PlayerStatData> loaded, List<Entry> overlay) {
+        Optional<PlayerStatData> current = loaded;
+        for (Entry entry : overlay) {
+            current = switch (entry.type()) {
+                case SAVE -> Optional.of(entry.data());
+                case DELTA -> Optional.of(current.orElseGet(() -> new PlayerStatData(playerUUID, Map.of(), List.of()))
+                        .applied(entry.delta()));
+                default -> Optional.empty();
+            };
+        }
+        return current;
+    }
+
+    private void run() {
+        long backoff = 0;
+        long retryAt = 0; // 실패 후 다시 시도할 시각, 새 기록이 들어와도 앞당기지 않음
+        long drainDeadline = 0;
+        while (true) {
+            List<Entry> batch;
+            lock.lock();
+            try {
+                while (running) {
+                    if (pending.isEmpty()) {
+                        changed.await();
+                        continue;
+                    }
+                    long left = retryAt - System.nanoTime();
+                    if (backoff == 0 || left <= 0) {
+                        break;
+                    }
+                    changed.awaitNanos(left);
+                }
+                if (!running) {
+                    if (drainDeadline == 0) {
+                        drainDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(drainTimeoutMillis);
+                    }
+                    // 저장소가 응답하지 않으면 종료를 막지 않음
+                    if (pending.isEmpty() || backoff > 0 || System.nanoTime() > drainDeadline) {
+                        return;
+                    }
+                }
+                batch = new ArrayList<>(Math.min(REPLAY_BATCH, pending.size()));
+                Iterator<Entry> iterator = pending.iterator();
+                while (iterator.hasNext() && batch.size() < REPLAY_BATCH) {
+                    batch.add(iterator.next());
+                }
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            int applied = replay(batch);
+            if (applied > 0) {
+                complete(applied);
+            }
+            if (applied < batch.size()) {
+                failedReplays.increment();
+                if (backoff == 0) {
+                    logger.warning("Storage unavailable, keeping " + getPendingCount() + " saves in " + journalFile.getName());
+                }
+                backoff = backoff == 0 ? MIN_BACKOFF_MILLIS : Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+                retryAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(backoff);
+            } else {
+                if (backoff > 0) {
+                    logger.info("Storage recovered, replaying journaled saves");
+                }
+                backoff = 0;
+            }
+        }
+    }
+
+    /**
+     * 순서대로 저장소에 반영, 이어지는 변경분은 플레이어별로 합쳐 saveDeltas() 한 번
+     *
+     * @return 반영에 성공한 앞쪽 기록 수
+     */
+    private int replay(List<Entry> batch) {
+        if (!backendReady) {
+            backendReady = backend.initialize().isSuccess();
+            if (!backendReady) {
+                return 0;
+            }
+        }
+
+        int applied = 0;
+        while (applied < batch.size()) {
+            Entry first = batch.get(applied);
+            int end = applied + 1;
+            Result result;
+            try {
+                if (first.type() == DELTA) {
+                    Map<UUID, PlayerStatDelta> merged = new LinkedHashMap<>();
+                    merged.put(first.playerUUID(), first.delta());
+                    while (end < batch.size() && batch.get(end).type() == DELTA) {
+                        PlayerStatDelta delta = batch.get(end).delta();
+                        merged.merge(delta.getPlayerUUID(), delta, PlayerStatDelta::mergedWith);
+                        end++;
+                    }
+                    result = backend.saveDeltas(merged.values()).join();
+                } else if (first.type() == SAVE) {
+                    result = backend.save(first.data()).join();
+                } else {
+                    result = backend.delete(first.playerUUID()).join();
+                }
+            } catch (Exception e) {
+                result = Result.Exception(e);
+            }
+
+            if (!result.isSuccess()) {
+                return applied;
+            }
+            applied = end;
+        }
+        return applied;
+    }
+
+    /**
+     * 반영된 앞쪽 기록을 대기열에서 빼고, 모두 반영되었으면 journal을 비움
+     */
+    private void complete(int count) {
+        synchronized (fileLock) {
+            lock.lock();
+            try {
+                for (int i = 0; i < count; i++) {
+                    Entry entry = pending.pollFirst();
+                    ArrayDeque<Entry> entries = unapplied.get(entry.playerUUID());
+                    entries.pollFirst();
+                    if (entries.isEmpty()) {
+                        unapplied.remove(entry.playerUUID());
+                    }
+                }
+                replayed.add(count);
+
+                if (pending.isEmpty() && size > 0 && channel.isOpen()) {
+                    try {
+                        channel.truncate(0);
+                        channel.force(true);
+                        size = 0;
+                    } catch (IOException e) {
+                        logger.warning("Failed to truncate storage journal: " + e.getMessage());
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * journal 기록 한 건, 종류에 따라 data 또는 delta만 사용
+     */
+    private record Entry(byte type, UUID playerUUID, PlayerStatData data, PlayerStatDelta delta) {}
+}
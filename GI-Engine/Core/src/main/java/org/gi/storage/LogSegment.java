@@ -0,0 +1,441 @@
+package org.gi.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Logger;
+import java.util.zip.CRC32C;
+
+/**
+ * 파일 저장소의 세그먼트 하나 (추가 전용 로그 + 인덱스 파일)
+ *
+ * 로그: [헤더][(길이, CRC, UUID, 종류, PlayerDataCodec 바이너리)...]
+ * 인덱스: 특정 세대·길이까지의 로그에서 플레이어별 마지막 기록 위치, 시작 시 메모리 매핑으로 읽고
+ * 그 뒤에 추가된 기록만 로그에서 다시 읽음. 인덱스가 없거나 맞지 않으면 로그 전체를 다시 읽음
+ *
+ * 기록·압축·인덱스 기록은 저장소의 기록 스레드에서만 호출, 읽기는 여러 스레드에서 호출 가능
+ */
+final class LogSegment implements Closeable {
+    static final byte OP_PUT = 0;
+    static final byte OP_DELETE = 1;
+
+    private static final int LOG_MAGIC = 0x47494C47; // "GILG"
+    private static final int INDEX_MAGIC = 0x47494958; // "GIIX"
+    private static final int FORMAT = 1;
+    private static final int LOG_HEADER = 16; // 매직, 포맷, 세대
+    private static final int RECORD_HEADER = 8; // 길이, CRC
+    private static final int RECORD_PREFIX = 17; // UUID, 종류
+    private static final int INDEX_HEADER = 28; // 매직, 포맷, 세대, 로그 길이, 개수
+    private static final int INDEX_ENTRY = 28; // UUID, 위치, 길이
+    private static final int MAX_RECORD = 16 * 1024 * 1024;
+
+    private final int id;
+    private final Path logPath;
+    private final Path indexPath;
+    private final Logger logger;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock(); // 압축 중 파일 교체와 읽기를 분리
+    private final Map<UUID, Slot> slots = new ConcurrentHashMap<>();
+
+    private FileChannel channel;
+    private long generation; // 압축할 때마다 증가, 인덱스가 어느 로그를 가리키는지 확인용
+    private long size;
+    private long liveBytes;
+    private boolean indexDirty;
+
+    private LogSegment(int id, Path directory, Logger logger) {
+        this.id = id;
+        this.logPath = directory.resolve(String.format("segment-%05d.log", id));
+        this.indexPath = directory.resolve(String.format("segment-%05d.idx", id));
+        this.logger = logger;
+    }
+
+    /**
+     * 세그먼트를 열고 인덱스·로그에서 플레이어 위치를 복원
+     * 마지막 기록이 잘렸거나 CRC가 맞지 않으면 (기록 중 종료) 그 앞까지로 자름
+     */
+    static LogSegment open(Path directory, int id, Logger logger) throws IOException {
+        LogSegment segment = new LogSegment(id, directory, logger);
+        segment.openLog();
+        return segment;
+    }
+
+    static OptionalInt parseId(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith("segment-") || !name.endsWith(".log")) {
+            return OptionalInt.empty();
+        }
+        try {
+            return OptionalInt.of(Integer.parseInt(name.substring("segment-".length(), name.length() - ".log".length())));
+        } catch (NumberFormatException e) {
+            return OptionalInt.empty();
+        }
+    }
+
+    int id() {
+        return id;
+    }
+
+    int players() {
+        return slots.size();
+    }
+
+    Set<UUID> playerUUIDs() {
+        return slots.keySet();
+    }
+
+    /**
+     * 플레이어의 마지막 기록 (PlayerDataCodec 바이너리)
+     */
+    Optional<byte[]> read(UUID playerUUID) throws IOException {
+        lock.readLock().lock();
+        try {
+            Slot slot = slots.get(playerUUID);
+            if (slot == null) {
+                return Optional.empty();
+            }
+            ByteBuffer record = ByteBuffer.allocate(slot.length());
+            readFully(channel, record, slot.offset());
+            record.flip();
+
+            int length = record.getInt();
+            int crc = record.getInt();
+            if (length != slot.length() - RECORD_HEADER || crc != checksum(record)) {
+                throw new IOException("Corrupted record for " + playerUUID + " in " + logPath.getFileName());
+            }
+            record.position(RECORD_HEADER + RECORD_PREFIX);
+            byte[] payload = new byte[record.remaining()];
+            record.get(payload);
+            return Optional.of(payload);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 기록을 한 번에 덧붙이고 fsync 후 위치 갱신 (같은 플레이어가 여러 번 있으면 마지막 기록 기준)
+     */
+    void append(List<Write> writes) throws IOException {
+        int total = 0;
+        for (Write write : writes) {
+            total += RECORD_HEADER + RECORD_PREFIX + write.payload().length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(total);
+        List<Slot> written = new ArrayList<>(writes.size());
+        long position = size;
+        for (Write write : writes) {
+            int start = buffer.position();
+            int length = RECORD_PREFIX + write.payload().length;
+            buffer.putInt(length).putInt(0)
+                    .putLong(write.playerUUID().getMostSignificantBits())
+                    .putLong(write.playerUUID().getLeastSignificantBits())
+                    .put(write.op())
+                    .put(write.payload());
+            buffer.putInt(start + 4, checksum(buffer.slice(start + RECORD_HEADER, length)));
+            written.add(new Slot(position + start, RECORD_HEADER + length));
+        }
+        buffer.flip();
+
+        try {
+            writeFully(channel, buffer, size);
+            channel.force(false);
+        } catch (IOException e) {
+            channel.truncate(size); // 덧붙이다 실패한 부분은 버림
+            throw e;
+        }
+        size += total;
+
+        for (int i = 0; i < writes.size(); i++) {
+            Write write = writes.get(i);
+            if (write.op() == OP_PUT) {
+                apply(write.playerUUID(), written.get(i));
+            } else {
+                apply(write.playerUUID(), null);
+            }
+        }
+        indexDirty = true;
+    }
+
+    /**
+     * 로그 중 최신이 아닌 기록의 비율
+     */
+    double garbageRatio() {
+        long records = size - LOG_HEADER;
+        return records == 0 ? 0 : (records - liveBytes) / (double) records;
+    }
+
+    long size() {
+        return size;
+    }
+
+    /**
+     * 최신 기록만 새 로그로 복사한 뒤 교체하고 인덱스를 다시 기록
+     */
+    void compact() throws IOException {
+        Path temp = logPath.resolveSibling(logPath.getFileName() + ".compact");
+        Map<UUID, Slot> moved = new HashMap<>(slots.size() * 2);
+
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeHeader(out, generation + 1);
+            long position = LOG_HEADER;
+            out.position(position);
+            for (Map.Entry<UUID, Slot> entry : slots.entrySet()) {
+                Slot slot = entry.getValue();
+                long copied = 0;
+                while (copied < slot.length()) {
+                    copied += channel.transferTo(slot.offset() + copied, slot.length() - copied, out);
+                }
+                moved.put(entry.getKey(), new Slot(position, slot.length()));
+                position += slot.length();
+            }
+            out.force(true);
+        }
+
+        long before = size;
+        lock.writeLock().lock();
+        try {
+            channel.close();
+            Files.move(temp, logPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            syncDirectory(logPath.getParent()); // 이름 교체까지 디스크에 남겨야 종료 후에도 압축된 로그가 보임
+            channel = FileChannel.open(logPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            generation++;
+            size = channel.size();
+            slots.clear();
+            slots.putAll(moved);
+            liveBytes = size - LOG_HEADER;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        writeIndex();
+        logger.info("Compacted " + logPath.getFileName() + ": " + before / 1024 + "KB -> " + size / 1024 + "KB");
+    }
+
+    /**
+     * 현재 위치를 인덱스 파일에 기록
+     * 헤더를 먼저 무효로 써두고 항목을 기록한 뒤 헤더를 채움 (도중에 종료되면 다음 시작 때 로그 전체를 읽음)
+     */
+    void writeIndex() throws IOException {
+        if (!indexDirty) {
+            return;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(INDEX_HEADER + slots.size() * INDEX_ENTRY);
+        buffer.position(INDEX_HEADER);
+        int count = 0;
+        for (Map.Entry<UUID, Slot> entry : slots.entrySet()) {
+            buffer.putLong(entry.getKey().getMostSignificantBits())
+                    .putLong(entry.getKey().getLeastSignificantBits())
+                    .putLong(entry.getValue().offset())
+                    .putInt(entry.getValue().length());
+            count++;
+        }
+        buffer.flip();
+
+        try (FileChannel out = FileChannel.open(indexPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            writeFully(out, indexHeader(-1, 0), 0);
+            out.force(false);
+            buffer.position(INDEX_HEADER);
+            writeFully(out, buffer, INDEX_HEADER);
+            out.force(false);
+            writeFully(out, indexHeader(size, count), 0);
+            out.force(false);
+        }
+        indexDirty = false;
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            channel.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void openLog() throws IOException {
+        boolean created = Files.notExists(logPath);
+        channel = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (created || channel.size() == 0) {
+            writeHeader(channel, 0);
+            channel.force(true);
+            syncDirectory(logPath.getParent());
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(LOG_HEADER);
+        readFully(channel, header, 0);
+        header.flip();
+        if (header.getInt() != LOG_MAGIC || header.getInt() != FORMAT) {
+            channel.close();
+            throw new IOException(logPath.getFileName() + " is not a player data segment");
+        }
+        generation = header.getLong();
+        size = channel.size();
+
+        long replayFrom = readIndex();
+        if (replayFrom < size) {
+            replay(replayFrom);
+            indexDirty = true;
+        }
+        liveBytes = slots.values().stream().mapToLong(Slot::length).sum();
+    }
+
+    /**
+     * @return 인덱스가 가리키는 로그 길이 (여기부터 로그를 다시 읽음), 쓸 수 없는 인덱스면 헤더 끝
+     */
+    private long readIndex() throws IOException {
+        if (Files.notExists(indexPath)) {
+            return LOG_HEADER;
+        }
+        try (FileChannel in = FileChannel.open(indexPath, StandardOpenOption.READ)) {
+            if (in.size() < INDEX_HEADER) {
+                return LOG_HEADER;
+            }
+            MappedByteBuffer map = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+            if (map.getInt() != INDEX_MAGIC || map.getInt() != FORMAT || map.getLong() != generation) {
+                return LOG_HEADER;
+            }
+            long covered = map.getLong();
+            int count = map.getInt();
+            if (covered < LOG_HEADER || covered > size || count < 0
+                    || in.size() < INDEX_HEADER + (long) count * INDEX_ENTRY) {
+                return LOG_HEADER;
+            }
+
+            for (int i = 0; i < count; i++) {
+                UUID uuid = new UUID(map.getLong(), map.getLong());
+                Slot slot = new Slot(map.getLong(), map.getInt());
+                if (slot.offset() < LOG_HEADER || slot.offset() + slot.length() > covered) {
+                    slots.clear();
+                    return LOG_HEADER;
+                }
+                slots.put(uuid, slot);
+            }
+            return covered;
+        }
+    }
+
+    /**
+     * from부터 로그 끝까지 기록을 읽어 위치 반영, 깨진 꼬리는 잘라냄
+     */
+    private void replay(long from) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER);
+        long position = from;
+        while (position < size) {
+            header.clear();
+            if (size - position < RECORD_HEADER) {
+                break;
+            }
+            readFully(channel, header, position);
+            header.flip();
+            int length = header.getInt();
+            int crc = header.getInt();
+            if (length < RECORD_PREFIX || length > MAX_RECORD || position + RECORD_HEADER + length > size) {
+                break;
+            }
+
+            ByteBuffer body = ByteBuffer.allocate(length);
+            readFully(channel, body, position + RECORD_HEADER);
+            body.flip();
+            if (checksum(body) != crc) {
+                break;
+            }
+            UUID uuid = new UUID(body.getLong(), body.getLong());
+            byte op = body.get();
+            apply(uuid, op == OP_PUT ? new Slot(position, RECORD_HEADER + length) : null);
+            position += RECORD_HEADER + length;
+        }
+
+        if (position < size) {
+            logger.warning("Truncating " + (size - position) + " bytes of incomplete records in " + logPath.getFileName());
+            channel.truncate(position);
+            channel.force(true);
+            size = position;
+        }
+    }
+
+    private void apply(UUID playerUUID, Slot slot) {
+        Slot previous = slot != null ? slots.put(playerUUID, slot) : slots.remove(playerUUID);
+        if (previous != null) {
+            liveBytes -= previous.length();
+        }
+        if (slot != null) {
+            liveBytes += slot.length();
+        }
+    }
+
+    private ByteBuffer indexHeader(long covered, int count) {
+        return ByteBuffer.allocate(INDEX_HEADER)
+                .putInt(INDEX_MAGIC).putInt(FORMAT).putLong(generation).putLong(covered).putInt(count)
+                .flip();
+    }
+
+    private static void writeHeader(FileChannel out, long generation) throws IOException {
+        writeFully(out, ByteBuffer.allocate(LOG_HEADER).putInt(LOG_MAGIC).putInt(FORMAT).putLong(generation).flip(), 0);
+    }
+
+    /**
+     * 디렉터리 항목(파일 생성·이름 교체)을 디스크에 기록
+     * 디렉터리를 열 수 없는 플랫폼(Windows)에서는 건너뜀
+     */
+    static void syncDirectory(Path directory) throws IOException {
+        FileChannel dir;
+        try {
+            dir = FileChannel.open(directory, StandardOpenOption.READ);
+        } catch (IOException e) {
+            return;
+        }
+        try (dir) {
+            dir.force(true);
+        }
+    }
+
+    static int checksum(ByteBuffer body) {
+        CRC32C crc = new CRC32C();
+        crc.update(body.duplicate());
+        return (int) crc.getValue();
+    }
+
+    static void readFully(FileChannel in, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = in.read(buffer, position);
+            if (read < 0) {
+                throw new IOException("Unexpected end of file");
+            }
+            position += read;
+        }
+    }
+
+    static void writeFully(FileChannel out, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += out.write(buffer, position);
+        }
+    }
+
+    /**
+     * 기록 한 건의 위치 (헤더 포함 길이)
+     */
+    private record Slot(long offset, int length) {}
+
+    /**
+     * 덧붙일 기록, 삭제면 payload는 빈 배열
+     */
+    record Write(UUID playerUUID, byte op, byte[] payload) {
+        static Write put(UUID playerUUID, byte[] payload) {
+            return new Write(playerUUID, OP_PUT, payload);
+        }
+
+        static Write delete(UUID playerUUID) {
+            return new Write(playerUUID, OP_DELETE, new byte[0]);
+        }
+    }
+}
@@ -5,6 +5,8 @@ import com.zaxxer.hikari.HikariDataSource;
 import org.gi.Result;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Collectors;
 import java.util.logging.Logger;
 
 public class MySQLStorage extends AbstractStorage{
@@ -12,7 +14,21 @@ public class MySQLStorage extends AbstractStorage{
     private HikariDataSource dataSource = null;
 
     public MySQLStorage(Logger logger, MySQLSetting setting) {
-        super(logger,setting.getMaximumPoolSize());
+        this(logger, setting, false);
+    }
+
+    /**
+     * @param blobFormat true면 플레이어당 바이너리 한 행 (MYSQL_BLOB)
+     */
+    public MySQLStorage(Logger logger, MySQLSetting setting, boolean blobFormat) {
+        this(logger, setting, blobFormat, StorageExecutorMode.PLATFORM);
+    }
+
+    /**
+     * @param executorMode VIRTUAL이면 가상 스레드로 실행, 동시 실행 수는 커넥션 풀 크기
+     */
+    public MySQLStorage(Logger logger, MySQLSetting setting, boolean blobFormat, StorageExecutorMode executorMode) {
+        super(logger,setting.getMaximumPoolSize(), blobFormat, executorMode);
         this.setting = setting;
     }
 
@@ -35,7 +51,16 @@ public class MySQLStorage extends AbstractStorage{
         config.setMaxLifetime(setting.getMaxLifetime());
         config.setConnectionTimeout(setting.getConnectionTimeout());
         config.setPoolName("GI-Engine-Pool");
-
+        config.addDataSourceProperty("rewriteBatchedStatements", "true"); // 배치를 다중 행 문장으로 전송
+        // 커넥션별 PreparedStatement 캐시, 서버에서 한 번 파싱한 문장을 재사용
+        config.addDataSourceProperty("cachePrepStmts", "true");
+        config.addDataSourceProperty("useServerPrepStmts", "true");
+        config.addDataSourceProperty("prepStmtCacheSize", "250");
+        config.addDataSourceProperty("prepStmtCacheSqlLimit", "8192"); // 다중 행 upsert 문장까지 캐시
+
+        if (dataSource != null) {
+            dataSource.close(); // 초기화를 다시 시도하는 경우 이전 풀 정리
+        }
         try {
             dataSource = new HikariDataSource(config);
         } catch (Exception e) {
@@ -51,37 +76,27 @@ public class MySQLStorage extends AbstractStorage{
         return getConnection();
     }
 
-    private void createTables() throws SQLException {
-        try (Connection conn = getConnection();
-             var stmt = conn.createStatement()) {
-            stmt.execute(getCreateStatsTableSQL());
-            stmt.execute(getCreateModifiersTableSQL());
-        }
-    }
-
     @Override
     protected String getCreateStatsTableSQL() {
         return """
-            CREATE TABLE IF NOT EXISTS player_stats (
-                player_uuid VARCHAR(36) NOT NULL,
-                stat_id VARCHAR(64) NOT NULL,
+            CREATE TABLE IF NOT EXISTS player_stats_v2 (
+                player_uuid BINARY(16) NOT NULL,
+                stat_key SMALLINT NOT NULL,
                 base_value DOUBLE NOT NULL,
                 updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-                PRIMARY KEY (player_uuid, stat_id),
-                INDEX idx_player (player_uuid)
-            ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4
+                PRIMARY KEY (player_uuid, stat_key)
+            ) ENGINE=InnoDB
             """;
     }
 
     @Override
     protected String getCreateModifiersTableSQL() {
         return """
-            CREATE TABLE IF NOT EXISTS player_modifiers (
-                player_uuid VARCHAR(36) NOT NULL,
-                modifier_uuid VARCHAR(36) NOT NULL,
-                stat_id VARCHAR(64) NOT NULL,
-                source VARCHAR(128) NOT NULL,
-                display_name VARCHAR(128),
+            CREATE TABLE IF NOT EXISTS player_modifiers_v2 (
+                player_uuid BINARY(16) NOT NULL,
+                modifier_uuid BINARY(16) NOT NULL,
+                stat_key SMALLINT NOT NULL,
+                source_key INT NOT NULL,
                 type VARCHAR(16) NOT NULL,
                 value DOUBLE NOT NULL,
                 priority INT DEFAULT 0,
@@ -89,12 +104,70 @@ public class MySQLStorage extends AbstractStorage{
                 max_stacks INT DEFAULT -1,
                 created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
                 PRIMARY KEY (player_uuid, modifier_uuid),
-                INDEX idx_player (player_uuid),
-                INDEX idx_stat (stat_id)
+                INDEX idx_stat (stat_key)
             ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4
             """;
     }
 
+    @Override
+    protected String getCreateStatDictionaryTableSQL() {
+        return """
+            CREATE TABLE IF NOT EXISTS stat_dictionary (
+                stat_key SMALLINT NOT NULL AUTO_INCREMENT,
+                stat_id VARCHAR(64) NOT NULL,
+                PRIMARY KEY (stat_key),
+                UNIQUE KEY uk_stat_id (stat_id)
+            ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_bin
+            """;
+    }
+
+    @Override
+    protected String getCreateSourceDictionaryTableSQL() {
+        return """
+            CREATE TABLE IF NOT EXISTS source_dictionary (
+                source_key INT NOT NULL AUTO_INCREMENT,
+                source VARCHAR(128) NOT NULL,
+                PRIMARY KEY (source_key),
+                UNIQUE KEY uk_source (source)
+            ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_bin
+            """;
+    }
+
+    @Override
+    protected String getCreateMetaTableSQL() {
+        return """
+            CREATE TABLE IF NOT EXISTS storage_meta (
+                meta_key VARCHAR(64) NOT NULL,
+                meta_value VARCHAR(255),
+                PRIMARY KEY (meta_key)
+            ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4
+            """;
+    }
+
+    @Override
+    protected String getCreateBlobTableSQL() {
+        return """
+            CREATE TABLE IF NOT EXISTS player_blobs (
+                player_uuid BINARY(16) NOT NULL,
+                data MEDIUMBLOB NOT NULL,
+                updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+                PRIMARY KEY (player_uuid)
+            ) ENGINE=InnoDB
+            """;
+    }
+
+    @Override
+    protected String getUpsertClause(List<String> keyColumns, List<String> updateColumns) {
+        if (updateColumns.isEmpty()) {
+            String key = keyColumns.getFirst();
+            return " ON DUPLICATE KEY UPDATE " + key + " = " + key; // 기존 행 유지
+        }
+        // 행 별칭으로 새 값 참조 (VALUES(col)은 8.0.20부터 deprecated, 별칭은 8.0.19+)
+        return " AS new ON DUPLICATE KEY UPDATE " + updateColumns.stream()
+                .map(column -> column + " = new." + column)
+                .collect(Collectors.joining(", "));
+    }
+
     @Override
     public void shutdown() {
         super.shutdown();
@@ -116,7 +189,7 @@ public class MySQLStorage extends AbstractStorage{
 
     @Override
     public StorageType getType() {
-        return StorageType.MYSQL;
+        return isBlobFormat() ? StorageType.MYSQL_BLOB : StorageType.MYSQL;
     }
 
     public String getPoolStatus() {
@@ -0,0 +1,91 @@
+package org.gi.storage;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * 플레이어당 한 행(PlayerDataCodec 바이너리)으로 저장하는 방식
+ *
+ * 로드·전체 저장은 기본 키 조회/기록 한 번, 변경분 저장은 같은 트랜잭션에서 읽고 적용 후 다시 기록
+ */
+final class PlayerBlobStore {
+    static final String TABLE = "player_blobs";
+
+    private static final List<String> COLUMNS = List.of("player_uuid", "data");
+    private static final List<String> KEYS = List.of("player_uuid");
+
+    private final AbstractStorage storage;
+
+    PlayerBlobStore(AbstractStorage storage) {
+        this.storage = storage;
+    }
+
+    void save(Connection conn, PlayerStatData data) throws SQLException {
+        write(conn, List.of(permanentOnly(data)));
+    }
+
+    void saveDeltas(Connection conn, Collection<PlayerStatDelta> deltas) throws SQLException {
+        storage.inTransaction(conn, c -> {
+            Map<UUID, PlayerStatData> current = read(c, deltas.stream().map(PlayerStatDelta::getPlayerUUID).distinct().toList());
+
+            for (PlayerStatDelta delta : deltas) {
+                PlayerStatData base = current.getOrDefault(delta.getPlayerUUID(),
+                        new PlayerStatData(delta.getPlayerUUID(), Map.of(), List.of()));
+                current.put(delta.getPlayerUUID(), permanentOnly(base.applied(delta)));
+            }
+            write(c, current.values());
+            return null;
+        });
+    }
+
+    Map<UUID, PlayerStatData> read(Connection conn, List<UUID> uuids) throws SQLException {
+        Map<UUID, PlayerStatData> loaded = new HashMap<>();
+        List<byte[]> keys = uuids.stream().map(AbstractStorage::toBytes).toList();
+
+        storage.selectByPlayers(conn, "SELECT player_uuid, data FROM " + TABLE, keys, rs -> {
+            UUID uuid = AbstractStorage.fromBytes(rs.getBytes("player_uuid"));
+            try {
+                loaded.put(uuid, PlayerDataCodec.decode(uuid, rs.getBytes("data")));
+            } catch (IllegalArgumentException e) {
+                throw new SQLException("Corrupted player data for " + uuid + ": " + e.getMessage(), e);
+            }
+        });
+        return loaded;
+    }
+
+    void delete(Connection conn, UUID playerUUID) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM " + TABLE + " WHERE player_uuid = ?")) {
+            stmt.setBytes(1, AbstractStorage.toBytes(playerUUID));
+            stmt.executeUpdate();
+        }
+    }
+
+    boolean exists(Connection conn, UUID playerUUID) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT 1 FROM " + TABLE + " WHERE player_uuid = ?")) {
+            stmt.setBytes(1, AbstractStorage.toBytes(playerUUID));
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private void write(Connection conn, Collection<PlayerStatData> players) throws SQLException {
+        storage.upsert(conn, TABLE, COLUMNS, KEYS, true, new ArrayList<>(players), (stmt, index, data) -> {
+            stmt.setBytes(index, AbstractStorage.toBytes(data.getPlayerUUID()));
+            stmt.setBytes(index + 1, PlayerDataCodec.encode(data));
+            return index + 2;
+        });
+    }
+
+    static PlayerStatData permanentOnly(PlayerStatData data) {
+        if (data.getPermanentModifiers() == null) {
+            return data;
+        }
+        return new PlayerStatData(data.getPlayerUUID(), data.getBaseValues(), data.getPermanentModifiers().stream()
+                .filter(modifier -> modifier.getSource().startsWith(AbstractStorage.PERMANENT_PREFIX))
+                .toList());
+    }
+}
@@ -0,0 +1,310 @@
+package org.gi.storage;
+
+import org.gi.builder.StatModifierBuilder;
+import org.gi.stat.IStatModifier;
+import org.gi.stat.enums.ModifierType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * 플레이어 데이터 <-> 바이너리 (플레이어당 한 덩어리로 저장)
+ *
+ * [포맷 버전][기본값 수][(스탯 ID, 값)...][수정자 수][(수정자)...]
+ * 개수·정수는 varint, 정수로 떨어지는 실수도 varint로 줄여 기록.
+ * 스탯은 ID 문자열로 저장하므로 stat.yml에 스탯이 추가·제거되어도 그대로 읽힘
+ * (없는 스탯은 기본값, 사라진 스탯은 로드 시 무시)
+ */
+public final class PlayerDataCodec {
+    public static final int FORMAT_VERSION = 1;
+
+    private static final int NUMBER_INTEGER = 0;
+    private static final int NUMBER_DOUBLE = 1;
+    private static final int FLAG_STACKABLE = 1;
+    private static final ModifierType[] TYPES = ModifierType.values(); // 순번으로 기록, 순서가 바뀌면 FORMAT_VERSION 올릴 것
+
+    private PlayerDataCodec() {}
+
+    public static byte[] encode(PlayerStatData data) {
+        Collection<IStatModifier> modifiers = data.getPermanentModifiers() != null ? data.getPermanentModifiers() : List.of();
+        Writer out = new Writer(16 + data.getBaseValues().size() * 16 + modifiers.size() * 64);
+
+        out.varint(FORMAT_VERSION);
+        writeBaseValues(out, data.getBaseValues());
+        writeModifiers(out, modifiers);
+        return out.toByteArray();
+    }
+
+    /**
+     * 변경분 -> 바이너리 (journal 기록용)
+     * [포맷 버전][바뀐 기본값][추가·교체된 수정자][제거된 수정자 ID]
+     */
+    public static byte[] encodeDelta(PlayerStatDelta delta) {
+        Writer out = new Writer(16 + delta.getBaseValues().size() * 16
+                + delta.getUpsertedModifiers().size() * 64 + delta.getRemovedModifiers().size() * 16);
+
+        out.varint(FORMAT_VERSION);
+        writeBaseValues(out, delta.getBaseValues());
+        writeModifiers(out, delta.getUpsertedModifiers());
+        out.varint(delta.getRemovedModifiers().size());
+        for (UUID modifierId : delta.getRemovedModifiers()) {
+            out.uuid(modifierId);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @throws IllegalArgumentException 알 수 없는 포맷 버전 또는 손상된 데이터
+     */
+    public static PlayerStatData decode(UUID playerUUID, byte[] bytes) {
+        Reader in = new Reader(bytes);
+        try {
+            readVersion(in, playerUUID);
+            Map<String, Double> baseValues = readBaseValues(in);
+            List<IStatModifier> modifiers = readModifiers(in);
+            in.requireEnd();
+            return new PlayerStatData(playerUUID, baseValues, modifiers);
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated player data for " + playerUUID, e);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException 알 수 없는 포맷 버전 또는 손상된 데이터
+     */
+    public static PlayerStatDelta decodeDelta(UUID playerUUID, byte[] bytes) {
+        Reader in = new Reader(bytes);
+        try {
+            readVersion(in, playerUUID);
+            Map<String, Double> baseValues = readBaseValues(in);
+            List<IStatModifier> upserted = readModifiers(in);
+            int removedCount = in.count();
+            List<UUID> removed = new ArrayList<>(removedCount);
+            for (int i = 0; i < removedCount; i++) {
+                removed.add(in.uuid());
+            }
+            in.requireEnd();
+            return new PlayerStatDelta(playerUUID, baseValues, upserted, removed);
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated player delta for " + playerUUID, e);
+        }
+    }
+
+    private static void writeBaseValues(Writer out, Map<String, Double> baseValues) {
+        out.varint(baseValues.size());
+        for (Map.Entry<String, Double> entry : baseValues.entrySet()) {
+            out.string(entry.getKey());
+            out.number(entry.getValue());
+        }
+    }
+
+    private static void writeModifiers(Writer out, Collection<IStatModifier> modifiers) {
+        out.varint(modifiers.size());
+        for (IStatModifier modifier : modifiers) {
+            out.uuid(modifier.getID());
+            out.string(modifier.getStatID());
+            out.string(modifier.getSource());
+            out.varint(modifier.getType().ordinal());
+            out.number(modifier.getValue());
+            out.zigzag(modifier.getPriority());
+            out.varint(modifier.isStackable() ? FLAG_STACKABLE : 0);
+            out.zigzag(modifier.getStackCount());
+        }
+    }
+
+    private static void readVersion(Reader in, UUID playerUUID) {
+        int version = (int) in.varint();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported player data format " + version + " for " + playerUUID);
+        }
+    }
+
+    private static Map<String, Double> readBaseValues(Reader in) {
+        int statCount = in.count();
+        Map<String, Double> baseValues = new HashMap<>(statCount * 2);
+        for (int i = 0; i < statCount; i++) {
+            baseValues.put(in.string(), in.number());
+        }
+        return baseValues;
+    }
+
+    private static List<IStatModifier> readModifiers(Reader in) {
+        int modifierCount = in.count();
+        List<IStatModifier> modifiers = new ArrayList<>(modifierCount);
+        for (int i = 0; i < modifierCount; i++) {
+            UUID id = in.uuid();
+            String statId = in.string();
+            String source = in.string();
+            int type = (int) in.varint();
+            if (type >= TYPES.length) {
+                throw new IllegalArgumentException("Unknown modifier type " + type);
+            }
+            modifiers.add(StatModifierBuilder.create()
+                    .uniqueId(id)
+                    .statId(statId)
+                    .source(source)
+                    .displayName(source)
+                    .type(TYPES[type])
+                    .value(in.number())
+                    .priority((int) in.zigzag())
+                    .stackable((in.varint() & FLAG_STACKABLE) != 0)
+                    .maxStacks((int) in.zigzag())
+                    .permanent()
+                    .build());
+        }
+        return modifiers;
+    }
+
+    private static final class Writer {
+        private byte[] buffer;
+        private int size;
+
+        private Writer(int capacity) {
+            this.buffer = new byte[Math.max(16, capacity)];
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+
+        private void write(int b) {
+            ensure(1);
+            buffer[size++] = (byte) b;
+        }
+
+        private void varint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        private void zigzag(long value) {
+            varint((value << 1) ^ (value >> 63));
+        }
+
+        private void fixed64(long value) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        /**
+         * 정수로 떨어지는 값은 varint, 아니면 8바이트 그대로 (-0.0, NaN 포함)
+         */
+        private void number(double value) {
+            long integer = (long) value;
+            if (integer == value && Math.abs(integer) < (1L << 53)
+                    && Double.doubleToRawLongBits(value) != Double.doubleToRawLongBits(-0.0)) {
+                write(NUMBER_INTEGER);
+                zigzag(integer);
+            } else {
+                write(NUMBER_DOUBLE);
+                fixed64(Double.doubleToRawLongBits(value));
+            }
+        }
+
+        private void string(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            varint(bytes.length);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        private void uuid(UUID value) {
+            fixed64(value.getMostSignificantBits());
+            fixed64(value.getLeastSignificantBits());
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buffer;
+        private int position;
+
+        private Reader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        private int read() {
+            if (position >= buffer.length) {
+                throw new IndexOutOfBoundsException(position);
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        private long varint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = read();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint at " + position);
+        }
+
+        private long zigzag() {
+            long value = varint();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        /**
+         * 개수 값, 남은 바이트보다 크면 손상된 데이터
+         */
+        private int count() {
+            long value = varint();
+            if (value < 0 || value > remaining()) {
+                throw new IllegalArgumentException("Invalid count " + value + " at " + position);
+            }
+            return (int) value;
+        }
+
+        private long fixed64() {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | read();
+            }
+            return value;
+        }
+
+        private double number() {
+            int tag = read();
+            return switch (tag) {
+                case NUMBER_INTEGER -> zigzag();
+                case NUMBER_DOUBLE -> Double.longBitsToDouble(fixed64());
+                default -> throw new IllegalArgumentException("Unknown number tag " + tag + " at " + position);
+            };
+        }
+
+        private String string() {
+            int length = count();
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private UUID uuid() {
+            return new UUID(fixed64(), fixed64());
+        }
+
+        private int remaining() {
+            return buffer.length - position;
+        }
+
+        private void requireEnd() {
+            if (remaining() != 0) {
+                throw new IllegalArgumentException(remaining() + " trailing bytes");
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.gi.storage;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 접속 전(사전 로그인 단계)에 시작한 저장소 조회를 접속 시점까지 보관
+ *
+ * 결과는 플레이어별로 한 번만 꺼내 쓰고, TTL이 지나면 버림 (접속하지 않은 경우).
+ * 꺼내기 전에 같은 플레이어의 저장이 일어나면 invalidate()로 버려야 오래된 데이터를 쓰지 않음
+ */
+public class PlayerDataPrefetcher {
+    public static final long DEFAULT_TTL_MILLIS = 10_000;
+
+    private final IPlayerDataStorage storage;
+    private final long ttlNanos;
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder prefetched = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder invalidated = new LongAdder();
+
+    /**
+     * @param ttlMillis 결과 보관 시간, 0 이하면 기본값
+     */
+    public PlayerDataPrefetcher(IPlayerDataStorage storage, long ttlMillis) {
+        this.storage = storage;
+        this.ttlNanos = (ttlMillis > 0 ? ttlMillis : DEFAULT_TTL_MILLIS) * 1_000_000L;
+    }
+
+    /**
+     * 저장소 조회를 시작해 보관 (블로킹 없음), 저장소가 연결되지 않았으면 무시
+     */
+    public void prefetch(UUID playerUUID) {
+        if (storage == null || !storage.isConnected()) {
+            return;
+        }
+        long now = System.nanoTime();
+        evictExpired(now);
+
+        entries.compute(playerUUID, (uuid, existing) -> {
+            if (existing != null && !existing.isExpired(now)) {
+                return existing; // 같은 플레이어가 연달아 사전 로그인
+            }
+            prefetched.increment();
+            return new Entry(storage.load(uuid, StoragePriority.LOAD), now + ttlNanos);
+        });
+    }
+
+    /**
+     * 보관 중인 조회 결과를 꺼냄 (완료 전일 수 있음), 없거나 만료됐으면 empty
+     */
+    public Optional<CompletableFuture<Optional<PlayerStatData>>> take(UUID playerUUID) {
+        Entry entry = entries.remove(playerUUID);
+        if (entry == null || entry.isExpired(System.nanoTime())) {
+            if (entry != null) {
+                expired.increment();
+            }
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(entry.data());
+    }
+
+    /**
+     * 보관 중인 결과를 버림 (퇴장 저장 등으로 저장소 내용이 바뀌는 경우)
+     */
+    public void invalidate(UUID playerUUID) {
+        if (entries.remove(playerUUID) != null) {
+            invalidated.increment();
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public PrefetchMetrics getMetrics() {
+        return new PrefetchMetrics(prefetched.sum(), hits.sum(), misses.sum(),
+                expired.sum(), invalidated.sum(), entries.size());
+    }
+
+    private void evictExpired(long now) {
+        entries.values().removeIf(entry -> {
+            if (entry.isExpired(now)) {
+                expired.increment();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private record Entry(CompletableFuture<Optional<PlayerStatData>> data, long expiresAt) {
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
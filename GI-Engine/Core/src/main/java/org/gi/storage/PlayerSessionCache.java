@@ -0,0 +1,148 @@
+package org.gi.storage;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 최근 퇴장한 플레이어 상태를 잠시 보관해 재접속 때 저장소 조회 없이 쓰게 하는 캐시
+ *
+ * 상태는 PlayerDataCodec으로 인코딩해 보관하고 그 크기로 메모리를 계산.
+ * TTL이 지나거나 플레이어 수·메모리 상한을 넘으면 가장 오래전에 퇴장한 플레이어부터 버림 (LRU).
+ * 꺼내면 캐시에서 빠지고, 다음 퇴장 때 다시 보관
+ */
+public class PlayerSessionCache {
+    private static final int ENTRY_OVERHEAD = 96; // 키·엔트리·배열 헤더 대략값
+
+    private final long ttlNanos;
+    private final int maxPlayers;
+    private final long maxBytes;
+    private final LinkedHashMap<UUID, Entry> entries = new LinkedHashMap<>(); // 보관 순서 = 퇴장 순서
+    private long bytes;
+
+    private long stored;
+    private long hits;
+    private long misses;
+    private long expired;
+    private long evicted;
+    private long invalidated;
+
+    public PlayerSessionCache(SessionCacheSetting setting) {
+        this(setting.getTtlMillis(), setting.getMaxPlayers(), setting.getMaxMemoryKb() * 1024);
+    }
+
+    private PlayerSessionCache(long ttlMillis, int maxPlayers, long maxBytes) {
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.maxPlayers = maxPlayers;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * 아무것도 보관하지 않는 캐시 (설정에서 끈 경우)
+     */
+    public static PlayerSessionCache disabled() {
+        return new PlayerSessionCache(0, 0, 0);
+    }
+
+    /**
+     * 퇴장 시점 상태 보관, 같은 플레이어의 이전 상태는 교체
+     */
+    public void put(PlayerStatData data) {
+        if (maxPlayers == 0) {
+            return;
+        }
+        byte[] encoded = PlayerDataCodec.encode(data);
+        synchronized (this) {
+            remove(data.getPlayerUUID());
+            entries.put(data.getPlayerUUID(), new Entry(encoded, System.nanoTime() + ttlNanos));
+            bytes += sizeOf(encoded);
+            stored++;
+            evict(System.nanoTime());
+        }
+    }
+
+    /**
+     * 보관된 상태를 꺼냄, 없거나 만료됐으면 empty
+     */
+    public Optional<PlayerStatData> take(UUID playerUUID) {
+        Entry entry;
+        synchronized (this) {
+            entry = remove(playerUUID);
+            if (entry == null || entry.isExpired(System.nanoTime())) {
+                if (entry != null) {
+                    expired++;
+                }
+                misses++;
+                return Optional.empty();
+            }
+            hits++;
+        }
+        return Optional.of(PlayerDataCodec.decode(playerUUID, entry.data()));
+    }
+
+    /**
+     * 만료되지 않은 상태를 보관 중이면 true
+     */
+    public synchronized boolean contains(UUID playerUUID) {
+        Entry entry = entries.get(playerUUID);
+        return entry != null && !entry.isExpired(System.nanoTime());
+    }
+
+    /**
+     * 보관된 상태를 버림 (저장에 실패해 저장소와 어긋난 경우 등)
+     */
+    public synchronized void invalidate(UUID playerUUID) {
+        if (remove(playerUUID) != null) {
+            invalidated++;
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    public synchronized SessionCacheMetrics getMetrics() {
+        return new SessionCacheMetrics(stored, hits, misses, expired, evicted, invalidated, entries.size(), bytes);
+    }
+
+    private Entry remove(UUID playerUUID) {
+        Entry entry = entries.remove(playerUUID);
+        if (entry != null) {
+            bytes -= sizeOf(entry.data());
+        }
+        return entry;
+    }
+
+    /**
+     * 오래된 것부터 만료된 상태를 버리고, 상한을 넘으면 만료 전이라도 버림
+     */
+    private void evict(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry eldest = iterator.next();
+            boolean isExpired = eldest.isExpired(now);
+            if (!isExpired && entries.size() <= maxPlayers && bytes <= maxBytes) {
+                break;
+            }
+            iterator.remove();
+            bytes -= sizeOf(eldest.data());
+            if (isExpired) {
+                expired++;
+            } else {
+                evicted++;
+            }
+        }
+    }
+
+    private static long sizeOf(byte[] data) {
+        return data.length + ENTRY_OVERHEAD;
+    }
+
+    private record Entry(byte[] data, long expiresAt) {
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package org.gi.storage;
+
+/**
+ * 접속 전 미리 읽기 지표 스냅샷
+ *
+ * @param prefetched 시작한 미리 읽기 수
+ * @param hits 접속 시 미리 읽은 결과를 쓴 횟수
+ * @param misses 접속 시 미리 읽은 결과가 없어 저장소를 조회한 횟수 (만료 포함)
+ * @param expired TTL이 지나 버린 결과 수
+ * @param invalidated 접속 전에 퇴장·저장이 일어나 버린 결과 수
+ * @param cached 현재 보관 중인 결과 수
+ */
+public record PrefetchMetrics(long prefetched, long hits, long misses, long expired, long invalidated, int cached) {
+
+    /**
+     * 접속 중 미리 읽은 결과를 쓴 비율 (접속이 없으면 0)
+     */
+    public double hitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : hits / (double) total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hit rate=%.1f%% (hits=%d, misses=%d), prefetched=%d, expired=%d, invalidated=%d, cached=%d",
+                hitRate() * 100, hits, misses, prefetched, expired, invalidated, cached);
+    }
+}
@@ -7,19 +7,64 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.concurrent.Executors;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import java.util.logging.Logger;
 
+/**
+ * SQLite 저장소
+ *
+ * 저장은 전용 스레드(scheduler, 1개) 하나가 유지하는 커넥션으로만 기록하고,
+ * 로드는 읽기 스레드 수만큼의 읽기 전용 커넥션을 번갈아 빌려 WAL 스냅샷으로 동시에 읽음.
+ * 커넥션은 닫지 않고 유지하며 PreparedStatement는 커넥션별로 캐시
+ */
 public class SQLiteStorage extends AbstractStorage {
+    public static final int DEFAULT_READ_CONNECTIONS = 2;
+    private static final int STATEMENT_CACHE_SIZE = 64;
+    private static final int BUSY_TIMEOUT_MILLIS = 5000;
+
     private final File dataFolder;
     private final String fileName;
-    private Connection connection;  // SQLite는 단일 커넥션 유지
+    private final StorageScheduler readScheduler;
+    private final Queue<StatementCache> idleReadConnections = new ConcurrentLinkedQueue<>(); // 반납된 읽기 커넥션
+    private final List<StatementCache> readConnections = new CopyOnWriteArrayList<>();
+    private StatementCache connection;  // 쓰기 커넥션, 저장 스레드에서만 사용
+    private final StatementCache.Counters statementCounters = new StatementCache.Counters();
     private final Object connectionLock = new Object();
 
     public SQLiteStorage(Logger logger, File dataFolder, String fileName) {
-        super(logger,1);
+        this(logger, dataFolder, fileName, false);
+    }
+
+    /**
+     * @param blobFormat true면 플레이어당 바이너리 한 행 (SQLITE_BLOB)
+     */
+    public SQLiteStorage(Logger logger, File dataFolder, String fileName, boolean blobFormat) {
+        this(logger, dataFolder, fileName, blobFormat, DEFAULT_READ_CONNECTIONS);
+    }
+
+    /**
+     * @param readConnections 동시에 로드할 읽기 전용 커넥션 수
+     */
+    public SQLiteStorage(Logger logger, File dataFolder, String fileName, boolean blobFormat, int readConnections) {
+        this(logger, dataFolder, fileName, blobFormat, readConnections, StorageExecutorMode.PLATFORM);
+    }
+
+    /**
+     * @param executorMode VIRTUAL이면 가상 스레드로 실행 (저장은 여전히 하나씩, 로드는 읽기 커넥션 수만큼 동시에)
+     */
+    public SQLiteStorage(Logger logger, File dataFolder, String fileName, boolean blobFormat, int readConnections,
+                         StorageExecutorMode executorMode) {
+        super(logger,1, blobFormat, executorMode);
         this.dataFolder = dataFolder;
         this.fileName = fileName;
+        this.readScheduler = new StorageScheduler("GI-Engine-SQLite-Read",
+                readConnections > 0 ? readConnections : DEFAULT_READ_CONNECTIONS, executorMode);
     }
 
     public SQLiteStorage(Logger logger, File dataFolder) {
@@ -37,14 +82,8 @@ public class SQLiteStorage extends AbstractStorage {
             // 드라이버 로드
             Class.forName("org.sqlite.JDBC");
 
-            // 커넥션 생성
-            connection = createConnection();
-
-            // 테이블 생성
-            createTables();
-
-            logger.info("SQLiteStorage initialized: " + fileName);
-            return Result.SUCCESS;
+            // 쓰기 커넥션 생성
+            connection = new StatementCache(createConnection(), STATEMENT_CACHE_SIZE, statementCounters);
         } catch (ClassNotFoundException e) {
             logger.severe("SQLite JDBC driver not found: " + e.getMessage());
             return Result.Error("SQLite driver not found");
@@ -52,56 +91,124 @@ public class SQLiteStorage extends AbstractStorage {
             logger.severe("Failed to initialize SQLiteStorage: " + e.getMessage());
             return Result.Exception(e);
         }
+
+        // 테이블 생성, 사전 로드, v1 이전 확인
+        Result result = super.initialize();
+        if (result.isSuccess()) {
+            logger.info("SQLiteStorage initialized: " + fileName);
+        }
+        return result;
     }
 
     @Override
     protected Connection createConnection() throws SQLException {
-        File dbFile = new File(dataFolder, fileName);
-        String url = "jdbc:sqlite:" + dbFile.getAbsolutePath();
-
-        Connection conn = DriverManager.getConnection(url);
+        Connection conn = openConnection();
 
         // SQLite 성능 최적화
         try (Statement stmt = conn.createStatement()) {
-            stmt.execute("PRAGMA journal_mode=WAL");      // Write-Ahead Logging
+            stmt.execute("PRAGMA journal_mode=WAL");      // Write-Ahead Logging, 쓰는 동안에도 읽기 가능
             stmt.execute("PRAGMA synchronous=NORMAL");    // 동기화 수준
-            stmt.execute("PRAGMA cache_size=10000");      // 캐시 크기
-            stmt.execute("PRAGMA temp_store=MEMORY");     // 임시 저장소
         }
 
         return conn;
     }
 
-    private void createTables() throws SQLException {
-        try (Statement stmt = connection.createStatement()) {
-            stmt.execute(getCreateStatsTableSQL());
-            stmt.execute(getCreateModifiersTableSQL());
+    /**
+     * 읽기 전용 커넥션 (WAL이라 쓰기 커넥션과 동시에 읽음)
+     */
+    private Connection createReadConnection() throws SQLException {
+        Connection conn = openConnection();
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA query_only=ON");
+        }
+        return conn;
+    }
+
+    private Connection openConnection() throws SQLException {
+        File dbFile = new File(dataFolder, fileName);
+        String url = "jdbc:sqlite:" + dbFile.getAbsolutePath();
+
+        Connection conn = DriverManager.getConnection(url);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA busy_timeout=" + BUSY_TIMEOUT_MILLIS); // 체크포인트 등으로 잠겨 있으면 대기
+            stmt.execute("PRAGMA cache_size=10000");      // 캐시 크기
+            stmt.execute("PRAGMA temp_store=MEMORY");     // 임시 저장소
         }
+        return conn;
     }
 
     /**
-     * SQLite는 단일 커넥션 반환
+     * 쓰기 커넥션 반환 (close()해도 닫히지 않음)
      * 커넥션이 닫혔으면 재생성
      */
     @Override
     public Connection getConnection() throws SQLException {
         synchronized (connectionLock) {
-            if (connection == null || connection.isClosed()) {
-                connection = createConnection();
+            if (connection == null || connection.raw().isClosed()) {
+                connection = new StatementCache(createConnection(), STATEMENT_CACHE_SIZE, statementCounters);
                 logger.info("SQLite connection recreated");
             }
-            return connection;
+            return connection.connection();
+        }
+    }
+
+    /**
+     * 쉬고 있는 읽기 전용 커넥션을 빌려줌, close()하면 닫지 않고 반납
+     * 읽기 작업은 동시에 읽기 스레드 수만큼만 실행되므로 커넥션도 그 수를 넘지 않음
+     */
+    @Override
+    protected Connection getReadConnection() throws SQLException {
+        StatementCache cache;
+        while ((cache = idleReadConnections.poll()) != null) {
+            if (!cache.raw().isClosed()) {
+                return cache.lease();
+            }
+            readConnections.remove(cache);
+        }
+        cache = new StatementCache(createReadConnection(), STATEMENT_CACHE_SIZE, statementCounters,
+                idleReadConnections::offer);
+        readConnections.add(cache);
+        return cache.lease();
+    }
+
+    @Override
+    protected StorageScheduler getReadScheduler() {
+        return readScheduler;
+    }
+
+    @Override
+    public Optional<StatementCacheMetrics> getStatementCacheMetrics() {
+        int cached = readConnections.stream().mapToInt(StatementCache::size).sum();
+        synchronized (connectionLock) {
+            if (connection != null) {
+                cached += connection.size();
+            }
         }
+        return Optional.of(statementCounters.snapshot(cached));
     }
 
     @Override
     public void shutdown() {
-        // executor 종료
+        // 스케줄러 종료
         super.shutdown();
+        readScheduler.shutdown();
+        try {
+            if (!readScheduler.awaitTermination(5, TimeUnit.SECONDS)) {
+                readScheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            readScheduler.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
 
         // 커넥션 종료
         try {
-            if (connection != null && !connection.isClosed()) {
+            for (StatementCache cache : readConnections) {
+                cache.close();
+            }
+            readConnections.clear();
+            idleReadConnections.clear();
+            if (connection != null && !connection.raw().isClosed()) {
                 connection.close();
                 logger.info("SQLite connection closed");
             }
@@ -113,7 +220,7 @@ public class SQLiteStorage extends AbstractStorage {
     @Override
     public boolean isConnected() {
         try {
-            return connection != null && !connection.isClosed();
+            return connection != null && !connection.raw().isClosed();
         } catch (SQLException e) {
             return false;
         }
@@ -122,25 +229,24 @@ public class SQLiteStorage extends AbstractStorage {
     @Override
     protected String getCreateStatsTableSQL() {
         return """
-            CREATE TABLE IF NOT EXISTS player_stats (
-                player_uuid TEXT NOT NULL,
-                stat_id TEXT NOT NULL,
+            CREATE TABLE IF NOT EXISTS player_stats_v2 (
+                player_uuid BLOB NOT NULL,
+                stat_key INTEGER NOT NULL,
                 base_value REAL NOT NULL,
                 updated_at TEXT DEFAULT CURRENT_TIMESTAMP,
-                PRIMARY KEY (player_uuid, stat_id)
-            )
+                PRIMARY KEY (player_uuid, stat_key)
+            ) WITHOUT ROWID
             """;
     }
 
     @Override
     protected String getCreateModifiersTableSQL() {
         return """
-            CREATE TABLE IF NOT EXISTS player_modifiers (
-                player_uuid TEXT NOT NULL,
-                modifier_uuid TEXT NOT NULL,
-                stat_id TEXT NOT NULL,
-                source TEXT NOT NULL,
-                display_name TEXT,
+            CREATE TABLE IF NOT EXISTS player_modifiers_v2 (
+                player_uuid BLOB NOT NULL,
+                modifier_uuid BLOB NOT NULL,
+                stat_key INTEGER NOT NULL,
+                source_key INTEGER NOT NULL,
                 type TEXT NOT NULL,
                 value REAL NOT NULL,
                 priority INTEGER DEFAULT 0,
@@ -148,13 +254,65 @@ public class SQLiteStorage extends AbstractStorage {
                 max_stacks INTEGER DEFAULT -1,
                 created_at TEXT DEFAULT CURRENT_TIMESTAMP,
                 PRIMARY KEY (player_uuid, modifier_uuid)
+            ) WITHOUT ROWID
+            """;
+    }
+
+    @Override
+    protected String getCreateStatDictionaryTableSQL() {
+        return """
+            CREATE TABLE IF NOT EXISTS stat_dictionary (
+                stat_key INTEGER PRIMARY KEY,
+                stat_id TEXT NOT NULL UNIQUE
             )
             """;
     }
 
+    @Override
+    protected String getCreateSourceDictionaryTableSQL() {
+        return """
+            CREATE TABLE IF NOT EXISTS source_dictionary (
+                source_key INTEGER PRIMARY KEY,
+                source TEXT NOT NULL UNIQUE
+            )
+            """;
+    }
+
+    @Override
+    protected String getCreateMetaTableSQL() {
+        return """
+            CREATE TABLE IF NOT EXISTS storage_meta (
+                meta_key TEXT PRIMARY KEY,
+                meta_value TEXT
+            )
+            """;
+    }
+
+    @Override
+    protected String getCreateBlobTableSQL() {
+        return """
+            CREATE TABLE IF NOT EXISTS player_blobs (
+                player_uuid BLOB PRIMARY KEY,
+                data BLOB NOT NULL,
+                updated_at TEXT DEFAULT CURRENT_TIMESTAMP
+            )
+            """;
+    }
+
+    @Override
+    protected String getUpsertClause(List<String> keyColumns, List<String> updateColumns) {
+        String conflict = " ON CONFLICT(" + String.join(", ", keyColumns) + ")";
+        if (updateColumns.isEmpty()) {
+            return conflict + " DO NOTHING"; // 기존 행 유지
+        }
+        return conflict + " DO UPDATE SET " + updateColumns.stream()
+                .map(column -> column + " = excluded." + column)
+                .collect(Collectors.joining(", "));
+    }
+
     @Override
     public StorageType getType() {
-        return StorageType.SQLITE;
+        return isBlobFormat() ? StorageType.SQLITE_BLOB : StorageType.SQLITE;
     }
 
     /**
@@ -0,0 +1,32 @@
+package org.gi.storage;
+
+/**
+ * 재접속용 세션 캐시 지표 스냅샷
+ *
+ * @param stored 퇴장 시 보관한 횟수
+ * @param hits 접속 시 보관된 상태를 쓴 횟수 (저장소 조회 없음)
+ * @param misses 접속 시 보관된 상태가 없던 횟수 (만료 포함)
+ * @param expired TTL이 지나 버린 상태 수
+ * @param evicted 플레이어 수·메모리 상한으로 버린 상태 수
+ * @param invalidated 저장 실패 등으로 버린 상태 수
+ * @param cached 현재 보관 중인 플레이어 수
+ * @param bytes 현재 보관에 쓰는 메모리 (추정치)
+ */
+public record SessionCacheMetrics(long stored, long hits, long misses, long expired, long evicted, long invalidated,
+                                  int cached, long bytes) {
+
+    /**
+     * 접속 중 보관된 상태를 쓴 비율 (접속이 없으면 0)
+     */
+    public double hitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : hits / (double) total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hit rate=%.1f%% (hits=%d, misses=%d), stored=%d, expired=%d, evicted=%d, invalidated=%d, "
+                        + "cached=%d (%.1fKB)",
+                hitRate() * 100, hits, misses, stored, expired, evicted, invalidated, cached, bytes / 1024.0);
+    }
+}
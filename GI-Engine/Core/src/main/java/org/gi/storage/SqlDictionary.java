@@ -0,0 +1,95 @@
+package org.gi.storage;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 반복되는 문자열(스탯 ID, 출처)을 정수 키로 바꾸는 사전 테이블
+ *
+ * 전체 매핑을 메모리에 캐시하며, 모르는 키를 만나면 (다른 서버가 추가한 경우) 다시 읽음
+ */
+final class SqlDictionary {
+    private final String table;
+    private final String keyColumn;
+    private final String valueColumn;
+    private final String insertSQL;
+    private final Map<String, Integer> keys = new ConcurrentHashMap<>();
+    private final Map<Integer, String> values = new ConcurrentHashMap<>();
+
+    /**
+     * @param ignoreClause 이미 있는 값이면 무시하는 DB별 절
+     */
+    SqlDictionary(String table, String keyColumn, String valueColumn, String ignoreClause) {
+        this.table = table;
+        this.keyColumn = keyColumn;
+        this.valueColumn = valueColumn;
+        this.insertSQL = "INSERT INTO " + table + " (" + valueColumn + ") VALUES (?)" + ignoreClause;
+    }
+
+    void load(Connection conn) throws SQLException {
+        String sql = "SELECT " + keyColumn + ", " + valueColumn + " FROM " + table;
+        try (PreparedStatement stmt = conn.prepareStatement(sql);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                int key = rs.getInt(1);
+                String value = rs.getString(2);
+                keys.put(value, key);
+                values.put(key, value);
+            }
+        }
+    }
+
+    /**
+     * 값 -> 키, 없는 값은 사전에 추가
+     * 자동 커밋 상태에서 호출해야 함 (롤백된 키가 캐시에 남지 않도록)
+     */
+    Map<String, Integer> keysFor(Connection conn, Collection<String> wanted) throws SQLException {
+        Map<String, Integer> result = new HashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        for (String value : wanted) {
+            Integer key = keys.get(value);
+            if (key != null) {
+                result.put(value, key);
+            } else {
+                missing.add(value);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement(insertSQL)) {
+            for (String value : missing) {
+                stmt.setString(1, value);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+        load(conn);
+
+        for (String value : missing) {
+            Integer key = keys.get(value);
+            if (key == null) {
+                throw new SQLException("Failed to register '" + value + "' in " + table);
+            }
+            result.put(value, key);
+        }
+        return result;
+    }
+
+    String valueOf(Connection conn, int key) throws SQLException {
+        String value = values.get(key);
+        if (value == null) {
+            load(conn);
+            value = values.get(key);
+            if (value == null) {
+                throw new SQLException("Unknown " + keyColumn + " " + key + " in " + table);
+            }
+        }
+        return value;
+    }
+}
@@ -0,0 +1,217 @@
+package org.gi.storage;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 오래 유지되는 커넥션 하나에 대한 PreparedStatement 캐시 (SQL 문자열 기준 LRU)
+ *
+ * connection()이 돌려주는 커넥션은 close()해도 닫히지 않고 (lease()로 빌려준 경우 반납만 함),
+ * 그 커넥션에서 만든 PreparedStatement도 close() 시 결과·파라미터만 정리한 뒤 캐시에 남음.
+ * 같은 SQL 문장을 사용 중에 다시 준비하면 캐시하지 않는 새 문장을 돌려줌
+ */
+final class StatementCache {
+    private final Connection raw;
+    private final int capacity;
+    private final Counters counters;
+    private final Consumer<StatementCache> onRelease; // 빌려준 커넥션 close() 시 호출, null이면 없음
+    private final AtomicBoolean leased = new AtomicBoolean();
+    private final Map<String, Cached> statements = new LinkedHashMap<>(16, 0.75f, true);
+    private final Connection connection;
+
+    /**
+     * @param counters 지표 집계 대상 (저장소의 캐시끼리 공유)
+     */
+    StatementCache(Connection raw, int capacity, Counters counters) {
+        this(raw, capacity, counters, null);
+    }
+
+    /**
+     * @param onRelease lease()로 빌려준 커넥션을 close()하면 호출 (커넥션 풀 반납)
+     */
+    StatementCache(Connection raw, int capacity, Counters counters, Consumer<StatementCache> onRelease) {
+        this.raw = raw;
+        this.onRelease = onRelease;
+        this.capacity = Math.max(1, capacity);
+        this.counters = counters;
+        this.connection = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, this::invokeConnection);
+    }
+
+    /**
+     * close()가 무시되는 커넥션
+     */
+    Connection connection() {
+        return connection;
+    }
+
+    /**
+     * connection()과 같지만 close() 시 한 번 onRelease를 호출
+     */
+    Connection lease() {
+        leased.set(true);
+        return connection;
+    }
+
+    Connection raw() {
+        return raw;
+    }
+
+    /**
+     * 캐시된 문장 수
+     */
+    synchronized int size() {
+        return statements.size();
+    }
+
+    /**
+     * 캐시된 문장과 커넥션을 실제로 닫음
+     */
+    synchronized void close() throws SQLException {
+        for (Cached cached : statements.values()) {
+            cached.statement.close();
+        }
+        statements.clear();
+        raw.close();
+    }
+
+    private Object invokeConnection(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "close":
+                if (onRelease != null && leased.compareAndSet(true, false)) {
+                    onRelease.accept(this);
+                }
+                return null;
+            case "prepareStatement":
+                if (args.length == 1) {
+                    return prepare((String) args[0]);
+                }
+                break;
+            case "unwrap":
+                if (((Class<?>) args[0]).isInstance(proxy)) {
+                    return proxy;
+                }
+                break;
+            default:
+                break;
+        }
+        return invoke(raw, method, args);
+    }
+
+    private synchronized PreparedStatement prepare(String sql) throws SQLException {
+        Cached cached = statements.get(sql);
+        if (cached != null) {
+            if (cached.inUse) {
+                counters.nested.increment();
+                return raw.prepareStatement(sql); // 중첩 사용, 호출한 쪽이 닫음
+            }
+            counters.hits.increment();
+            cached.inUse = true;
+            return cached.proxy;
+        }
+
+        counters.misses.increment();
+        cached = new Cached(raw.prepareStatement(sql));
+        cached.inUse = true;
+        statements.put(sql, cached);
+        evict();
+        return cached.proxy;
+    }
+
+    /**
+     * 용량을 넘으면 사용 중이 아닌 오래된 문장부터 닫음
+     */
+    private void evict() throws SQLException {
+        Iterator<Cached> iterator = statements.values().iterator();
+        while (statements.size() > capacity && iterator.hasNext()) {
+            Cached eldest = iterator.next();
+            if (!eldest.inUse) {
+                iterator.remove();
+                eldest.statement.close();
+                counters.evictions.increment();
+            }
+        }
+    }
+
+    private synchronized void release(Cached cached) throws SQLException {
+        try {
+            // 읽지 않은 결과가 남아 있으면 SQLite 읽기 트랜잭션이 열린 채로 유지됨
+            if (cached.resultSet != null && !cached.resultSet.isClosed()) {
+                cached.resultSet.close();
+            }
+            cached.statement.clearParameters();
+            cached.statement.clearBatch();
+        } finally {
+            cached.resultSet = null;
+            cached.inUse = false;
+        }
+        evict();
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 캐시 지표 누적값
+     */
+    static final class Counters {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder nested = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+
+        StatementCacheMetrics snapshot(int cached) {
+            return new StatementCacheMetrics(hits.sum(), misses.sum(), nested.sum(), evictions.sum(), cached);
+        }
+    }
+
+    private final class Cached {
+        private final PreparedStatement statement;
+        private final PreparedStatement proxy;
+        private boolean inUse;
+        private ResultSet resultSet;
+
+        private Cached(PreparedStatement statement) {
+            this.statement = statement;
+            this.proxy = (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, this::invokeStatement);
+        }
+
+        private Object invokeStatement(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (inUse) {
+                        release(this);
+                    }
+                    return null;
+                case "isClosed":
+                    return !inUse || statement.isClosed();
+                case "getConnection":
+                    return connection;
+                default:
+                    break;
+            }
+            Object result = invoke(statement, method, args);
+            if (result instanceof ResultSet rs) {
+                resultSet = rs;
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.gi.storage;
+
+/**
+ * PreparedStatement 캐시 지표 스냅샷
+ *
+ * @param hits 캐시된 문장을 재사용한 횟수
+ * @param misses 새로 준비해 캐시한 횟수
+ * @param nested 같은 문장이 사용 중이라 캐시 없이 준비한 횟수
+ * @param evictions 용량 초과로 닫은 문장 수
+ * @param cached 현재 캐시된 문장 수 (모든 커넥션 합계)
+ */
+public record StatementCacheMetrics(long hits, long misses, long nested, long evictions, int cached) {
+
+    /**
+     * 준비 요청 중 캐시를 재사용한 비율 (요청이 없으면 0)
+     */
+    public double hitRate() {
+        long total = hits + misses + nested;
+        return total == 0 ? 0 : hits / (double) total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hit rate=%.1f%% (hits=%d, misses=%d, nested=%d), evictions=%d, cached=%d",
+                hitRate() * 100, hits, misses, nested, evictions, cached);
+    }
+}
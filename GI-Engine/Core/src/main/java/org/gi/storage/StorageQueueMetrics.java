@@ -0,0 +1,23 @@
+package org.gi.storage;
+
+/**
+ * 저장소 작업 큐의 우선순위별 지표 스냅샷
+ *
+ * @param queue 큐 이름 (저장·읽기 등)
+ * @param priority 우선순위
+ * @param queued 현재 대기 중인 작업 수
+ * @param running 현재 실행 중인 작업 수
+ * @param limit 이 우선순위의 최대 동시 실행 수
+ * @param started 지금까지 시작한 작업 수
+ * @param averageWaitMillis 제출부터 시작까지 평균 대기 시간
+ * @param maxWaitMillis 제출부터 시작까지 최대 대기 시간
+ */
+public record StorageQueueMetrics(String queue, StoragePriority priority, int queued, int running, int limit,
+                                  long started, double averageWaitMillis, double maxWaitMillis) {
+
+    @Override
+    public String toString() {
+        return String.format("%s %s: queued=%d, running=%d/%d, started=%d, wait avg=%.2fms max=%.2fms",
+                queue, priority, queued, running, limit, started, averageWaitMillis, maxWaitMillis);
+    }
+}
@@ -0,0 +1,279 @@
+package org.gi.storage;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 우선순위별 저장소 작업 스케줄러
+ *
+ * 높은 우선순위 작업부터 시작하고 같은 우선순위는 제출 순서대로 시작 (workers가 1이면 하나씩 순서대로).
+ * 같은 플레이어를 기록하는 작업은 우선순위와 관계없이 제출 순서대로 하나씩 실행
+ * (나중에 제출한 퇴장 저장이 앞선 삭제·정기 저장을 앞질러 새 값이 옛 값으로 덮이지 않도록).
+ * 동시 실행은 전체 workers개까지, 정기 저장·유지보수는 그보다 적게 제한해
+ * 자동 저장이 몰려도 접속한 플레이어 로드가 자리를 얻도록 함.
+ * VIRTUAL이면 작업마다 가상 스레드를 쓰고, 동시 실행 수는 같게 제한 (드라이버 synchronized 구간의 pinning 방지)
+ */
+final class StorageScheduler {
+    private static final StoragePriority[] PRIORITIES = StoragePriority.values();
+
+    private final String name;
+    private final int workers;
+    private final int[] limits = new int[PRIORITIES.length];
+    private final ExecutorService runner; // 동시에 workers개 이하만 받으므로 자체 큐에 쌓이지 않음
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition terminated = lock.newCondition();
+    private final List<ArrayDeque<Task>> queues = new ArrayList<>(PRIORITIES.length);
+    private final Map<UUID, ArrayDeque<Task>> writes = new HashMap<>(); // 플레이어별 끝나지 않은 기록 작업, 제출 순서
+    private final int[] running = new int[PRIORITIES.length];
+    private int totalRunning;
+    private boolean shutdown;
+
+    // 지표 (lock 보유 상태에서 갱신)
+    private final long[] started = new long[PRIORITIES.length];
+    private final long[] totalWaitNanos = new long[PRIORITIES.length];
+    private final long[] maxWaitNanos = new long[PRIORITIES.length];
+
+    /**
+     * @param name 스레드·지표 이름
+     * @param workers 최대 동시 실행 수 (커넥션 수)
+     */
+    StorageScheduler(String name, int workers, StorageExecutorMode mode) {
+        this.name = name;
+        this.workers = Math.max(1, workers);
+        for (StoragePriority priority : PRIORITIES) {
+            limits[priority.ordinal()] = switch (priority) {
+                case LOAD, QUIT_SAVE -> this.workers;
+                case PERIODIC_SAVE -> Math.max(1, this.workers / 2);
+                case MAINTENANCE -> 1;
+            };
+            queues.add(new ArrayDeque<>());
+        }
+
+        ThreadFactory factory = mode == StorageExecutorMode.VIRTUAL
+                ? Thread.ofVirtual().name(name + "-", 0).factory()
+                : Thread.ofPlatform().name(name + "-", 0).factory();
+        this.runner = mode == StorageExecutorMode.VIRTUAL
+                ? Executors.newThreadPerTaskExecutor(factory)
+                : Executors.newFixedThreadPool(this.workers, factory);
+    }
+
+    /**
+     * 해당 우선순위로 제출하는 Executor (CompletableFuture.supplyAsync 등에 사용)
+     */
+    Executor at(StoragePriority priority) {
+        return command -> execute(priority, command);
+    }
+
+    /**
+     * 해당 플레이어들을 기록하는 작업을 제출하는 Executor
+     * 같은 플레이어의 앞선 기록 작업이 끝난 뒤에 시작
+     */
+    Executor at(StoragePriority priority, Collection<UUID> players) {
+        List<UUID> keys = List.copyOf(new LinkedHashSet<>(players));
+        return command -> execute(priority, keys, command);
+    }
+
+    /**
+     * @throws RejectedExecutionException 종료된 경우
+     */
+    void execute(StoragePriority priority, Runnable command) {
+        execute(priority, List.of(), command);
+    }
+
+    private void execute(StoragePriority priority, List<UUID> players, Runnable command) {
+        List<Task> ready;
+        lock.lock();
+        try {
+            if (shutdown) {
+                throw new RejectedExecutionException(name + " is shut down");
+            }
+            Task task = new Task(priority, players, command, System.nanoTime());
+            for (UUID player : players) {
+                writes.computeIfAbsent(player, ignored -> new ArrayDeque<>()).addLast(task);
+            }
+            queues.get(priority.ordinal()).add(task);
+            ready = takeReady();
+        } finally {
+            lock.unlock();
+        }
+        ready.forEach(this::start);
+    }
+
+    /**
+     * 빈 자리만큼 시작할 작업을 우선순위 순으로 꺼냄 (lock 보유 상태)
+     * 높은 우선순위가 자기 제한에 걸리면 낮은 우선순위가 남은 자리를 씀
+     * 같은 플레이어의 앞선 기록 작업이 남아 있는 작업은 건너뜀
+     */
+    private List<Task> takeReady() {
+        List<Task> ready = List.of();
+        long now = System.nanoTime();
+        for (StoragePriority priority : PRIORITIES) {
+            int index = priority.ordinal();
+            Iterator<Task> queue = queues.get(index).iterator();
+            while (totalRunning < workers && running[index] < limits[index] && queue.hasNext()) {
+                Task task = queue.next();
+                if (!isNextWrite(task)) {
+                    continue;
+                }
+                queue.remove();
+                running[index]++;
+                totalRunning++;
+
+                long wait = now - task.submittedAt();
+                started[index]++;
+                totalWaitNanos[index] += wait;
+                maxWaitNanos[index] = Math.max(maxWaitNanos[index], wait);
+
+                if (ready.isEmpty()) {
+                    ready = new ArrayList<>();
+                }
+                ready.add(task);
+            }
+        }
+        return ready;
+    }
+
+    private void start(Task task) {
+        try {
+            runner.execute(() -> run(task));
+        } catch (RejectedExecutionException e) {
+            finish(task); // shutdownNow 이후, 작업은 버려짐
+        }
+    }
+
+    private void run(Task task) {
+        try {
+            task.command().run();
+        } finally {
+            finish(task);
+        }
+    }
+
+    /**
+     * 작업이 기록하는 모든 플레이어에서 가장 먼저 제출된 작업이면 true (lock 보유 상태)
+     */
+    private boolean isNextWrite(Task task) {
+        for (UUID player : task.players()) {
+            if (writes.get(player).peekFirst() != task) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 플레이어별 순서 대기열에서 작업을 뺌 (lock 보유 상태)
+     */
+    private void release(Task task) {
+        for (UUID player : task.players()) {
+            ArrayDeque<Task> pending = writes.get(player);
+            pending.remove(task);
+            if (pending.isEmpty()) {
+                writes.remove(player);
+            }
+        }
+    }
+
+    private void finish(Task task) {
+        List<Task> ready;
+        lock.lock();
+        try {
+            running[task.priority().ordinal()]--;
+            totalRunning--;
+            release(task);
+            ready = takeReady();
+            if (isIdle() && shutdown) {
+                runner.shutdown();
+                terminated.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+        ready.forEach(this::start);
+    }
+
+    /**
+     * 새 작업을 막고, 대기 중인 작업은 모두 실행한 뒤 종료
+     */
+    void shutdown() {
+        lock.lock();
+        try {
+            shutdown = true;
+            if (isIdle()) {
+                runner.shutdown();
+                terminated.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 대기 중인 작업을 버리고 실행 중인 작업을 중단
+     *
+     * @return 실행하지 못한 작업
+     */
+    List<Runnable> shutdownNow() {
+        List<Runnable> dropped = new ArrayList<>();
+        lock.lock();
+        try {
+            shutdown = true;
+            for (ArrayDeque<Task> queue : queues) {
+                queue.forEach(task -> {
+                    dropped.add(task.command());
+                    release(task);
+                });
+                queue.clear();
+            }
+            if (isIdle()) {
+                terminated.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+        runner.shutdownNow();
+        return dropped;
+    }
+
+    boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (!(shutdown && isIdle())) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = terminated.awaitNanos(remaining);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return runner.awaitTermination(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+    }
+
+    List<StorageQueueMetrics> metrics() {
+        lock.lock();
+        try {
+            List<StorageQueueMetrics> metrics = new ArrayList<>(PRIORITIES.length);
+            for (StoragePriority priority : PRIORITIES) {
+                int index = priority.ordinal();
+                double average = started[index] == 0 ? 0 : totalWaitNanos[index] / (double) started[index] / 1_000_000.0;
+                metrics.add(new StorageQueueMetrics(name, priority, queues.get(index).size(), running[index],
+                        limits[index], started[index], average, maxWaitNanos[index] / 1_000_000.0));
+            }
+            return metrics;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isIdle() {
+        return totalRunning == 0 && queues.stream().allMatch(ArrayDeque::isEmpty);
+    }
+
+    private record Task(StoragePriority priority, List<UUID> players, Runnable command, long submittedAt) {
+    }
+}
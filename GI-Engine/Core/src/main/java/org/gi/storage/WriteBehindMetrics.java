@@ -0,0 +1,31 @@
+package org.gi.storage;
+
+/**
+ * write-behind 큐 지표 스냅샷
+ *
+ * @param queueDepth 현재 대기 중인 플레이어 수
+ * @param maxQueueDepth 지금까지 최대 대기 플레이어 수
+ * @param submitted 받은 저장 요청 수
+ * @param coalesced 대기 중인 요청에 합쳐진 요청 수
+ * @param rejected 큐가 가득 차 거절된 요청 수
+ * @param bypassed 큐가 가득 차 저장소에 바로 기록한 퇴장 저장 수
+ * @param batches 실행한 그룹 커밋 수
+ * @param failedBatches 실패한 그룹 커밋 수
+ * @param flushedDeltas 그룹 커밋으로 기록한 플레이어 변경분 수
+ * @param averageFlushMillis 그룹 커밋 평균 소요 시간
+ * @param maxFlushMillis 그룹 커밋 최대 소요 시간
+ * @param lastFlushMillis 마지막 그룹 커밋 소요 시간
+ */
+public record WriteBehindMetrics(int queueDepth, int maxQueueDepth,
+                                 long submitted, long coalesced, long rejected, long bypassed,
+                                 long batches, long failedBatches, long flushedDeltas,
+                                 double averageFlushMillis, double maxFlushMillis, double lastFlushMillis) {
+
+    @Override
+    public String toString() {
+        return String.format("depth=%d (max %d), submitted=%d, coalesced=%d, rejected=%d, bypassed=%d, "
+                        + "batches=%d (failed %d), flushed=%d, flush avg=%.2fms max=%.2fms last=%.2fms",
+                queueDepth, maxQueueDepth, submitted, coalesced, rejected, bypassed,
+                batches, failedBatches, flushedDeltas, averageFlushMillis, maxFlushMillis, lastFlushMillis);
+    }
+}
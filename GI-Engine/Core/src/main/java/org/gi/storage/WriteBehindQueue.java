@@ -0,0 +1,346 @@
+package org.gi.storage;
+
+import org.gi.Result;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+
+/**
+ * 플레이어 저장 요청을 모아 그룹 커밋하는 write-behind 큐
+ *
+ * 같은 플레이어의 대기 중인 변경분은 하나로 합쳐지고 (나중 값 우선),
+ * 배치 크기에 도달하거나 가장 오래된 요청이 최대 지연을 넘기면
+ * 전용 스레드가 saveDeltas() 한 번으로 기록 (커밋은 한 번에 하나씩).
+ * submit은 호출 스레드(메인 스레드 포함)를 막지 않음. 대기 플레이어 수가 상한이면
+ * 정기 저장은 바로 Error로 끝나 다음 저장 때 다시 시도하고, 퇴장 저장은 큐를 거치지 않고 저장소에 바로 기록.
+ * 퇴장 저장(QUIT_SAVE 이상)이 대기 중이면 지연 없이 바로 기록하고 배치에도 먼저 담음
+ */
+public class WriteBehindQueue {
+    private final IPlayerDataStorage storage;
+    private final Logger logger;
+    private final int batchSize;
+    private final int maxPending;
+    private final long maxDelayNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final LinkedHashMap<UUID, Pending> pending = new LinkedHashMap<>(); // 등록 순서 = 기록 순서
+    private List<Pending> inFlight = List.of();
+    private boolean flushRequested;
+    private int urgent; // 지연 없이 기록할 대기 요청 수
+    private boolean running = true;
+    private final Thread flusher;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder bypassed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+    private final LongAdder flushedDeltas = new LongAdder();
+    private final LongAdder totalFlushNanos = new LongAdder();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+    private volatile long lastFlushNanos;
+    private int maxQueueDepth;
+
+    public WriteBehindQueue(IPlayerDataStorage storage, Logger logger, WriteBehindSetting setting) {
+        this.storage = storage;
+        this.logger = logger;
+        this.batchSize = setting.getBatchSize();
+        this.maxPending = setting.getMaxPending();
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(setting.getMaxDelayMillis());
+
+        this.flusher = new Thread(this::run, "GI-Engine-WriteBehind");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * 정기 저장(PERIODIC_SAVE)으로 변경분을 큐에 등록
+     */
+    public CompletableFuture<Result> submit(PlayerStatDelta delta) {
+        return submit(delta, StoragePriority.PERIODIC_SAVE);
+    }
+
+    /**
+     * 변경분을 큐에 등록
+     * 같은 플레이어의 요청이 대기 중이면 합쳐지고 (우선순위는 높은 쪽) 같은 future를 반환
+     * 블로킹 없음, 큐가 가득 차면 퇴장 저장(QUIT_SAVE 이상)은 저장소에 바로 기록
+     *
+     * @return 그룹 커밋 결과, 큐가 닫혔거나 가득 찬 상태의 정기 저장이면 Error
+     */
+    public CompletableFuture<Result> submit(PlayerStatDelta delta, StoragePriority priority) {
+        if (delta.isEmpty()) {
+            return CompletableFuture.completedFuture(Result.SUCCESS);
+        }
+
+        CompletableFuture<Result> writing;
+        lock.lock();
+        try {
+            submitted.increment();
+            if (!running) {
+                return CompletableFuture.completedFuture(Result.Error("Write-behind queue is closed"));
+            }
+
+            Pending existing = pending.get(delta.getPlayerUUID());
+            if (existing != null) {
+                existing.delta = existing.delta.mergedWith(delta);
+                if (priority.compareTo(existing.priority) < 0) {
+                    if (!isUrgent(existing.priority) && isUrgent(priority)) {
+                        urgent++;
+                        notEmpty.signal();
+                    }
+                    existing.priority = priority;
+                }
+                coalesced.increment();
+                return existing.future;
+            }
+            if (pending.size() >= maxPending) {
+                if (!isUrgent(priority)) {
+                    rejected.increment();
+                    return CompletableFuture.completedFuture(Result.Error("Write-behind queue is full"));
+                }
+                bypassed.increment();
+                writing = inFlightFuture(delta.getPlayerUUID());
+            } else {
+                Pending entry = new Pending(delta, priority, System.nanoTime());
+                pending.put(delta.getPlayerUUID(), entry);
+                if (isUrgent(priority)) {
+                    urgent++;
+                }
+                maxQueueDepth = Math.max(maxQueueDepth, pending.size());
+                notEmpty.signal();
+                return entry.future;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // 기록 중인 같은 플레이어의 이전 변경분보다 먼저 커밋되지 않도록 그 뒤에 이어서 기록
+        return writing.thenCompose(ignored -> storage.saveDeltas(List.of(delta), priority))
+                .exceptionally(e -> Result.Error(e.getMessage()));
+    }
+
+    /**
+     * 해당 플레이어가 기록 중인 배치에 있으면 그 배치의 future, 없으면 완료된 future (lock 보유 상태)
+     */
+    private CompletableFuture<Result> inFlightFuture(UUID playerUUID) {
+        for (Pending entry : inFlight) {
+            if (entry.delta.getPlayerUUID().equals(playerUUID)) {
+                return entry.future;
+            }
+        }
+        return CompletableFuture.completedFuture(Result.SUCCESS);
+    }
+
+    /**
+     * 지연을 기다리지 않고 대기 중인 요청을 바로 기록
+     *
+     * @return 호출 시점에 대기 중이거나 기록 중이던 요청이 모두 끝나면 완료
+     */
+    public CompletableFuture<Void> flush() {
+        lock.lock();
+        try {
+            List<CompletableFuture<Result>> futures = new ArrayList<>(pending.size() + inFlight.size());
+            inFlight.forEach(entry -> futures.add(entry.future));
+            pending.values().forEach(entry -> futures.add(entry.future));
+
+            flushRequested = !pending.isEmpty();
+            notEmpty.signal();
+            return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 새 요청을 막고 남은 요청을 기록한 뒤 종료
+     * 제한 시간 안에 기록하지 못한 요청은 Error로 완료
+     */
+    public void shutdown(long timeout, TimeUnit unit) {
+        lock.lock();
+        try {
+            running = false;
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            flusher.join(unit.toMillis(timeout));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (flusher.isAlive()) {
+            flusher.interrupt();
+            lock.lock();
+            try {
+                logger.warning("Write-behind queue shut down with " + pending.size() + " unsaved players");
+                pending.values().forEach(entry -> entry.future.complete(Result.Error("Write-behind queue shut down")));
+                pending.clear();
+                urgent = 0;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    public int getQueueDepth() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public WriteBehindMetrics getMetrics() {
+        int depth;
+        int maxDepth;
+        lock.lock();
+        try {
+            depth = pending.size();
+            maxDepth = maxQueueDepth;
+        } finally {
+            lock.unlock();
+        }
+
+        long count = batches.sum();
+        double average = count == 0 ? 0 : totalFlushNanos.sum() / (double) count / 1_000_000.0;
+        return new WriteBehindMetrics(depth, maxDepth,
+                submitted.sum(), coalesced.sum(), rejected.sum(), bypassed.sum(),
+                count, failedBatches.sum(), flushedDeltas.sum(),
+                average, maxFlushNanos.get() / 1_000_000.0, lastFlushNanos / 1_000_000.0);
+    }
+
+    private void run() {
+        while (true) {
+            List<Pending> batch;
+            lock.lock();
+            try {
+                batch = awaitBatch();
+                if (batch == null) {
+                    return;
+                }
+                inFlight = batch;
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            write(batch);
+
+            lock.lock();
+            try {
+                inFlight = List.of();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * 배치 크기·최대 지연·flush 요청 중 하나를 만족할 때까지 대기 후 배치를 꺼냄 (lock 보유 상태)
+     *
+     * @return 종료 요청되고 비어 있으면 null
+     */
+    private List<Pending> awaitBatch() throws InterruptedException {
+        while (true) {
+            if (pending.isEmpty()) {
+                flushRequested = false;
+                if (!running) {
+                    return null;
+                }
+                notEmpty.await();
+                continue;
+            }
+            if (pending.size() >= batchSize || flushRequested || urgent > 0 || !running) {
+                break;
+            }
+
+            long oldest = pending.values().iterator().next().enqueuedAt;
+            long wait = oldest + maxDelayNanos - System.nanoTime();
+            if (wait <= 0) {
+                break;
+            }
+            notEmpty.awaitNanos(wait);
+        }
+
+        // 급한 요청부터, 같은 순위는 등록 순서대로
+        List<Pending> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+        if (urgent > 0) {
+            takeInto(batch, true);
+        }
+        takeInto(batch, false);
+        return batch;
+    }
+
+    private void takeInto(List<Pending> batch, boolean urgentOnly) {
+        Iterator<Pending> iterator = pending.values().iterator();
+        while (iterator.hasNext() && batch.size() < batchSize) {
+            Pending entry = iterator.next();
+            if (urgentOnly && !isUrgent(entry.priority)) {
+                continue;
+            }
+            if (isUrgent(entry.priority)) {
+                urgent--;
+            }
+            batch.add(entry);
+            iterator.remove();
+        }
+    }
+
+    private static boolean isUrgent(StoragePriority priority) {
+        return priority.compareTo(StoragePriority.QUIT_SAVE) <= 0;
+    }
+
+    private void write(List<Pending> batch) {
+        long start = System.nanoTime();
+        Result result;
+        try {
+            // 배치 안에서 가장 높은 우선순위로 기록
+            StoragePriority priority = batch.stream().map(entry -> entry.priority)
+                    .min(Comparator.naturalOrder()).orElse(StoragePriority.PERIODIC_SAVE);
+            result = storage.saveDeltas(batch.stream().map(entry -> entry.delta).toList(), priority).join();
+        } catch (Exception e) {
+            result = Result.Exception(e);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        batches.increment();
+        totalFlushNanos.add(elapsed);
+        maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+        lastFlushNanos = elapsed;
+        if (result.isSuccess()) {
+            flushedDeltas.add(batch.size());
+        } else {
+            failedBatches.increment();
+            logger.warning("Write-behind flush of " + batch.size() + " players failed: " + result.getMessage());
+        }
+
+        for (Pending entry : batch) {
+            entry.future.complete(result);
+        }
+    }
+
+    private static final class Pending {
+        private PlayerStatDelta delta; // lock 보유 상태에서만 교체
+        private StoragePriority priority; // lock 보유 상태에서만 교체
+        private final long enqueuedAt;
+        private final CompletableFuture<Result> future = new CompletableFuture<>();
+
+        private Pending(PlayerStatDelta delta, StoragePriority priority, long enqueuedAt) {
+            this.delta = delta;
+            this.priority = priority;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package org.gi.stat;
+
+import org.gi.builder.StatBuilder;
+import org.gi.builder.StatModifierBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HolderTransactionTest {
+    private static final List<String> GEAR_STATS = List.of("attack", "defense", "health", "speed", "crit");
+
+    private StatRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new StatRegistry();
+        for (String id : GEAR_STATS) {
+            registry.register(StatBuilder.create().id(id).displayName(id).range(0, 1e9).defaultValue(10).build());
+        }
+        registry.register(StatBuilder.create().id("power").displayName("power").range(0, 1e9).derived("attack * 2").build());
+        registry.lock();
+    }
+
+    @Test
+    void failedCallbackLeavesHolderUntouched() {
+        TestHolder holder = new TestHolder(registry);
+        long version = holder.getVersion();
+
+        assertThrows(IllegalStateException.class, () -> holder.batch(tx -> {
+            tx.add(StatModifierBuilder.create().source("gear").statId("attack").flat(5).build());
+            tx.setBase("defense", 50);
+            throw new IllegalStateException("equip failed");
+        }));
+
+        assertFalse(holder.hasIStatInstance("attack"));
+        assertFalse(holder.hasIStatInstance("defense"));
+        assertEquals(version, holder.getVersion());
+    }
+
+    @Test
+    void unknownStatIsRejectedWhileRecording() {
+        TestHolder holder = new TestHolder(registry);
+
+        assertThrows(IllegalArgumentException.class, () -> holder.batch(tx -> {
+            tx.setBase("attack", 20);
+            tx.add(StatModifierBuilder.create().source("gear").statId("missing").flat(5).build());
+        }));
+        assertFalse(holder.hasIStatInstance("attack"));
+    }
+
+    @Test
+    void removeBySourceCoversStatsAddedEarlierInTransaction() {
+        TestHolder holder = new TestHolder(registry);
+
+        holder.batch(tx -> tx
+                .add(StatModifierBuilder.create().source("gear").statId("attack").flat(5).build())
+                .removeBySource("gear")
+                .add(StatModifierBuilder.create().source("gear").statId("defense").flat(3).build()));
+
+        assertEquals(10, holder.getStat("attack"));
+        assertEquals(13, holder.getStat("defense"));
+    }
+
+    /**
+     * 장비 한 벌(수정자 30개, 스탯 5개 + 파생 스탯 1개) 장착 시 리스너 호출 수
+     * 개별 적용: 수정자마다 호출 / batch: 바뀐 스탯마다 한 번
+     */
+    @Test
+    void batchNotifiesOncePerChangedStat() {
+        List<IStatModifier> gear = new ArrayList<>();
+        for (int piece = 0; piece < 6; piece++) {
+            for (String statId : GEAR_STATS) {
+                gear.add(StatModifierBuilder.create().source("gear:" + piece).statId(statId).flat(piece + 1).build());
+            }
+        }
+
+        TestHolder oneByOne = new TestHolder(registry);
+        oneByOne.initializeAllStats();
+        Map<String, Integer> individualCalls = countNotifications(oneByOne);
+        for (IStatModifier modifier : gear) {
+            oneByOne.batch(tx -> tx.add(modifier));
+        }
+
+        TestHolder batched = new TestHolder(registry);
+        batched.initializeAllStats();
+        Map<String, Integer> batchedCalls = countNotifications(batched);
+        List<double[]> powerChanges = new ArrayList<>();
+        batched.addStatChangeListener((holder, statId, oldValue, newValue) -> {
+            if (statId.equals("power")) {
+                powerChanges.add(new double[]{oldValue, newValue});
+            }
+        });
+        batched.batch(tx -> gear.forEach(tx::add));
+
+        assertEquals(36, total(individualCalls)); // 30 + 파생 스탯 6
+        assertEquals(6, total(batchedCalls));
+        for (String statId : GEAR_STATS) {
+            assertEquals(1, batchedCalls.get(statId));
+            assertEquals(oneByOne.getStat(statId), batched.getStat(statId));
+        }
+        assertEquals(1, powerChanges.size());
+        assertArrayEquals(new double[]{20, 2 * (10 + 21)}, powerChanges.getFirst());
+    }
+
+    private static Map<String, Integer> countNotifications(TestHolder holder) {
+        Map<String, Integer> calls = new HashMap<>();
+        holder.addStatChangeListener((source, statId, oldValue, newValue) -> calls.merge(statId, 1, Integer::sum));
+        return calls;
+    }
+
+    private static int total(Map<String, Integer> calls) {
+        return calls.values().stream().mapToInt(Integer::intValue).sum();
+    }
+}
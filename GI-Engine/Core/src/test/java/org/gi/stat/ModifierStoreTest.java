@@ -0,0 +1,120 @@
+package org.gi.stat;
+
+import com.sun.management.ThreadMXBean;
+import org.gi.builder.StatModifierBuilder;
+import org.gi.stat.enums.ModifierType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ModifierStoreTest {
+
+    /**
+     * 재계산(모든 그룹 다시 평가)이 수정자 수와 관계없이 할당하지 않는지 확인
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 100})
+    void accumulateDoesNotAllocate(int count) {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeAllocationCounting(threads);
+
+        ModifierStore store = new ModifierStore(false);
+        for (int i = 0; i < count; i++) {
+            store.add(modifier("source-" + (i % 8), i));
+        }
+
+        // epoch를 매번 바꿔 캐시된 그룹 합계 없이 전체 평가
+        int epoch = 0;
+        for (int i = 0; i < 20_000; i++) {
+            store.accumulate(null, epoch++);
+        }
+
+        int iterations = 10_000;
+        long thread = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < iterations; i++) {
+            store.accumulate(null, epoch++);
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        assertTrue(allocated < iterations,
+                count + " modifiers: " + allocated + " bytes over " + iterations + " recalculations");
+    }
+
+    @Test
+    void accumulateAppliesStackRules() {
+        ModifierStore store = new ModifierStore(false);
+        store.add(StatModifierBuilder.create().source("a").statId("attack").flat(10).build());
+        store.add(StatModifierBuilder.create().source("a").statId("attack").flat(5).build());
+        store.add(StatModifierBuilder.create().source("b").statId("attack").flat(7).stackable(false).build());
+        store.add(StatModifierBuilder.create().source("b").statId("attack").flat(3).stackable(false).build());
+        store.add(StatModifierBuilder.create().source("c").statId("attack").percent(0.5).build());
+
+        store.accumulate(null, 1);
+
+        assertEquals(22, store.getTotalFlat());
+        assertEquals(0.5, store.getTotalPercent());
+        assertEquals(1.0, store.getTotalMultiply());
+    }
+
+    @Test
+    void cappedStacksTakeLargestMagnitudes() {
+        ModifierStore store = new ModifierStore(false);
+        List<IStatModifier> stacks = new ArrayList<>();
+        for (int value = 1; value <= 10; value++) {
+            stacks.add(StatModifierBuilder.create().source("boss").statId("attack").flat(value).maxStacks(3).build());
+        }
+        Collections.shuffle(stacks, new Random(7));
+        stacks.forEach(store::add);
+
+        store.accumulate(null, 1);
+        assertEquals(10 + 9 + 8, store.getTotalFlat());
+
+        IStatModifier largest = stacks.stream().filter(m -> m.getValue() == 10).findFirst().orElseThrow();
+        assertTrue(store.remove(largest));
+        store.accumulate(null, 1);
+        assertEquals(9 + 8 + 7, store.getTotalFlat());
+    }
+
+    @Test
+    void unchangedGroupsReuseCachedTotals() {
+        ModifierStore store = new ModifierStore(false);
+        store.add(StatModifierBuilder.create().source("a").statId("attack").flat(10).build());
+        store.add(StatModifierBuilder.create().source("b").statId("attack").flat(1).build());
+        store.accumulate(null, 1);
+        assertEquals(11, store.getTotalFlat());
+
+        // 같은 epoch: 바뀐 그룹 b만 다시 계산되어야 함
+        IStatModifier added = StatModifierBuilder.create().source("b").statId("attack").flat(4).build();
+        store.add(added);
+        store.accumulate(null, 1);
+        assertEquals(15, store.getTotalFlat());
+
+        assertTrue(store.remove(added));
+        store.accumulate(null, 1);
+        assertEquals(11, store.getTotalFlat());
+    }
+
+    private static IStatModifier modifier(String source, int index) {
+        StatModifierBuilder builder = StatModifierBuilder.create().source(source).statId("attack");
+        return switch (index % 3) {
+            case 0 -> builder.flat(index + 1).build();
+            case 1 -> builder.percent(0.01 * index).build();
+            default -> builder.type(ModifierType.MULTIPLY).value(1.0 + 0.001 * index).build();
+        };
+    }
+
+    private static void assumeAllocationCounting(ThreadMXBean threads) {
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+}
@@ -0,0 +1,64 @@
+package org.gi.stat;
+
+import org.gi.builder.StatBuilder;
+import org.gi.builder.StatModifierBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResourceConditionTest {
+    private static final double MAX_HEALTH = 100;
+
+    private StatRegistry registry;
+    private double health;
+
+    @BeforeEach
+    void setUp() {
+        registry = new StatRegistry();
+        registry.register(StatBuilder.create().id("attack").displayName("attack").range(0, 1e9).defaultValue(10).build());
+        registry.register(StatBuilder.create().id("defense").displayName("defense").range(0, 1e9).defaultValue(10).build());
+        registry.lock();
+        health = MAX_HEALTH;
+    }
+
+    @Test
+    void lowHealthConditionFlipsOnNotify() {
+        TestHolder holder = new TestHolder(registry);
+        IStatInstance attack = holder.getOrCreateIStatInstance("attack");
+        attack.addModifier(StatModifierBuilder.create().source("berserk").statId("attack").percent(0.5)
+                .condition(StatCondition.onResources(h -> health / MAX_HEALTH < 0.3, "health"))
+                .build());
+        assertEquals(10, attack.getFinal());
+
+        health = 20;
+        assertEquals(10, attack.getFinal()); // 알림 전에는 캐시된 값
+        holder.notifyResourceChanged("health");
+        assertEquals(15, attack.getFinal());
+
+        health = 80;
+        holder.notifyResourceChanged("HEALTH");
+        assertEquals(10, attack.getFinal());
+    }
+
+    @Test
+    void onlyWatchingStatsAreInvalidated() {
+        TestHolder holder = new TestHolder(registry);
+        IStatInstance attack = holder.getOrCreateIStatInstance("attack");
+        IStatInstance defense = holder.getOrCreateIStatInstance("defense");
+        attack.addModifier(StatModifierBuilder.create().source("berserk").statId("attack").percent(0.5)
+                .condition(StatCondition.onResources(h -> health / MAX_HEALTH < 0.3, "health"))
+                .build());
+        defense.addModifier(StatModifierBuilder.create().source("focus").statId("defense").flat(5)
+                .condition(StatCondition.onResources(h -> true, "mana"))
+                .build());
+        StatSnapshot defenseBefore = defense.getSnapshot();
+        attack.getFinal();
+
+        health = 10;
+        holder.notifyResourceChanged("health");
+
+        assertEquals(15, attack.getFinal());
+        assertSame(defenseBefore, defense.getSnapshot());
+    }
+}
@@ -0,0 +1,161 @@
+package org.gi.stat;
+
+import org.gi.builder.StatBuilder;
+import org.gi.builder.StatModifierBuilder;
+import org.gi.stat.enums.ModifierType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 재계산마다 스트림으로 묶고 정렬하던 processStacks(이전) vs 그룹별 합계를 캐싱하는 SourceGroup(현재)
+ * 한 source에 N개 스택(maxStacks 50) + 장비 source 10개 x 3
+ * 실행: gradle :Core:test -Pbenchmark --tests '*SourceGroupBenchmark'
+ */
+@EnabledIfSystemProperty(named = "gi.benchmark", matches = "true")
+class SourceGroupBenchmark {
+    private static final int BASE_CHANGES = 200_000;
+    private static final int STACK_CHANGES = 50_000;
+
+    @Test
+    void processStacksVersusSourceGroup() {
+        StatRegistry registry = new StatRegistry();
+        registry.register(StatBuilder.create().id("attack").displayName("attack").range(0, 1e15).defaultValue(10).build());
+        registry.lock();
+
+        for (int stacks : new int[]{20, 200, 1000}) {
+            TestHolder holder = new TestHolder(registry);
+            IStatInstance instance = holder.getOrCreateIStatInstance("attack");
+            ProcessStacks before = new ProcessStacks(holder);
+
+            Random random = new Random(1);
+            List<IStatModifier> initial = new ArrayList<>();
+            for (int i = 0; i < stacks; i++) {
+                initial.add(StatModifierBuilder.create().source("boss:aura").statId("attack")
+                        .flat(1 + random.nextInt(100)).maxStacks(50).build());
+            }
+            for (int source = 0; source < 10; source++) {
+                for (int i = 0; i < 3; i++) {
+                    initial.add(StatModifierBuilder.create().source("gear:" + source).statId("attack").flat(5 + i).build());
+                }
+            }
+            initial.forEach(modifier -> {
+                instance.addModifier(modifier);
+                before.add(modifier);
+            });
+            IStatModifier[] pool = new IStatModifier[100];
+            for (int i = 0; i < pool.length; i++) {
+                pool[i] = StatModifierBuilder.create().source("boss:aura").statId("attack").flat(1 + i).maxStacks(50).build();
+            }
+            assertEquals(before.recalculate(10), instance.getFinal(), 1e-9);
+
+            double sink = 0;
+            long[] nanos = new long[4];
+            for (int round = 0; round < 2; round++) { // 첫 라운드는 워밍업
+                long start = System.nanoTime();
+                for (int i = 0; i < BASE_CHANGES; i++) {
+                    sink += before.recalculate(10 + (i & 1));
+                }
+                nanos[0] = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                for (int i = 0; i < BASE_CHANGES; i++) {
+                    instance.setBase(10 + (i & 1));
+                    sink += instance.getFinal();
+                }
+                nanos[1] = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                for (int i = 0; i < STACK_CHANGES; i++) {
+                    IStatModifier modifier = pool[i % pool.length];
+                    before.add(modifier);
+                    sink += before.recalculate(10);
+                    before.remove(modifier);
+                    sink += before.recalculate(10);
+                }
+                nanos[2] = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                for (int i = 0; i < STACK_CHANGES; i++) {
+                    IStatModifier modifier = pool[i % pool.length];
+                    instance.addModifier(modifier);
+                    sink += instance.getFinal();
+                    instance.removeModifier(modifier.getID());
+                    sink += instance.getFinal();
+                }
+                nanos[3] = System.nanoTime() - start;
+            }
+
+            System.out.printf("stacks=%4d  base change + recalc: processStacks %9.1f, SourceGroup %7.1f ns"
+                            + " | add/remove stack + recalc: processStacks %9.1f, SourceGroup %7.1f ns%n",
+                    stacks, nanos[0] / (double) BASE_CHANGES, nanos[1] / (double) BASE_CHANGES,
+                    nanos[2] / (2.0 * STACK_CHANGES), nanos[3] / (2.0 * STACK_CHANGES));
+            System.out.println("checksum " + sink);
+        }
+    }
+
+    /**
+     * 이전 StatInstance 재계산: 활성 수정자를 스트림으로 걸러 source별로 묶고, 스택 제한이 있으면 정렬
+     */
+    private static final class ProcessStacks {
+        private final IStatHolder holder;
+        private final Map<UUID, IStatModifier> modifiers = new ConcurrentHashMap<>();
+
+        private ProcessStacks(IStatHolder holder) {
+            this.holder = holder;
+        }
+
+        void add(IStatModifier modifier) {
+            modifiers.put(modifier.getID(), modifier);
+        }
+
+        void remove(IStatModifier modifier) {
+            modifiers.remove(modifier.getID());
+        }
+
+        double recalculate(double base) {
+            List<IStatModifier> active = modifiers.values().stream()
+                    .filter(m -> !m.isExpired())
+                    .filter(IStatModifier::isActive)
+                    .filter(m -> m.meetsCondition(holder))
+                    .toList();
+            List<IStatModifier> processed = processStacks(active);
+
+            double flat = processed.stream().filter(m -> m.getType() == ModifierType.FLAT)
+                    .mapToDouble(IStatModifier::getValue).sum();
+            double percent = processed.stream().filter(m -> m.getType() == ModifierType.PERCENT)
+                    .mapToDouble(IStatModifier::getValue).sum();
+            double multiply = processed.stream().filter(m -> m.getType() == ModifierType.MULTIPLY)
+                    .mapToDouble(IStatModifier::getValue).reduce(1.0, (a, b) -> a * b);
+            return (base + flat) * (1 + percent) * multiply;
+        }
+
+        private static List<IStatModifier> processStacks(Collection<IStatModifier> modifiers) {
+            Map<String, List<IStatModifier>> bySource = modifiers.stream()
+                    .collect(Collectors.groupingBy(IStatModifier::getSource));
+
+            List<IStatModifier> result = new ArrayList<>();
+            for (List<IStatModifier> sourceModifiers : bySource.values()) {
+                IStatModifier first = sourceModifiers.getFirst();
+                if (!first.isStackable()) {
+                    sourceModifiers.stream()
+                            .max(Comparator.comparingDouble(m -> Math.abs(m.getValue())))
+                            .ifPresent(result::add);
+                } else if (first.getStackCount() > 0 && sourceModifiers.size() > first.getStackCount()) {
+                    sourceModifiers.stream()
+                            .sorted(Comparator.comparingDouble((IStatModifier m) -> Math.abs(m.getValue())).reversed())
+                            .limit(first.getStackCount())
+                            .forEach(result::add);
+                } else {
+                    result.addAll(sourceModifiers);
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.gi.stat;
+
+import org.gi.builder.StatBuilder;
+import org.gi.builder.StatModifierBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatHolderVersionTest {
+    private StatRegistry registry;
+    private IStatHolder holder;
+
+    @BeforeEach
+    void setUp() {
+        registry = new StatRegistry();
+        registry.register(StatBuilder.create().id("attack").displayName("attack").range(0, 1e9).defaultValue(10).build());
+        registry.register(StatBuilder.create().id("power").displayName("power").range(0, 1e9).derived("attack * 2").build());
+        registry.lock();
+        holder = new TestHolder(registry);
+        ((StatHolder) holder).initializeAllStats();
+    }
+
+    @Test
+    void invalidationWithoutValueChangeKeepsVersion() {
+        HolderSnapshot before = holder.getSnapshot();
+        long version = holder.getVersion();
+
+        holder.recalculateAllStat();
+        holder.getIStatInstance("attack").orElseThrow().inValidateCache();
+
+        assertFalse(holder.hasChangedSince(version));
+        assertSame(before, holder.getSnapshot());
+    }
+
+    @Test
+    void valueChangeBumpsVersionOnce() {
+        long version = holder.getVersion();
+        IStatModifier buff = StatModifierBuilder.create().source("buff").statId("attack").flat(5).build();
+
+        holder.addModifier(buff);
+        assertTrue(holder.hasChangedSince(version));
+        long changed = holder.getVersion();
+        assertEquals(changed, holder.getVersion());
+
+        HolderSnapshot snapshot = holder.getSnapshot();
+        assertEquals(15, snapshot.get(registry.getKey("attack").orElseThrow()));
+        assertEquals(30, snapshot.get(registry.getKey("power").orElseThrow()));
+    }
+
+    @Test
+    void changeThatCancelsOutKeepsVersion() {
+        long version = holder.getVersion();
+        IStatModifier buff = StatModifierBuilder.create().source("buff").statId("attack").flat(5).build();
+
+        holder.batch(tx -> tx.add(buff).remove("attack", buff.getID()));
+        holder.setBase("attack", 12);
+        holder.setBase("attack", 10);
+
+        assertEquals(version, holder.getVersion());
+    }
+}
@@ -0,0 +1,248 @@
+package org.gi.stat;
+
+import com.sun.management.ThreadMXBean;
+import org.gi.builder.StatBuilder;
+import org.gi.builder.StatModifierBuilder;
+import org.gi.stat.enums.ModifierType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class StatInstanceTest {
+    private static final long SNAPSHOT_BYTES = 64; // StatSnapshot 한 개 (헤더 + 참조 + double 5개 + int)
+    private static final long ONE_OFF_BYTES = 1024; // 측정 구간의 일회성 할당 (JIT 전환 등), 반복마다 생기는 할당은 못 숨김
+    private StatRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new StatRegistry();
+        registry.register(StatBuilder.create().id("attack").displayName("attack").range(0, 1e12).defaultValue(10).build());
+        registry.register(StatBuilder.create().id("power").displayName("power").range(0, 1e12).derived("attack * 2").build());
+        registry.lock();
+    }
+
+    @Test
+    void staleReaderDoesNotWaitForRecalculation() throws Exception {
+        TestHolder holder = new TestHolder(registry);
+        IStatInstance attack = holder.getOrCreateIStatInstance("attack");
+
+        AtomicBoolean armed = new AtomicBoolean();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Predicate<IStatHolder> slow = ignored -> {
+            if (armed.get()) {
+                entered.countDown();
+                awaitQuietly(release);
+            }
+            return true;
+        };
+        attack.addModifier(StatModifierBuilder.create().source("aura").statId("attack").flat(5).condition(slow).build());
+        assertEquals(15, attack.getFinal());
+
+        attack.setBase(20);
+        armed.set(true);
+        AtomicReference<Double> recomputed = new AtomicReference<>();
+        Thread recomputer = new Thread(() -> recomputed.set(attack.getFinal()));
+        recomputer.start();
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        // 재계산이 조건 평가에서 멈춰 있는 동안 다른 스레드는 직전 값을 바로 받음
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () -> assertEquals(15, attack.getFinal()));
+
+        armed.set(false);
+        release.countDown();
+        recomputer.join(5_000);
+        assertEquals(25, recomputed.get());
+        assertEquals(25, attack.getFinal());
+    }
+
+    @Test
+    void writerSeesOwnWriteWhileAnotherThreadRecalculates() throws Exception {
+        TestHolder holder = new TestHolder(registry);
+        IStatInstance attack = holder.getOrCreateIStatInstance("attack");
+
+        AtomicBoolean armed = new AtomicBoolean();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Predicate<IStatHolder> slow = ignored -> {
+            if (armed.get()) {
+                entered.countDown();
+                awaitQuietly(release);
+            }
+            return true;
+        };
+        attack.addModifier(StatModifierBuilder.create().source("aura").statId("attack").flat(5).condition(slow).build());
+        assertEquals(15, attack.getFinal());
+
+        attack.setBase(20);
+        armed.set(true);
+        Thread recomputer = new Thread(attack::getFinal);
+        recomputer.start();
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        // 재계산이 멈춰 있는 동안 쓴 스레드는 직전 스냅샷이 아니라 자기 쓰기가 반영된 값을 기다림
+        AtomicReference<Double> written = new AtomicReference<>();
+        CountDownLatch wrote = new CountDownLatch(1);
+        Thread writer = new Thread(() -> {
+            attack.setBase(30);
+            wrote.countDown();
+            written.set(attack.getFinal());
+        });
+        writer.start();
+        assertTrue(wrote.await(5, TimeUnit.SECONDS));
+        writer.join(200);
+        assertTrue(writer.isAlive(), "writer returned " + written.get() + " before its write was recalculated");
+
+        // 쓰지 않은 스레드는 여전히 대기 없이 직전 값
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () -> assertEquals(15, attack.getFinal()));
+
+        armed.set(false);
+        release.countDown();
+        writer.join(5_000);
+        recomputer.join(5_000);
+        assertEquals(35, written.get());
+        assertEquals(35, attack.getFinal());
+    }
+
+    @Test
+    void unchangedRecalculationReusesSnapshot() {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        TestHolder holder = new TestHolder(registry);
+        IStatInstance attack = holder.getOrCreateIStatInstance("attack");
+        attack.addModifier(StatModifierBuilder.create().source("gear").statId("attack").flat(5).build());
+        StatSnapshot first = attack.getSnapshot();
+
+        for (int i = 0; i < 20_000; i++) {
+            attack.inValidateCache();
+            attack.getFinal();
+        }
+        int iterations = 10_000;
+        long thread = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < iterations; i++) {
+            attack.inValidateCache();
+            attack.getFinal();
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        assertSame(first, attack.getSnapshot());
+        assertTrue(allocated < iterations, allocated + " bytes over " + iterations + " recalculations");
+    }
+
+    /**
+     * 값이 바뀐 재계산 (setBase 후 getFinal)은 새 StatSnapshot 하나만 할당
+     * 스냅샷은 불변이라 값이 바뀔 때마다 하나씩 필요, 수정자 수와는 무관
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 100})
+    void changedRecalculationAllocatesOnlyTheSnapshot(int count) {
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        TestHolder holder = new TestHolder(registry);
+        IStatInstance attack = holder.getOrCreateIStatInstance("attack");
+        for (int i = 0; i < count; i++) {
+            attack.addModifier(StatModifierBuilder.create().source("source-" + (i % 8)).statId("attack").flat(i).build());
+        }
+
+        for (int i = 0; i < 20_000; i++) {
+            attack.setBase(10 + (i & 1));
+            attack.getFinal();
+        }
+        int iterations = 10_000;
+        long thread = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < iterations; i++) {
+            attack.setBase(10 + (i & 1));
+            attack.getFinal();
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+
+        assertTrue(allocated <= (long) iterations * SNAPSHOT_BYTES + ONE_OFF_BYTES,
+                count + " modifiers: " + allocated + " bytes over " + iterations + " changed recalculations");
+    }
+
+    /**
+     * 쓰기 1개 + 읽기 4개 스레드, 읽기는 항상 한 재계산에서 나온 일관된 스냅샷을 보고
+     * 스냅샷 버전은 뒤로 가지 않으며, 쓰기가 끝난 뒤에는 파생 스탯까지 최신 값으로 수렴
+     */
+    @Test
+    void concurrentReadersSeeConsistentSnapshots() throws Exception {
+        TestHolder holder = new TestHolder(registry);
+        IStatInstance attack = holder.getOrCreateIStatInstance("attack");
+        IStatInstance power = holder.getOrCreateIStatInstance("power");
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < 4; r++) {
+            Thread reader = new Thread(() -> {
+                int lastVersion = Integer.MIN_VALUE;
+                try {
+                    while (running.get()) {
+                        StatSnapshot snapshot = attack.getSnapshot();
+                        double expected = (snapshot.base() + snapshot.totalFlat())
+                                * (1 + snapshot.totalPercent()) * snapshot.totalMultiply();
+                        assertEquals(expected, snapshot.finalValue(), 1e-9);
+                        assertTrue(snapshot.version() >= lastVersion, "snapshot version went backwards");
+                        lastVersion = snapshot.version();
+                        power.getFinal();
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+            reader.start();
+            readers.add(reader);
+        }
+
+        List<UUID> active = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            if (active.size() > 8) {
+                attack.removeModifier(active.removeFirst());
+            }
+            IStatModifier modifier = StatModifierBuilder.create().source("buff:" + (i % 5)).statId("attack")
+                    .type(i % 3 == 0 ? ModifierType.PERCENT : ModifierType.FLAT).value(i % 3 == 0 ? 0.01 : 1).build();
+            attack.addModifier(modifier);
+            active.add(modifier.getID());
+            if (i % 7 == 0) {
+                attack.setBase(10 + i % 13);
+            }
+        }
+        running.set(false);
+        for (Thread reader : readers) {
+            reader.join(10_000);
+        }
+
+        assertNull(failure.get(), () -> String.valueOf(failure.get()));
+        assertEquals(attack.getFinal() * 2, power.getFinal(), 1e-9);
+        assertEquals(attack.getFinal() * 2, holder.getSnapshot().get(registry.getKey("power").orElseThrow()), 1e-9);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
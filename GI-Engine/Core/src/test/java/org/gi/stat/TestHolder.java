@@ -0,0 +1,47 @@
+package org.gi.stat;
+
+import org.gi.stat.enums.HolderType;
+
+import java.util.UUID;
+
+/**
+ * 테스트용 StatHolder
+ */
+class TestHolder extends StatHolder {
+    private final UUID uuid = UUID.randomUUID();
+
+    TestHolder(IStatRegistry statRegistry) {
+        super(statRegistry);
+    }
+
+    TestHolder(IStatRegistry statRegistry, ModifierExpiryWheel expiryWheel) {
+        super(statRegistry, expiryWheel);
+    }
+
+    @Override
+    public UUID getUUID() {
+        return uuid;
+    }
+
+    @Override
+    public HolderType getType() {
+        return HolderType.PLAYER;
+    }
+
+    @Override
+    public String getName() {
+        return "test";
+    }
+
+    @Override
+    public void setBase(String statId, double value) {
+        getOrCreateIStatInstance(statId).setBase(value);
+    }
+
+    @Override
+    public void clearAllModifiers() {
+        for (IStatInstance instance : getAllIStatInstances()) {
+            instance.clearModifiers();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.gi.stat.formula;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.invoke.MethodHandle;
+
+/**
+ * 인스턴스 필드 핸들(이전) vs 수식별 히든 클래스(현재) 호출 비용, 같은 식의 자바 코드를 기준으로 비교
+ * 실행: gradle :Core:test -Pbenchmark --tests '*StatFormulaBenchmark'
+ */
+@EnabledIfSystemProperty(named = "gi.benchmark", matches = "true")
+class StatFormulaBenchmark {
+    private static final String SOURCE = "(base + flat) * (1 + percent) * multiply + min(base, 100) * 0.1";
+    private static final int CALLS = 20_000_000;
+
+    @Test
+    void fieldHandleVersusHiddenClass() throws Throwable {
+        FieldHandle before = new FieldHandle(Formula.parse(SOURCE).compile(StatFormula.VARIABLES));
+        StatFormula after = StatFormula.compile(SOURCE);
+
+        double sink = 0;
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            sink += runFieldHandle(before);
+            long field = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            sink += runHiddenClass(after);
+            long hidden = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            sink += runJava();
+            long java = System.nanoTime() - start;
+
+            System.out.printf("round %d: field handle %.2f, hidden class %.2f, java %.2f ns/call%n",
+                    round, field / (double) CALLS, hidden / (double) CALLS, java / (double) CALLS);
+        }
+        System.out.println("checksum " + sink);
+    }
+
+    private static double runFieldHandle(FieldHandle formula) throws Throwable {
+        double sum = 0;
+        for (int i = 0; i < CALLS; i++) {
+            sum += formula.apply(i & 1023, 5, 0.25, 1.5);
+        }
+        return sum;
+    }
+
+    private static double runHiddenClass(StatFormula formula) {
+        double sum = 0;
+        for (int i = 0; i < CALLS; i++) {
+            sum += formula.apply(i & 1023, 5, 0.25, 1.5);
+        }
+        return sum;
+    }
+
+    private static double runJava() {
+        double sum = 0;
+        for (int i = 0; i < CALLS; i++) {
+            double base = i & 1023;
+            sum += (base + 5) * (1 + 0.25) * 1.5 + Math.min(base, 100) * 0.1;
+        }
+        return sum;
+    }
+
+    /**
+     * 이전 StatFormula 구조: 인스턴스 필드의 핸들을 invokeExact
+     */
+    private static final class FieldHandle {
+        private final MethodHandle handle;
+
+        private FieldHandle(MethodHandle handle) {
+            this.handle = handle;
+        }
+
+        double apply(double base, double flat, double percent, double multiply) throws Throwable {
+            return (double) handle.invokeExact(base, flat, percent, multiply);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.gi.stat.formula;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatFormulaTest {
+
+    @Test
+    void matchesTreeEvaluation() {
+        String source = "1 - 1 / (1 + (base + flat) * (1 + percent) * multiply)";
+        StatFormula compiled = StatFormula.compile(source);
+        Formula tree = Formula.parse(source);
+
+        double[][] inputs = {{0, 0, 0, 1}, {10, 5, 0.25, 1.5}, {3, -2, -0.5, 0.8}};
+        for (double[] in : inputs) {
+            double[] byName = new double[tree.getVariables().size()];
+            for (int i = 0; i < byName.length; i++) {
+                byName[i] = in[StatFormula.VARIABLES.indexOf(tree.getVariables().get(i))];
+            }
+            assertEquals(tree.evaluate(byName), compiled.apply(in[0], in[1], in[2], in[3]), 1e-12);
+        }
+    }
+
+    @Test
+    void sameSourceSharesOneFormula() {
+        StatFormula first = StatFormula.compile("base * 2 + flat");
+        StatFormula second = StatFormula.compile("min(base + flat, 100) * multiply");
+
+        assertSame(first, StatFormula.compile("  base * 2 + flat "));
+        assertEquals(7, first.apply(3, 1, 0, 1));
+        assertEquals(100, second.apply(90, 20, 0, 1));
+        assertEquals(55, second.apply(50, 5, 0, 1));
+    }
+
+    @Test
+    void rejectsUnknownVariables() {
+        assertThrows(IllegalArgumentException.class, () -> StatFormula.compile("base + vitality"));
+        assertThrows(IllegalArgumentException.class, () -> StatFormula.compile(" "));
+    }
+}
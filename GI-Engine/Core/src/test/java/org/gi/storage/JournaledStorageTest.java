@@ -0,0 +1,136 @@
+package org.gi.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournaledStorageTest {
+    private static final Logger LOGGER = Logger.getLogger("JournaledStorageTest");
+
+    @TempDir
+    Path directory;
+
+    private final List<JournaledStorage> opened = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        opened.forEach(JournaledStorage::shutdown);
+    }
+
+    /**
+     * 저장소 장애 후 재시도 간격 동안 저장이 계속 들어와도 (기록마다 signal) 재시도가 밀리지 않음
+     */
+    @Test
+    void retriesWhileSavesKeepArriving() throws Exception {
+        RecordingStorage backend = new RecordingStorage();
+        backend.failures.set(1);
+        JournaledStorage journal = open(backend);
+
+        List<UUID> appended = new ArrayList<>();
+        appended.add(append(journal));
+        awaitTrue(() -> backend.failures.get() == 0, 5_000); // 첫 반영 실패, 재시도 대기 중
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (backend.saved.isEmpty()) {
+            assertTrue(System.nanoTime() < deadline, "journal never retried while saves kept arriving");
+            appended.add(append(journal));
+            Thread.sleep(10);
+        }
+
+        awaitTrue(() -> journal.getPendingCount() == 0, 5_000);
+        Set<UUID> replayed = backend.saved.stream().map(PlayerStatDelta::getPlayerUUID).collect(Collectors.toSet());
+        assertTrue(replayed.containsAll(appended));
+    }
+
+    @Test
+    void pendingSavesReplayInOrderOnRestart() throws Exception {
+        UUID saved = UUID.randomUUID();
+        UUID changed = UUID.randomUUID();
+        UUID deleted = UUID.randomUUID();
+
+        RecordingStorage down = new RecordingStorage();
+        down.failures.set(Integer.MAX_VALUE);
+        JournaledStorage first = open(down);
+        first.save(PlayerStatData.builder().playerUUID(saved).baseValue("attack", 20).build()).join();
+        first.saveDelta(PlayerStatDelta.builder().playerUUID(changed).baseValue("attack", 5).build()).join();
+        first.delete(deleted).join();
+
+        // 반영 전에도 로드는 journal 기록을 덮어 반환
+        assertEquals(20, first.load(saved).join().orElseThrow().getBaseValues().get("attack"));
+        assertFalse(first.exists(deleted).join());
+        first.shutdown();
+        opened.remove(first);
+        assertTrue(down.operations.isEmpty());
+
+        RecordingStorage up = new RecordingStorage();
+        JournaledStorage second = open(up);
+        awaitTrue(() -> second.getPendingCount() == 0, 5_000);
+
+        assertEquals(List.of("save:" + saved, "delta:" + changed, "delete:" + deleted), up.operations);
+        assertEquals(0, journalFile().length()); // 모두 반영되면 journal을 비움
+    }
+
+    @Test
+    void truncatedTailIsDroppedOnRestart() throws Exception {
+        UUID kept = UUID.randomUUID();
+        RecordingStorage down = new RecordingStorage();
+        down.failures.set(Integer.MAX_VALUE);
+        JournaledStorage first = open(down);
+        first.save(PlayerStatData.builder().playerUUID(kept).baseValue("attack", 1).build()).join();
+        first.save(PlayerStatData.builder().playerUUID(UUID.randomUUID()).baseValue("attack", 2).build()).join();
+        first.shutdown();
+        opened.remove(first);
+
+        try (FileChannel channel = FileChannel.open(journalFile().toPath(), StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3); // 마지막 기록을 쓰다 종료된 경우
+        }
+
+        RecordingStorage up = new RecordingStorage();
+        JournaledStorage second = open(up);
+        awaitTrue(() -> second.getPendingCount() == 0, 5_000);
+
+        assertEquals(List.of("save:" + kept), up.operations);
+    }
+
+    private JournaledStorage open(RecordingStorage backend) {
+        JournaledStorage journal = new JournaledStorage(backend, LOGGER, journalFile(), 0);
+        assertTrue(journal.initialize().isSuccess());
+        opened.add(journal);
+        return journal;
+    }
+
+    private File journalFile() {
+        return directory.resolve("journal.log").toFile();
+    }
+
+    private static UUID append(JournaledStorage journal) {
+        UUID playerUUID = UUID.randomUUID();
+        assertTrue(journal.saveDelta(PlayerStatDelta.builder().playerUUID(playerUUID).baseValue("attack", 1).build())
+                .join().isSuccess());
+        return playerUUID;
+    }
+
+    private static void awaitTrue(BooleanSupplier condition, long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package org.gi.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogSegmentTest {
+    private static final Logger LOGGER = Logger.getLogger("LogSegmentTest");
+
+    @TempDir
+    Path directory;
+
+    private final UUID first = UUID.randomUUID();
+    private final UUID second = UUID.randomUUID();
+
+    @Test
+    void truncatedTailIsDropped() throws IOException {
+        long firstEnd = writeTwo();
+        truncate(log(), Files.size(log()) - 5);
+
+        try (LogSegment segment = LogSegment.open(directory, 1, LOGGER)) {
+            assertEquals("first", read(segment, first));
+            assertTrue(segment.read(second).isEmpty());
+            assertEquals(firstEnd, segment.size());
+        }
+        assertEquals(firstEnd, Files.size(log()));
+    }
+
+    @Test
+    void corruptedTailIsDroppedAndAppendContinues() throws IOException {
+        long firstEnd = writeTwo();
+        flipLastByte(log());
+
+        try (LogSegment segment = LogSegment.open(directory, 1, LOGGER)) {
+            assertTrue(segment.read(second).isEmpty());
+            assertEquals(firstEnd, segment.size());
+            segment.append(List.of(LogSegment.Write.put(second, bytes("second again"))));
+        }
+
+        try (LogSegment segment = LogSegment.open(directory, 1, LOGGER)) {
+            assertEquals("first", read(segment, first));
+            assertEquals("second again", read(segment, second));
+        }
+    }
+
+    @Test
+    void recordsAfterIndexAreReplayed() throws IOException {
+        UUID third = UUID.randomUUID();
+        try (LogSegment segment = LogSegment.open(directory, 1, LOGGER)) {
+            segment.append(List.of(LogSegment.Write.put(first, bytes("first")), LogSegment.Write.put(second, bytes("second"))));
+            segment.writeIndex();
+            segment.append(List.of(LogSegment.Write.put(third, bytes("third")), LogSegment.Write.delete(first)));
+        }
+
+        try (LogSegment segment = LogSegment.open(directory, 1, LOGGER)) {
+            assertTrue(segment.read(first).isEmpty());
+            assertEquals("second", read(segment, second));
+            assertEquals("third", read(segment, third));
+            assertEquals(2, segment.players());
+        }
+    }
+
+    @Test
+    void compactedLogSurvivesReopen() throws IOException {
+        try (LogSegment segment = LogSegment.open(directory, 1, LOGGER)) {
+            for (int i = 0; i < 10; i++) {
+                segment.append(List.of(LogSegment.Write.put(first, bytes("first " + i))));
+            }
+            segment.append(List.of(LogSegment.Write.put(second, bytes("second"))));
+            assertTrue(segment.garbageRatio() > 0.5);
+
+            segment.compact();
+            assertEquals(0, segment.garbageRatio());
+        }
+        assertTrue(Files.notExists(log().resolveSibling(log().getFileName() + ".compact")));
+
+        try (LogSegment segment = LogSegment.open(directory, 1, LOGGER)) {
+            assertEquals("first 9", read(segment, first));
+            assertEquals("second", read(segment, second));
+            assertEquals(0, segment.garbageRatio());
+        }
+    }
+
+    /**
+     * 두 플레이어를 각각 한 번씩 기록하고 닫음 (인덱스 없음)
+     *
+     * @return 첫 기록이 끝나는 위치
+     */
+    private long writeTwo() throws IOException {
+        try (LogSegment segment = LogSegment.open(directory, 1, LOGGER)) {
+            segment.append(List.of(LogSegment.Write.put(first, bytes("first"))));
+            long firstEnd = segment.size();
+            segment.append(List.of(LogSegment.Write.put(second, bytes("second"))));
+            return firstEnd;
+        }
+    }
+
+    private Path log() {
+        return directory.resolve("segment-00001.log");
+    }
+
+    private static String read(LogSegment segment, UUID playerUUID) throws IOException {
+        Optional<byte[]> payload = segment.read(playerUUID);
+        assertTrue(payload.isPresent(), () -> "missing record for " + playerUUID);
+        return new String(payload.get(), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void truncate(Path file, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(size);
+        }
+    }
+
+    private static void flipLastByte(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long position = channel.size() - 1;
+            ByteBuffer last = ByteBuffer.allocate(1);
+            LogSegment.readFully(channel, last, position);
+            last.put(0, (byte) (last.get(0) ^ 0xFF)).rewind();
+            LogSegment.writeFully(channel, last, position);
+        }
+    }
+}
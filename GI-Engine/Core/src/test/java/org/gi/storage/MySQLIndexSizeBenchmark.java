@@ -0,0 +1,184 @@
+package org.gi.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.*;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MySQL v1(VARCHAR UUID, 문자열 stat_id/source) vs v2(BINARY(16), 사전 키) 테이블/인덱스 크기
+ * v1 테이블을 채운 뒤 MySQLStorage의 온라인 이전으로 v2로 옮기고 information_schema.TABLES 비교
+ * 비어 있는 테스트용 데이터베이스에서만 실행 (끝나면 만든 테이블을 모두 지움)
+ * 실행: gradle :Core:test -Pbenchmark -Pgi.mysql.host=localhost -Pgi.mysql.database=gi_bench
+ *      -Pgi.mysql.user=root -Pgi.mysql.password=... --tests '*MySQLIndexSizeBenchmark'
+ */
+@EnabledIfSystemProperty(named = "gi.benchmark", matches = "true")
+@EnabledIfSystemProperty(named = "gi.mysql.host", matches = ".+")
+class MySQLIndexSizeBenchmark {
+    private static final int PLAYERS = 3_000;
+    private static final int STATS = 20;
+    private static final int MODIFIERS = 3;
+    private static final List<String> TABLES = List.of("player_stats", "player_modifiers",
+            "player_stats_v2", "player_modifiers_v2", "stat_dictionary", "source_dictionary", "storage_meta", "player_blobs");
+
+    @Test
+    void legacyVersusDictionarySchema() throws Exception {
+        MySQLSetting setting = new MySQLSetting(System.getProperty("gi.mysql.host"),
+                Integer.getInteger("gi.mysql.port", 3306), System.getProperty("gi.mysql.user", "root"),
+                System.getProperty("gi.mysql.password", ""), System.getProperty("gi.mysql.database", "gi_bench"),
+                2000, 0, 0, 500, 30000, 4);
+
+        try (Connection conn = DriverManager.getConnection(setting.getURL(), setting.getUser(), setting.getPassword())) {
+            for (String table : TABLES) {
+                assertFalse(tableExists(conn, table), table + " already exists, use an empty database");
+            }
+            try {
+                createLegacyTables(conn);
+                fillLegacyTables(conn);
+                report(conn, "v1", List.of("player_stats", "player_modifiers"));
+
+                MySQLStorage storage = new MySQLStorage(Logger.getLogger("MySQLIndexSizeBenchmark"), setting);
+                assertTrue(storage.initialize().isSuccess());
+                try {
+                    long deadline = System.nanoTime() + 300_000_000_000L;
+                    while (count(conn, "player_stats") + count(conn, "player_modifiers") > 0) {
+                        assertTrue(System.nanoTime() < deadline, "migration did not finish");
+                        Thread.sleep(200);
+                    }
+                } finally {
+                    storage.shutdown();
+                }
+                assertEquals((long) PLAYERS * STATS, count(conn, "player_stats_v2"));
+                report(conn, "v2", List.of("player_stats_v2", "player_modifiers_v2", "stat_dictionary", "source_dictionary"));
+            } finally {
+                try (Statement stmt = conn.createStatement()) {
+                    for (String table : TABLES) {
+                        stmt.execute("DROP TABLE IF EXISTS " + table);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 이전 커밋의 v1 DDL 그대로
+     */
+    private static void createLegacyTables(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE player_stats (
+                    player_uuid VARCHAR(36) NOT NULL,
+                    stat_id VARCHAR(64) NOT NULL,
+                    base_value DOUBLE NOT NULL,
+                    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+                    PRIMARY KEY (player_uuid, stat_id),
+                    INDEX idx_player (player_uuid)
+                ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4
+                """);
+            stmt.execute("""
+                CREATE TABLE player_modifiers (
+                    player_uuid VARCHAR(36) NOT NULL,
+                    modifier_uuid VARCHAR(36) NOT NULL,
+                    stat_id VARCHAR(64) NOT NULL,
+                    source VARCHAR(128) NOT NULL,
+                    display_name VARCHAR(128),
+                    type VARCHAR(16) NOT NULL,
+                    value DOUBLE NOT NULL,
+                    priority INT DEFAULT 0,
+                    stackable BOOLEAN DEFAULT TRUE,
+                    max_stacks INT DEFAULT -1,
+                    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                    PRIMARY KEY (player_uuid, modifier_uuid),
+                    INDEX idx_player (player_uuid),
+                    INDEX idx_stat (stat_id)
+                ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4
+                """);
+        }
+    }
+
+    private static void fillLegacyTables(Connection conn) throws SQLException {
+        conn.setAutoCommit(false);
+        try (PreparedStatement stats = conn.prepareStatement(
+                "INSERT INTO player_stats (player_uuid, stat_id, base_value) VALUES (?, ?, ?)");
+             PreparedStatement modifiers = conn.prepareStatement("INSERT INTO player_modifiers "
+                     + "(player_uuid, modifier_uuid, stat_id, source, display_name, type, value) VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            for (int i = 0; i < PLAYERS; i++) {
+                String uuid = UUID.randomUUID().toString();
+                for (int k = 0; k < STATS; k++) {
+                    stats.setString(1, uuid);
+                    stats.setString(2, "stat_" + k);
+                    stats.setDouble(3, k + i);
+                    stats.addBatch();
+                }
+                for (int k = 0; k < MODIFIERS; k++) {
+                    String source = "permanent:quest_" + k;
+                    modifiers.setString(1, uuid);
+                    modifiers.setString(2, UUID.randomUUID().toString());
+                    modifiers.setString(3, "stat_" + k);
+                    modifiers.setString(4, source);
+                    modifiers.setString(5, source);
+                    modifiers.setString(6, "FLAT");
+                    modifiers.setDouble(7, k);
+                    modifiers.addBatch();
+                }
+                if (i % 500 == 499) {
+                    stats.executeBatch();
+                    modifiers.executeBatch();
+                }
+            }
+            stats.executeBatch();
+            modifiers.executeBatch();
+            conn.commit();
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * InnoDB: DATA_LENGTH는 기본 키(클러스터드) 포함, INDEX_LENGTH는 보조 인덱스
+     */
+    private static void report(Connection conn, String schema, List<String> tables) throws SQLException {
+        long data = 0;
+        long index = 0;
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("SET SESSION information_schema_stats_expiry = 0");
+            for (String table : tables) {
+                stmt.execute("ANALYZE TABLE " + table);
+            }
+        }
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT DATA_LENGTH, INDEX_LENGTH FROM information_schema.TABLES "
+                + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?")) {
+            for (String table : tables) {
+                stmt.setString(1, table);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    assertTrue(rs.next(), table);
+                    System.out.printf("%s %-20s data %8d KB, index %8d KB%n",
+                            schema, table, rs.getLong(1) / 1024, rs.getLong(2) / 1024);
+                    data += rs.getLong(1);
+                    index += rs.getLong(2);
+                }
+            }
+        }
+        System.out.printf("%s total: data %d KB, secondary index %d KB (%d players, %d stats, %d modifiers)%n",
+                schema, data / 1024, index / 1024, PLAYERS, STATS, MODIFIERS);
+    }
+
+    private static boolean tableExists(Connection conn, String table) throws SQLException {
+        try (ResultSet rs = conn.getMetaData().getTables(conn.getCatalog(), null, table, new String[]{"TABLE"})) {
+            return rs.next();
+        }
+    }
+
+    private static long count(Connection conn, String table) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package org.gi.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MySQLStorageTest {
+    private MySQLStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new MySQLStorage(Logger.getLogger("MySQLStorageTest"),
+                new MySQLSetting("localhost", 3306, "user", "password", "gi"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        storage.shutdown();
+    }
+
+    @Test
+    void upsertUsesRowAlias() {
+        String clause = storage.getUpsertClause(List.of("player_uuid", "stat_id"), List.of("base_value"));
+
+        assertEquals(" AS new ON DUPLICATE KEY UPDATE base_value = new.base_value", clause);
+        assertFalse(clause.contains("VALUES("));
+    }
+
+    @Test
+    void upsertWithoutUpdatesKeepsExistingRow() {
+        assertEquals(" ON DUPLICATE KEY UPDATE stat_id = stat_id",
+                storage.getUpsertClause(List.of("stat_id"), List.of()));
+    }
+}
@@ -0,0 +1,87 @@
+package org.gi.storage;
+
+import org.gi.builder.StatModifierBuilder;
+import org.gi.stat.IStatModifier;
+import org.gi.stat.enums.ModifierType;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlayerDataCodecTest {
+    private static final UUID PLAYER = UUID.randomUUID();
+
+    @Test
+    void dataRoundTrip() {
+        IStatModifier modifier = StatModifierBuilder.create().statId("health").source("permanent:quest")
+                .type(ModifierType.MULTIPLY).value(1.5).priority(-2).stackable(false).maxStacks(3).permanent().build();
+        PlayerStatData data = PlayerStatData.builder().playerUUID(PLAYER)
+                .baseValue("health", 100)
+                .baseValue("crit", 0.15)
+                .baseValue("armor", -3)
+                .baseValue("big", 1e15)
+                .baseValue("zero", -0.0)
+                .permanentModifiers(List.of(modifier))
+                .build();
+
+        PlayerStatData decoded = PlayerDataCodec.decode(PLAYER, PlayerDataCodec.encode(data));
+
+        assertEquals(PLAYER, decoded.getPlayerUUID());
+        assertEquals(data.getBaseValues(), decoded.getBaseValues());
+        assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(decoded.getBaseValues().get("zero")));
+        assertEquals(1, decoded.getPermanentModifiers().size());
+        assertSameModifier(modifier, decoded.getPermanentModifiers().iterator().next());
+    }
+
+    @Test
+    void deltaRoundTrip() {
+        IStatModifier upserted = StatModifierBuilder.create().statId("attack").source("permanent:title").flat(7).permanent().build();
+        UUID removed = UUID.randomUUID();
+        PlayerStatDelta delta = PlayerStatDelta.builder().playerUUID(PLAYER)
+                .baseValue("attack", 12.25)
+                .upsert(upserted)
+                .remove(removed)
+                .build();
+
+        PlayerStatDelta decoded = PlayerDataCodec.decodeDelta(PLAYER, PlayerDataCodec.encodeDelta(delta));
+
+        assertEquals(delta.getBaseValues(), decoded.getBaseValues());
+        assertSameModifier(upserted, decoded.getUpsertedModifiers().iterator().next());
+        assertEquals(List.of(removed), List.copyOf(decoded.getRemovedModifiers()));
+    }
+
+    @Test
+    void emptyDataRoundTrip() {
+        PlayerStatData decoded = PlayerDataCodec.decode(PLAYER,
+                PlayerDataCodec.encode(PlayerStatData.builder().playerUUID(PLAYER).build()));
+
+        assertTrue(decoded.getBaseValues().isEmpty());
+        assertTrue(decoded.getPermanentModifiers().isEmpty());
+    }
+
+    @Test
+    void malformedBytesAreRejected() {
+        byte[] bytes = PlayerDataCodec.encode(PlayerStatData.builder().playerUUID(PLAYER).baseValue("health", 20.5).build());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> PlayerDataCodec.decode(PLAYER, Arrays.copyOf(bytes, bytes.length - 1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> PlayerDataCodec.decode(PLAYER, Arrays.copyOf(bytes, bytes.length + 1)));
+
+        byte[] future = bytes.clone();
+        future[0] = PlayerDataCodec.FORMAT_VERSION + 1;
+        assertThrows(IllegalArgumentException.class, () -> PlayerDataCodec.decode(PLAYER, future));
+    }
+
+    private static void assertSameModifier(IStatModifier expected, IStatModifier actual) {
+        assertEquals(expected.getID(), actual.getID());
+        assertEquals(expected.getStatID(), actual.getStatID());
+        assertEquals(expected.getSource(), actual.getSource());
+        assertEquals(expected.getType(), actual.getType());
+        assertEquals(expected.getValue(), actual.getValue());
+        assertEquals(expected.getPriority(), actual.getPriority());
+        assertEquals(expected.isStackable(), actual.isStackable());
+        assertEquals(expected.getStackCount(), actual.getStackCount());
+    }
+}
@@ -0,0 +1,82 @@
+package org.gi.storage;
+
+import org.gi.Result;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 저장 요청을 기록만 하는 테스트용 저장소
+ * gate가 완료될 때까지 저장 결과를 미루고, failures만큼 기록 요청을 Error로 끝냄
+ */
+class RecordingStorage implements IPlayerDataStorage {
+    final List<PlayerStatDelta> saved = new CopyOnWriteArrayList<>();
+    final List<String> operations = new CopyOnWriteArrayList<>(); // "save:uuid", "delta:uuid", "delete:uuid" 순서대로
+    final AtomicInteger failures = new AtomicInteger();
+    volatile CompletableFuture<Void> gate = CompletableFuture.completedFuture(null);
+
+    @Override
+    public Result initialize() {
+        return Result.SUCCESS;
+    }
+
+    @Override
+    public void shutdown() {
+    }
+
+    @Override
+    public CompletableFuture<Result> save(PlayerStatData data) {
+        if (failNext()) {
+            return CompletableFuture.completedFuture(Result.Error("Storage unavailable"));
+        }
+        return record("save", data.getPlayerUUID());
+    }
+
+    @Override
+    public CompletableFuture<Result> saveDelta(PlayerStatDelta delta) {
+        if (failNext()) {
+            return CompletableFuture.completedFuture(Result.Error("Storage unavailable"));
+        }
+        saved.add(delta);
+        return record("delta", delta.getPlayerUUID());
+    }
+
+    @Override
+    public CompletableFuture<Optional<PlayerStatData>> load(UUID playerUUID) {
+        return CompletableFuture.completedFuture(Optional.empty());
+    }
+
+    @Override
+    public CompletableFuture<Result> delete(UUID playerUUID) {
+        if (failNext()) {
+            return CompletableFuture.completedFuture(Result.Error("Storage unavailable"));
+        }
+        return record("delete", playerUUID);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> exists(UUID playerUUID) {
+        return CompletableFuture.completedFuture(false);
+    }
+
+    @Override
+    public StorageType getType() {
+        return StorageType.FILE;
+    }
+
+    @Override
+    public boolean isConnected() {
+        return true;
+    }
+
+    private boolean failNext() {
+        return failures.getAndUpdate(left -> Math.max(0, left - 1)) > 0;
+    }
+
+    private CompletableFuture<Result> record(String operation, UUID playerUUID) {
+        operations.add(operation + ":" + playerUUID);
+        return gate.thenApply(ignored -> Result.SUCCESS);
+    }
+}
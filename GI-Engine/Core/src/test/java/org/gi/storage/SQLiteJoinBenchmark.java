@@ -0,0 +1,114 @@
+package org.gi.storage;
+
+import org.gi.builder.StatModifierBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SQLite 접속 로드 처리량/지연, 읽기 커넥션 수별
+ * 16개 클라이언트가 계속 load, 동시에 쓰기 스레드가 20ms마다 64명 saveDeltas 커밋 (WAL 읽기와 단일 쓰기 병행)
+ * 실행: gradle :Core:test -Pbenchmark --tests '*SQLiteJoinBenchmark'
+ */
+@EnabledIfSystemProperty(named = "gi.benchmark", matches = "true")
+class SQLiteJoinBenchmark {
+    private static final int PLAYERS = 2_000;
+    private static final int CLIENTS = 16;
+    private static final long DURATION_NANOS = TimeUnit.SECONDS.toNanos(3);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void loadsWhileWriting() throws Exception {
+        for (int readers : new int[]{1, 2, 4}) {
+            SQLiteStorage storage = new SQLiteStorage(Logger.getLogger("SQLiteJoinBenchmark"), directory.toFile(),
+                    "join-" + readers + ".db", false, readers);
+            assertTrue(storage.initialize().isSuccess());
+            try {
+                run(storage, readers);
+            } finally {
+                storage.shutdown();
+            }
+        }
+    }
+
+    private static void run(SQLiteStorage storage, int readers) throws Exception {
+        List<UUID> players = new ArrayList<>();
+        List<PlayerStatDelta> seed = new ArrayList<>();
+        for (int i = 0; i < PLAYERS; i++) {
+            UUID uuid = UUID.randomUUID();
+            players.add(uuid);
+            PlayerStatDelta.Builder builder = PlayerStatDelta.builder().playerUUID(uuid);
+            for (int k = 0; k < 20; k++) {
+                builder.baseValue("stat_" + k, k);
+            }
+            for (int k = 0; k < 3; k++) {
+                builder.upsert(StatModifierBuilder.create().statId("stat_" + k).source("permanent:quest_" + k).flat(k).permanent().build());
+            }
+            seed.add(builder.build());
+        }
+        for (int i = 0; i < PLAYERS; i += 200) {
+            assertTrue(storage.saveDeltas(seed.subList(i, i + 200)).join().isSuccess());
+        }
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread writer = new Thread(() -> {
+            Random random = new Random(2);
+            while (running.get()) {
+                List<PlayerStatDelta> batch = new ArrayList<>();
+                for (int i = 0; i < 64; i++) {
+                    batch.add(PlayerStatDelta.builder().playerUUID(players.get(random.nextInt(PLAYERS)))
+                            .baseValue("stat_3", random.nextDouble()).build());
+                }
+                storage.saveDeltas(batch).join();
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+        writer.start();
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        List<Future<long[]>> results = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int c = 0; c < CLIENTS; c++) {
+            int seedValue = c;
+            results.add(clients.submit(() -> {
+                Random random = new Random(seedValue);
+                long[] latencies = new long[200_000];
+                int count = 0;
+                while (System.nanoTime() - start < DURATION_NANOS && count < latencies.length) {
+                    long begin = System.nanoTime();
+                    if (storage.load(players.get(random.nextInt(PLAYERS))).join().isEmpty()) {
+                        throw new IllegalStateException("stored player not found");
+                    }
+                    latencies[count++] = System.nanoTime() - begin;
+                }
+                return Arrays.copyOf(latencies, count);
+            }));
+        }
+        List<long[]> collected = new ArrayList<>();
+        for (Future<long[]> result : results) {
+            collected.add(result.get());
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        clients.shutdown();
+        running.set(false);
+        writer.join();
+
+        long[] all = collected.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("readers=%d: %.0f loads/s, p50 %.2f ms, p99 %.2f ms%n", readers, all.length / seconds,
+                all[all.length / 2] / 1e6, all[(int) (all.length * 0.99)] / 1e6);
+    }
+}
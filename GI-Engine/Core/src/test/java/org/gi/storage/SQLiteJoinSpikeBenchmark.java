@@ -0,0 +1,112 @@
+package org.gi.storage;
+
+import org.gi.builder.StatModifierBuilder;
+import org.gi.stat.IStatModifier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 500명 동시 접속 스파이크: load 500개를 한 번에 던지고 그동안 64명 saveDeltas 한 번
+ * 저장된 플레이어 5000명, 행/블롭 형식 x PLATFORM/VIRTUAL x 읽기 커넥션 2/4/8, 워밍업 3회 후 10회 p50/p99
+ * 실행: gradle :Core:test -Pbenchmark --tests '*SQLiteJoinSpikeBenchmark'
+ */
+@EnabledIfSystemProperty(named = "gi.benchmark", matches = "true")
+class SQLiteJoinSpikeBenchmark {
+    private static final Logger LOGGER = Logger.getLogger("SQLiteJoinSpikeBenchmark");
+    private static final int PLAYERS = 5_000;
+    private static final int JOINS = 500;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void concurrentJoins() {
+        for (boolean blob : new boolean[]{false, true}) {
+            String fileName = blob ? "spike-blob.db" : "spike-row.db";
+            List<UUID> players = seed(fileName, blob);
+
+            for (StorageExecutorMode mode : StorageExecutorMode.values()) {
+                for (int readers : new int[]{2, 4, 8}) {
+                    SQLiteStorage storage = new SQLiteStorage(LOGGER, directory.toFile(), fileName, blob, readers, mode);
+                    assertTrue(storage.initialize().isSuccess());
+                    try {
+                        Random random = new Random(1);
+                        for (int i = 0; i < 3; i++) {
+                            spike(storage, players, random);
+                        }
+                        List<Long> latencies = new ArrayList<>();
+                        for (int i = 0; i < 10; i++) {
+                            latencies.addAll(spike(storage, players, random));
+                        }
+                        Collections.sort(latencies);
+                        System.out.printf("%-4s %-8s readers=%d: p50 %6.2f ms, p99 %6.2f ms%n", blob ? "blob" : "row", mode,
+                                readers, latencies.get(latencies.size() / 2) / 1e6,
+                                latencies.get((int) (latencies.size() * 0.99)) / 1e6);
+                    } finally {
+                        storage.shutdown();
+                    }
+                }
+            }
+        }
+    }
+
+    private List<UUID> seed(String fileName, boolean blob) {
+        SQLiteStorage storage = new SQLiteStorage(LOGGER, directory.toFile(), fileName, blob, 2);
+        assertTrue(storage.initialize().isSuccess());
+        List<UUID> players = new ArrayList<>();
+        try {
+            for (int i = 0; i < PLAYERS; i++) {
+                UUID uuid = UUID.randomUUID();
+                players.add(uuid);
+                PlayerStatData.Builder builder = PlayerStatData.builder().playerUUID(uuid);
+                for (int k = 0; k < 30; k++) {
+                    builder.baseValue("stat_" + k, k);
+                }
+                List<IStatModifier> modifiers = new ArrayList<>();
+                for (int k = 0; k < 5; k++) {
+                    modifiers.add(StatModifierBuilder.create().statId("stat_" + k).source("permanent:quest_" + k).flat(k).permanent().build());
+                }
+                assertTrue(storage.save(builder.permanentModifiers(modifiers).build()).join().isSuccess());
+            }
+        } finally {
+            storage.shutdown();
+        }
+        return players;
+    }
+
+    /**
+     * 접속 500개와 쓰기 한 번을 동시에, 각 load의 제출~완료 시간
+     * 쓰기 대상(마지막 1000명)과 접속 대상은 겹치지 않음
+     */
+    private static List<Long> spike(SQLiteStorage storage, List<UUID> players, Random random) {
+        CompletableFuture<?> writes = storage.saveDeltas(players.subList(PLAYERS - 1000, PLAYERS - 1000 + 64).stream()
+                .map(uuid -> PlayerStatDelta.builder().playerUUID(uuid).baseValue("stat_1", random.nextDouble()).build())
+                .toList());
+
+        List<CompletableFuture<Long>> joins = new ArrayList<>(JOINS);
+        for (int i = 0; i < JOINS; i++) {
+            UUID uuid = players.get(random.nextInt(PLAYERS - 1000));
+            long start = System.nanoTime();
+            joins.add(storage.load(uuid).thenApply(data -> {
+                if (data.isEmpty()) {
+                    throw new IllegalStateException("stored player not found");
+                }
+                return System.nanoTime() - start;
+            }));
+        }
+        List<Long> latencies = new ArrayList<>(JOINS);
+        for (CompletableFuture<Long> join : joins) {
+            latencies.add(join.join());
+        }
+        writes.join();
+        return latencies;
+    }
+}
@@ -0,0 +1,71 @@
+package org.gi.storage;
+
+import org.gi.builder.StatModifierBuilder;
+import org.gi.stat.IStatModifier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SQLite 플레이어 한 명씩 저장 처리량 (saves/s), 전체 저장 (기본값 20 + 수정자 5) vs 변경분 저장 (기본값 3 + 수정자 1)
+ * 실행: gradle :Core:test -Pbenchmark --tests '*SQLiteSaveBenchmark'
+ */
+@EnabledIfSystemProperty(named = "gi.benchmark", matches = "true")
+class SQLiteSaveBenchmark {
+    private static final int PLAYERS = 2_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void savesPerSecond() {
+        SQLiteStorage storage = new SQLiteStorage(Logger.getLogger("SQLiteSaveBenchmark"), directory.toFile(), "bench.db");
+        assertTrue(storage.initialize().isSuccess());
+        try {
+            List<PlayerStatData> full = new ArrayList<>();
+            for (int i = 0; i < PLAYERS; i++) {
+                PlayerStatData.Builder builder = PlayerStatData.builder().playerUUID(UUID.randomUUID());
+                for (int k = 0; k < 20; k++) {
+                    builder.baseValue("stat_" + k, k + i);
+                }
+                List<IStatModifier> modifiers = new ArrayList<>();
+                for (int k = 0; k < 5; k++) {
+                    modifiers.add(StatModifierBuilder.create().statId("stat_" + k).source("permanent:quest_" + k).flat(k).permanent().build());
+                }
+                full.add(builder.permanentModifiers(modifiers).build());
+            }
+
+            for (int round = 0; round < 3; round++) {
+                long start = System.nanoTime();
+                for (PlayerStatData data : full) {
+                    assertTrue(storage.save(data).join().isSuccess());
+                }
+                System.out.printf("round %d: full save (20 base + 5 modifiers) %.0f saves/s%n",
+                        round, PLAYERS / ((System.nanoTime() - start) / 1e9));
+            }
+
+            for (int round = 0; round < 3; round++) {
+                long start = System.nanoTime();
+                for (int i = 0; i < PLAYERS; i++) {
+                    PlayerStatDelta delta = PlayerStatDelta.builder().playerUUID(full.get(i).getPlayerUUID())
+                            .baseValue("stat_1", round + i).baseValue("stat_2", round).baseValue("stat_3", -round)
+                            .upsert(StatModifierBuilder.create().statId("stat_9").source("permanent:reward_" + round).flat(round).permanent().build())
+                            .build();
+                    assertTrue(storage.saveDelta(delta).join().isSuccess());
+                }
+                System.out.printf("round %d: delta save (3 base + 1 modifier) %.0f saves/s%n",
+                        round, PLAYERS / ((System.nanoTime() - start) / 1e9));
+            }
+        } finally {
+            storage.shutdown();
+        }
+    }
+}
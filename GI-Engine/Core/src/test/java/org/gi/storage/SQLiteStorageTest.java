@@ -0,0 +1,140 @@
+package org.gi.storage;
+
+import org.gi.builder.StatModifierBuilder;
+import org.gi.stat.IStatModifier;
+import org.gi.stat.enums.ModifierType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SQLiteStorageTest {
+    @TempDir
+    Path directory;
+
+    private SQLiteStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new SQLiteStorage(Logger.getLogger("SQLiteStorageTest"), directory.toFile(), "test.db");
+        assertTrue(storage.initialize().isSuccess());
+    }
+
+    @AfterEach
+    void tearDown() {
+        storage.shutdown();
+    }
+
+    @Test
+    void chunkSizesUsePowerOfTwoRemainders() {
+        assertEquals(List.of(300, 300, 32, 4, 1), AbstractStorage.chunkSizes(637, 300));
+        assertEquals(List.of(100), AbstractStorage.chunkSizes(100, 100));
+        assertEquals(List.of(), AbstractStorage.chunkSizes(0, 100));
+    }
+
+    /**
+     * 기본값 637행 (3열 -> 300, 300, 32, 4, 1), 수정자 237행 (9열 -> 100, 100, 32, 4, 1)
+     */
+    @Test
+    void fullSaveRoundTripsAcrossChunks() {
+        PlayerStatData data = player(UUID.randomUUID(), 637, 237);
+        IStatModifier temporary = StatModifierBuilder.create().source("buff:haste").statId("stat_0").flat(3).build();
+        List<IStatModifier> withTemporary = new ArrayList<>(data.getPermanentModifiers());
+        withTemporary.add(temporary);
+
+        assertTrue(storage.save(new PlayerStatData(data.getPlayerUUID(), data.getBaseValues(), withTemporary))
+                .join().isSuccess());
+
+        assertStored(data, storage.load(data.getPlayerUUID()).join().orElseThrow());
+    }
+
+    /**
+     * 세 플레이어 변경분을 한 트랜잭션으로: 기본값 750행, 수정자 270행 upsert, 수정자 삭제
+     * 다시 저장해도 (ON CONFLICT 갱신) 행이 늘지 않음
+     */
+    @Test
+    void deltasRoundTripAcrossPlayersAndChunks() {
+        List<PlayerStatData> players = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            PlayerStatData data = player(UUID.randomUUID(), 400, 120);
+            assertTrue(storage.save(data).join().isSuccess());
+            players.add(data);
+        }
+
+        List<PlayerStatDelta> deltas = new ArrayList<>();
+        for (PlayerStatData data : players) {
+            PlayerStatDelta.Builder delta = PlayerStatDelta.builder().playerUUID(data.getPlayerUUID());
+            for (int i = 150; i < 400; i++) {
+                delta.baseValue("stat_" + i, -i); // 기존 행 갱신
+            }
+            List<IStatModifier> existing = new ArrayList<>(data.getPermanentModifiers());
+            for (int i = 0; i < 60; i++) {
+                delta.remove(existing.get(i).getID());
+            }
+            for (int i = 60; i < 90; i++) {
+                IStatModifier old = existing.get(i);
+                delta.upsert(StatModifierBuilder.create().uniqueId(old.getID()).source(old.getSource())
+                        .statId(old.getStatID()).percent(0.5).priority(9).build());
+            }
+            for (int i = 0; i < 60; i++) {
+                delta.upsert(modifier(1000 + i));
+            }
+            deltas.add(delta.build());
+        }
+
+        assertTrue(storage.saveDeltas(deltas).join().isSuccess());
+        assertTrue(storage.saveDeltas(deltas).join().isSuccess());
+
+        Map<UUID, PlayerStatData> loaded = storage.loadAll(players.stream().map(PlayerStatData::getPlayerUUID).toList()).join();
+        for (int i = 0; i < players.size(); i++) {
+            PlayerStatData expected = players.get(i).applied(deltas.get(i));
+            assertStored(expected, loaded.get(expected.getPlayerUUID()));
+            assertEquals(120, expected.getPermanentModifiers().size());
+        }
+    }
+
+    private static PlayerStatData player(UUID uuid, int stats, int modifiers) {
+        PlayerStatData.Builder builder = PlayerStatData.builder().playerUUID(uuid);
+        for (int i = 0; i < stats; i++) {
+            builder.baseValue("stat_" + i, i * 0.5);
+        }
+        List<IStatModifier> permanent = new ArrayList<>();
+        for (int i = 0; i < modifiers; i++) {
+            permanent.add(modifier(i));
+        }
+        return builder.permanentModifiers(permanent).build();
+    }
+
+    private static IStatModifier modifier(int i) {
+        return StatModifierBuilder.create().source("permanent:quest_" + (i % 7)).statId("stat_" + (i % 13))
+                .type(ModifierType.values()[i % ModifierType.values().length]).value(1 + i * 0.25)
+                .priority(i % 5).stackable(i % 2 == 0).maxStacks(i % 4).build();
+    }
+
+    private static void assertStored(PlayerStatData expected, PlayerStatData actual) {
+        assertEquals(expected.getBaseValues(), actual.getBaseValues());
+
+        Map<UUID, IStatModifier> stored = actual.getPermanentModifiers().stream()
+                .collect(Collectors.toMap(IStatModifier::getID, Function.identity()));
+        assertEquals(expected.getPermanentModifiers().size(), stored.size());
+        for (IStatModifier modifier : expected.getPermanentModifiers()) {
+            IStatModifier actualModifier = stored.get(modifier.getID());
+            assertNotNull(actualModifier, modifier.getID().toString());
+            assertEquals(modifier.getStatID(), actualModifier.getStatID());
+            assertEquals(modifier.getSource(), actualModifier.getSource());
+            assertEquals(modifier.getType(), actualModifier.getType());
+            assertEquals(modifier.getValue(), actualModifier.getValue());
+            assertEquals(modifier.getPriority(), actualModifier.getPriority());
+            assertEquals(modifier.isStackable(), actualModifier.isStackable());
+            assertEquals(modifier.getStackCount(), actualModifier.getStackCount());
+        }
+    }
+}
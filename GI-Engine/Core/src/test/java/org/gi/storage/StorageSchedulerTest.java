@@ -0,0 +1,81 @@
+package org.gi.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StorageSchedulerTest {
+    private final List<String> order = new CopyOnWriteArrayList<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private StorageScheduler scheduler;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        scheduler.shutdown();
+        assertTrue(scheduler.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * 유지보수 자리가 차 있는 동안 제출된 삭제 뒤에, 같은 플레이어의 정기 저장이 먼저 실행되지 않음
+     */
+    @Test
+    void deleteQueuedAtMaintenanceRunsBeforeLaterSave() throws Exception {
+        scheduler = new StorageScheduler("test", 2, StorageExecutorMode.PLATFORM);
+        UUID player = UUID.randomUUID();
+
+        CompletableFuture<Void> migration = submit(StoragePriority.MAINTENANCE, Set.of(), "migration", true);
+        CompletableFuture<Void> delete = submit(StoragePriority.MAINTENANCE, Set.of(player), "delete", false);
+        CompletableFuture<Void> save = submit(StoragePriority.PERIODIC_SAVE, Set.of(player), "save", false);
+        CompletableFuture<Void> other = submit(StoragePriority.PERIODIC_SAVE, Set.of(UUID.randomUUID()), "other", false);
+
+        other.get(5, TimeUnit.SECONDS); // 다른 플레이어 기록은 막히지 않음
+        assertFalse(save.isDone());
+
+        release.countDown();
+        CompletableFuture.allOf(migration, delete, save).get(5, TimeUnit.SECONDS);
+        assertTrue(order.indexOf("delete") < order.indexOf("save"), order::toString);
+    }
+
+    /**
+     * 나중에 제출한 퇴장 저장은 우선순위가 높아도 같은 플레이어가 포함된 앞선 배치 저장이 끝난 뒤 실행
+     */
+    @Test
+    void quitSaveWaitsForEarlierBatchOfSamePlayer() throws Exception {
+        scheduler = new StorageScheduler("test", 4, StorageExecutorMode.PLATFORM);
+        UUID player = UUID.randomUUID();
+
+        CompletableFuture<Void> batch = submit(StoragePriority.PERIODIC_SAVE, Set.of(UUID.randomUUID(), player), "batch", true);
+        CompletableFuture<Void> quit = submit(StoragePriority.QUIT_SAVE, Set.of(player), "quit", false);
+        CompletableFuture<Void> load = CompletableFuture.runAsync(() -> order.add("load"), scheduler.at(StoragePriority.LOAD));
+
+        load.get(5, TimeUnit.SECONDS);
+        assertFalse(quit.isDone());
+
+        release.countDown();
+        CompletableFuture.allOf(batch, quit).get(5, TimeUnit.SECONDS);
+        assertEquals(List.of("load", "batch", "quit"), order);
+    }
+
+    private CompletableFuture<Void> submit(StoragePriority priority, Set<UUID> players, String name, boolean blocking) {
+        return CompletableFuture.runAsync(() -> {
+            if (blocking) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            order.add(name);
+        }, scheduler.at(priority, players));
+    }
+}
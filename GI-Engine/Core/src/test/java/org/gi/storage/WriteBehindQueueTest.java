@@ -0,0 +1,79 @@
+package org.gi.storage;
+
+import org.gi.Result;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindQueueTest {
+    private RecordingStorage storage;
+    private WriteBehindQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        storage = new RecordingStorage();
+        // 한 명씩 바로 기록, 대기는 한 명까지
+        queue = new WriteBehindQueue(storage, Logger.getLogger("WriteBehindQueueTest"), new WriteBehindSetting(1, 60_000, 1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        storage.gate.complete(null);
+        queue.shutdown(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void fullQueueNeverBlocksSubmitter() throws Exception {
+        storage.gate = new CompletableFuture<>();
+        UUID writing = UUID.randomUUID();
+        CompletableFuture<Result> first = queue.submit(delta(writing, 1));
+        awaitTrue(() -> storage.saved.size() == 1); // flusher가 저장소 응답을 기다리는 중
+        CompletableFuture<Result> waiting = queue.submit(delta(UUID.randomUUID(), 1));
+
+        CompletableFuture<Result> periodic = queue.submit(delta(UUID.randomUUID(), 1));
+        assertTrue(periodic.isDone());
+        assertFalse(periodic.join().isSuccess());
+
+        CompletableFuture<Result> quit = queue.submit(delta(UUID.randomUUID(), 1), StoragePriority.QUIT_SAVE);
+        assertEquals(2, storage.saved.size()); // 큐를 거치지 않고 바로 기록
+
+        CompletableFuture<Result> quitWhileWriting = queue.submit(delta(writing, 2), StoragePriority.QUIT_SAVE);
+        assertEquals(2, storage.saved.size()); // 같은 플레이어의 이전 기록이 끝날 때까지 미룸
+
+        storage.gate.complete(null);
+        CompletableFuture.allOf(first, waiting, quit, quitWhileWriting).get(5, TimeUnit.SECONDS);
+
+        assertTrue(first.join().isSuccess());
+        assertTrue(quitWhileWriting.join().isSuccess());
+        assertEquals(4, storage.saved.size());
+        assertEquals(List.of(1.0, 2.0), storage.saved.stream()
+                .filter(delta -> delta.getPlayerUUID().equals(writing))
+                .map(delta -> delta.getBaseValues().get("attack"))
+                .toList());
+
+        WriteBehindMetrics metrics = queue.getMetrics();
+        assertEquals(1, metrics.rejected());
+        assertEquals(2, metrics.bypassed());
+    }
+
+    private static PlayerStatDelta delta(UUID playerUUID, double attack) {
+        return PlayerStatDelta.builder().playerUUID(playerUUID).baseValue("attack", attack).build();
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met in time");
+            Thread.sleep(1);
+        }
+    }
+}
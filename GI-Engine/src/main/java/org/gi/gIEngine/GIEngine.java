@@ -9,15 +9,21 @@ import org.gi.damage.DamageCalculator;
 import org.gi.damage.IDamageCalculator;
 import org.gi.gIEngine.command.CommandCore;
 import org.gi.gIEngine.listener.DamageListener;
+import org.gi.gIEngine.listener.HealthListener;
 import org.gi.gIEngine.listener.PlayerListener;
+import org.gi.gIEngine.listener.PrefetchListener;
 import org.gi.gIEngine.service.PlayerStatManager;
 import org.gi.stat.IStatRegistry;
+import org.gi.stat.ModifierExpiryWheel;
 import org.gi.stat.StatRegistry;
 import org.gi.storage.*;
 
 import java.io.File;
+import java.util.concurrent.TimeUnit;
 
+import static org.gi.storage.StorageType.MYSQL_BLOB;
 import static org.gi.storage.StorageType.SQLITE;
+import static org.gi.storage.StorageType.SQLITE_BLOB;
 
 public final class GIEngine extends JavaPlugin {
     private static GIEngine plugin;
@@ -28,7 +34,12 @@ public final class GIEngine extends JavaPlugin {
     private PlayerStatManager playerStatManager;
     private StatLoader statLoader;
     private IPlayerDataStorage storage;
+    private WriteBehindQueue writeBehindQueue;
+    private PlayerDataPrefetcher prefetcher;
+    private PlayerSessionCache sessionCache;
     private BukkitTask autoSaveTask;
+    private ModifierExpiryWheel expiryWheel;
+    private BukkitTask expiryTask;
 
     @Override
     public void onEnable() {
@@ -39,7 +50,7 @@ public final class GIEngine extends JavaPlugin {
         statRegistry = new StatRegistry();
 
         statLoader = new StatLoader(plugin,statRegistry);
-        damageCalculator = new DamageCalculator();
+        damageCalculator = new DamageCalculator(statRegistry);
 
         var result = EngineAPI.initialize(statRegistry,damageCalculator);
         if (!result.isSuccess()){
@@ -48,20 +59,46 @@ public final class GIEngine extends JavaPlugin {
         }
         storage = initializeStorage();
         storage.initialize();
-
-        playerStatManager = new PlayerStatManager(statRegistry);
+        writeBehindQueue = new WriteBehindQueue(storage, getLogger(), new WriteBehindSetting(
+                config.getInt("storage.write-behind.batch-size"),
+                config.getLong("storage.write-behind.max-delay"),
+                config.getInt("storage.write-behind.max-pending")
+        ));
+        prefetcher = new PlayerDataPrefetcher(storage, config.getLong("storage.prefetch.ttl"));
+        sessionCache = config.getBoolean("storage.session-cache.enabled")
+                ? new PlayerSessionCache(new SessionCacheSetting(
+                        config.getLong("storage.session-cache.ttl"),
+                        config.getInt("storage.session-cache.max-players"),
+                        config.getLong("storage.session-cache.max-memory")))
+                : PlayerSessionCache.disabled();
+
+        expiryWheel = new ModifierExpiryWheel();
+        playerStatManager = new PlayerStatManager(statRegistry, expiryWheel);
         getLogger().info(statLoader.load().getMessage());
+        try{
+            statRegistry.lock(); // StatKey 발급, 파생 스탯 그래프 생성
+        }catch (IllegalStateException e){
+            getLogger().severe(e.getMessage());
+            getServer().getPluginManager().disablePlugin(this);
+            return;
+        }
 
         getServer().getPluginManager().registerEvents(
                 new PlayerListener(playerStatManager),
                 this
         );
 
+        if (config.getBoolean("storage.prefetch.enabled")){
+            getServer().getPluginManager().registerEvents(new PrefetchListener(prefetcher, sessionCache), this);
+        }
+
         getServer().getPluginManager().registerEvents(
                 new DamageListener(playerStatManager,damageCalculator),
                 this
         );
 
+        getServer().getPluginManager().registerEvents(new HealthListener(playerStatManager), this);
+
         getLogger().info("GI-Engine Initialized");
 
         getCommand("stat").setExecutor(new CommandCore(statRegistry,statLoader,damageCalculator));
@@ -70,9 +107,10 @@ public final class GIEngine extends JavaPlugin {
         getCommand("damage").setTabCompleter(new CommandCore(statRegistry,statLoader,damageCalculator));
 
         startAutoSaveTask();
+        startExpiryTask();
 
         // 이미 접속한 플레이어 로드 (리로드 대응)
-        Bukkit.getOnlinePlayers().forEach(playerStatManager::load);
+        playerStatManager.loadAll(Bukkit.getOnlinePlayers());
     }
 
     @Override
@@ -82,11 +120,21 @@ public final class GIEngine extends JavaPlugin {
             autoSaveTask.cancel();
         }
 
+        // 만료 휠 태스크 중지
+        if (expiryTask != null) {
+            expiryTask.cancel();
+        }
+
         // 모든 플레이어 저장 및 언로드
         if (playerStatManager != null) {
             playerStatManager.unloadAll();
         }
 
+        // 남은 저장 요청 기록 후 큐 종료
+        if (writeBehindQueue != null) {
+            writeBehindQueue.shutdown(10, TimeUnit.SECONDS);
+        }
+
         // 저장소 종료
         if (storage != null) {
             storage.shutdown();
@@ -111,22 +159,26 @@ public final class GIEngine extends JavaPlugin {
             type = SQLITE;
         }
 
+        StorageExecutorMode executorMode = executorMode();
+
         return switch (type){
-            case SQLITE -> {
+            case SQLITE, SQLITE_BLOB -> {
                 String fileName = config.getString("storage.sqlite.file");
                 if (fileName == null || fileName.isEmpty()){
                     getLogger().warning("Not a valid storage file. Using SQLITE.");
                     fileName = "player_data.db";
                     getLogger().warning("create Default DB");
                 }
-                yield new SQLiteStorage(getLogger(), getDataFolder(), fileName);
+                yield new SQLiteStorage(getLogger(), getDataFolder(), fileName, type == SQLITE_BLOB,
+                        config.getInt("storage.sqlite.read-connections"), executorMode);
             }
-            case MYSQL -> {
+            case MYSQL, MYSQL_BLOB -> {
                 ConfigurationSection section = config.getSection("storage.mysql");
 
                 if (section == null) {
                     getLogger().severe("MySQL configuration section not found! Falling back to SQLite.");
-                    yield new SQLiteStorage(getLogger(), getDataFolder(), "player_data.db");
+                    yield new SQLiteStorage(getLogger(), getDataFolder(), "player_data.db", type == MYSQL_BLOB,
+                            SQLiteStorage.DEFAULT_READ_CONNECTIONS, executorMode);
                 }
 
                 String host = section.getString("host");
@@ -146,11 +198,45 @@ public final class GIEngine extends JavaPlugin {
                         host,port,user,password,database,connectionTimeOut,idleTimeOut,maxLifetime,validationTimeOut,keepAliveTimeout,maxPoolSize
                 );
 
-                yield new MySQLStorage(getLogger(),setting);
+                yield withJournal(new MySQLStorage(getLogger(),setting, type == MYSQL_BLOB, executorMode));
             }
+            case FILE -> new FileStorage(getLogger(), getDataFolder(), new FileStorageSetting(
+                    config.getString("storage.file.directory"),
+                    config.getInt("storage.file.players-per-segment"),
+                    config.getLong("storage.file.compaction-interval"),
+                    config.getDouble("storage.file.compaction-ratio")
+            ));
         };
     }
 
+    private StorageExecutorMode executorMode(){
+        String modeStr = config.getString("storage.executor");
+        if (modeStr == null || modeStr.isEmpty()){
+            return StorageExecutorMode.PLATFORM;
+        }
+        try{
+            return StorageExecutorMode.valueOf(modeStr.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            getLogger().warning("Unknown storage executor: " + modeStr + ". Using PLATFORM.");
+            return StorageExecutorMode.PLATFORM;
+        }
+    }
+
+    /**
+     * storage.journal.enabled면 저장을 로컬 journal에 먼저 기록 (DB 장애 중에도 저장·종료가 막히지 않음)
+     */
+    private IPlayerDataStorage withJournal(IPlayerDataStorage backend){
+        if (!config.getBoolean("storage.journal.enabled")){
+            return backend;
+        }
+        String fileName = config.getString("storage.journal.file");
+        if (fileName == null || fileName.isEmpty()){
+            fileName = "journal.log";
+        }
+        return new JournaledStorage(backend, getLogger(), new File(getDataFolder(), fileName),
+                config.getLong("storage.journal.drain-timeout"));
+    }
+
     private void startAutoSaveTask(){
         int interval = config.getInt("storage.auto-save-interval");
 
@@ -167,6 +253,20 @@ public final class GIEngine extends JavaPlugin {
 
                 if (config.getBoolean("storage.debug")){
                     getLogger().info("Auto-saved " + playerStatManager.getLoadedPlayerCount() + " players.");
+                    getLogger().info("Write-behind: " + writeBehindQueue.getMetrics());
+                    getLogger().info("Prefetch: " + prefetcher.getMetrics());
+                    getLogger().info("Session cache: " + sessionCache.getMetrics());
+                    if (storage instanceof JournaledStorage journaled){
+                        getLogger().info("Journal: " + journaled.getStatus());
+                    }
+                    IPlayerDataStorage backend = storage instanceof JournaledStorage journaled ? journaled.getBackend() : storage;
+                    if (backend instanceof AbstractStorage sql){
+                        sql.getStatementCacheMetrics().ifPresent(metrics ->
+                                getLogger().info("Statement cache: " + metrics));
+                        sql.getQueueMetrics().stream()
+                                .filter(metrics -> metrics.started() > 0 || metrics.queued() > 0)
+                                .forEach(metrics -> getLogger().info("Storage queue: " + metrics));
+                    }
                 }
             }
         }, intervalTicks, intervalTicks);
@@ -174,6 +274,14 @@ public final class GIEngine extends JavaPlugin {
         getLogger().info("Auto-save enabled: every " + interval + " seconds.");
     }
 
+    /**
+     * 매 틱 만료 휠 진행 (메인 스레드에서 리스너 호출)
+     */
+    private void startExpiryTask(){
+        expiryTask = Bukkit.getScheduler().runTaskTimer(this,
+                () -> expiryWheel.advance(System.currentTimeMillis()), 1L, 1L);
+    }
+
     public static GIEngine getInstance() {
         return plugin;
     }
@@ -182,6 +290,10 @@ public final class GIEngine extends JavaPlugin {
         return statRegistry;
     }
 
+    public ModifierExpiryWheel getExpiryWheel() {
+        return expiryWheel;
+    }
+
     public IDamageCalculator getDamageCalculator() {
         return damageCalculator;
     }
@@ -197,4 +309,16 @@ public final class GIEngine extends JavaPlugin {
     public IPlayerDataStorage getStorage() {
         return storage;
     }
+
+    public WriteBehindQueue getWriteBehindQueue() {
+        return writeBehindQueue;
+    }
+
+    public PlayerDataPrefetcher getPrefetcher() {
+        return prefetcher;
+    }
+
+    public PlayerSessionCache getSessionCache() {
+        return sessionCache;
+    }
 }
@@ -10,6 +10,8 @@ import org.gi.stat.IStat;
 import org.gi.stat.IStatRegistry;
 import org.gi.stat.enums.ScalingType;
 import org.gi.stat.enums.StatCategory;
+import org.gi.stat.formula.Formula;
+import org.gi.stat.formula.StatFormula;
 
 import java.io.File;
 import java.util.List;
@@ -70,14 +72,22 @@ public class StatLoader {
         return Result.SUCCESS("Loaded " + count + " stats");
     }
 
+    /**
+     * 잠금 해제 -> 재등록 -> 다시 잠금 (새 StatKey 세대 발급)
+     * 파생 스탯 그래프 생성 실패 시 잠기지 않은 상태로 Error 반환
+     */
     public Result reload(){
-        if (registry.isLocked()){
-            return Result.Error("StatsRegistry is locked");
-        }
-
+        registry.unlock();
         registry.clear();
 
-        return load();
+        Result result = load();
+        try{
+            registry.lock();
+        }catch (IllegalStateException e){
+            logger.severe(e.getMessage());
+            return Result.Error(e.getMessage());
+        }
+        return result;
     }
 
     public IStat parseStat(ConfigurationSection section,String statId) {
@@ -90,6 +100,15 @@ public class StatLoader {
         double minValue = section.getDouble("min-value", Double.MIN_VALUE);
         double maxValue = section.getDouble("max-value", Double.MAX_VALUE);
         boolean percentageBased = section.getBoolean("percentage-based", false);
+        String derived = section.getString("derived");
+        String formula = section.getString("formula");
+
+        if (derived != null && !derived.isBlank()) {
+            Formula.parse(derived); // 문법 오류는 여기서, 참조 스탯/순환은 lock()에서 검사
+        }
+        if (formula != null && !formula.isBlank()) {
+            StatFormula.compile(formula); // 한 번 컴파일, StatInstance는 캐시된 결과 공유
+        }
 
         return StatBuilder.create()
                 .id(statId)
@@ -100,6 +119,8 @@ public class StatLoader {
                 .defaultValue(defaultValue)
                 .range(minValue,maxValue)
                 .percentageBased(percentageBased)
+                .derived(derived)
+                .formula(formula)
                 .build();
     }
 }
@@ -0,0 +1,63 @@
+package org.gi.gIEngine.listener;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.entity.EntityRegainHealthEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.gi.gIEngine.GIEngine;
+import org.gi.gIEngine.service.PlayerStatManager;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 플레이어 체력 변화를 "health" 리소스를 읽는 StatCondition에 알림
+ *
+ * 이벤트 시점에는 체력이 아직 바뀌지 않았으므로 다음 틱에 알림 (한 틱 안의 여러 변화는 한 번으로)
+ */
+public class HealthListener implements Listener {
+    public static final String HEALTH = "health";
+
+    private final PlayerStatManager statManager;
+    private final Set<UUID> pending = new HashSet<>(); // 메인 스레드 전용
+
+    public HealthListener(PlayerStatManager statManager){
+        this.statManager = statManager;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onDamage(EntityDamageEvent event) {
+        if (event.getEntity() instanceof Player player) {
+            healthChanged(player);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onRegainHealth(EntityRegainHealthEvent event) {
+        if (event.getEntity() instanceof Player player) {
+            healthChanged(player);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onRespawn(PlayerRespawnEvent event) {
+        healthChanged(event.getPlayer());
+    }
+
+    private void healthChanged(Player player) {
+        UUID uuid = player.getUniqueId();
+        if (!pending.add(uuid)) {
+            return; // 이번 틱에 이미 예약됨
+        }
+
+        Bukkit.getScheduler().runTask(GIEngine.getInstance(), () -> {
+            pending.remove(uuid);
+            statManager.getHolderIfReady(uuid).ifPresent(holder -> holder.notifyResourceChanged(HEALTH));
+        });
+    }
+}
@@ -0,0 +1,27 @@
+package org.gi.gIEngine.listener;
+
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.gi.storage.PlayerDataPrefetcher;
+import org.gi.storage.PlayerSessionCache;
+
+public class PrefetchListener implements Listener {
+    private final PlayerDataPrefetcher prefetcher;
+    private final PlayerSessionCache sessionCache;
+
+    public PrefetchListener(PlayerDataPrefetcher prefetcher, PlayerSessionCache sessionCache){
+        this.prefetcher = prefetcher;
+        this.sessionCache = sessionCache;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPreLogin(AsyncPlayerPreLoginEvent event) {
+        // 다른 플러그인이 접속을 거부하지 않은 경우에만, 접속 전에 저장소 조회 시작
+        // 세션 캐시에 남은 재접속은 저장소 조회가 필요 없음
+        if (event.getLoginResult() == AsyncPlayerPreLoginEvent.Result.ALLOWED && !sessionCache.contains(event.getUniqueId())) {
+            prefetcher.prefetch(event.getUniqueId());
+        }
+    }
+}
@@ -2,24 +2,45 @@ package org.gi.gIEngine.model;
 
 import org.bukkit.entity.Player;
 import org.gi.stat.IStatInstance;
+import org.gi.stat.IStatModifier;
 import org.gi.stat.IStatRegistry;
+import org.gi.stat.ModifierExpiryWheel;
 import org.gi.stat.StatHolder;
 import org.gi.stat.enums.HolderType;
+import org.gi.storage.PlayerStatData;
+import org.gi.storage.PlayerStatDelta;
 
-import java.util.UUID;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class PlayerStatHolder extends StatHolder {
+    public static final String PERMANENT_PREFIX = "permanent:";
+
     private final UUID playerId;
     private final String playerName;
 
+    // 마지막 저장 이후 변경 (영구 수정자만 추적)
+    // 기본값은 변경 시점의 값을 보관 -> 저장 재시도 때 홀더가 비워져 있어도 값이 남음
+    private final Map<String, Double> pendingBaseValues = new ConcurrentHashMap<>();
+    private final Map<UUID, IStatModifier> upsertedModifiers = new ConcurrentHashMap<>();
+    private final Set<UUID> removedModifiers = ConcurrentHashMap.newKeySet();
+
     public PlayerStatHolder(IStatRegistry statRegistry, UUID playerId, String playerName) {
-        super(statRegistry);
+        this(statRegistry, null, playerId, playerName);
+    }
+
+    public PlayerStatHolder(IStatRegistry statRegistry, ModifierExpiryWheel expiryWheel, UUID playerId, String playerName) {
+        super(statRegistry, expiryWheel);
         this.playerId = playerId;
         this.playerName = playerName;
     }
 
     public PlayerStatHolder(IStatRegistry statRegistry, Player player) {
-        this(statRegistry, player.getUniqueId(), player.getName());
+        this(statRegistry, null, player.getUniqueId(), player.getName());
+    }
+
+    public PlayerStatHolder(IStatRegistry statRegistry, ModifierExpiryWheel expiryWheel, Player player) {
+        this(statRegistry, expiryWheel, player.getUniqueId(), player.getName());
     }
 
     @Override
@@ -48,4 +69,115 @@ public class PlayerStatHolder extends StatHolder {
             instance.clearModifiers();
         }
     }
+
+    @Override
+    protected void onBaseChanged(IStatInstance instance) {
+        pendingBaseValues.put(instance.getStat().getID().toLowerCase(), instance.getBase());
+    }
+
+    @Override
+    protected void onModifierAdded(IStatInstance instance, IStatModifier modifier) {
+        if (isPermanent(modifier)) {
+            removedModifiers.remove(modifier.getID());
+            upsertedModifiers.put(modifier.getID(), modifier);
+        }
+    }
+
+    @Override
+    protected void onModifierRemoved(IStatInstance instance, IStatModifier modifier) {
+        if (isPermanent(modifier)) {
+            // 교체(같은 ID 재추가)는 onModifierAdded가 이어서 호출되어 upsert로 바뀜
+            upsertedModifiers.remove(modifier.getID(), modifier);
+            removedModifiers.add(modifier.getID());
+        }
+    }
+
+    /**
+     * @return 저장하지 않은 변경이 있으면 true
+     */
+    public boolean isDirty() {
+        return !pendingBaseValues.isEmpty() || !upsertedModifiers.isEmpty() || !removedModifiers.isEmpty();
+    }
+
+    /**
+     * 저장할 변경분을 꺼내고 변경 표시 해제
+     * 저장 실패 시 restoreDelta()로 되돌려야 함
+     *
+     * @return 변경이 없으면 empty
+     */
+    public Optional<PlayerStatDelta> drainDelta() {
+        if (!isDirty()) {
+            return Optional.empty();
+        }
+
+        PlayerStatDelta.Builder builder = PlayerStatDelta.builder().playerUUID(playerId);
+
+        for (Map.Entry<String, Double> entry : pendingBaseValues.entrySet()) {
+            if (pendingBaseValues.remove(entry.getKey(), entry.getValue())) {
+                builder.baseValue(entry.getKey(), entry.getValue());
+            }
+        }
+        for (Map.Entry<UUID, IStatModifier> entry : upsertedModifiers.entrySet()) {
+            if (upsertedModifiers.remove(entry.getKey(), entry.getValue())) {
+                builder.upsert(entry.getValue());
+            }
+        }
+        for (UUID modifierId : removedModifiers) {
+            if (removedModifiers.remove(modifierId)) {
+                builder.remove(modifierId);
+            }
+        }
+
+        PlayerStatDelta delta = builder.build();
+        return delta.isEmpty() ? Optional.empty() : Optional.of(delta);
+    }
+
+    /**
+     * 저장 실패한 변경분을 다시 변경 표시 (그 사이 새 변경이 있으면 새 변경 우선)
+     * 값은 변경분에 담긴 값을 그대로 사용 (퇴장 후 clearAllStats()된 홀더에서도 재시도 가능)
+     */
+    public void restoreDelta(PlayerStatDelta delta) {
+        delta.getBaseValues().forEach(pendingBaseValues::putIfAbsent);
+
+        for (IStatModifier modifier : delta.getUpsertedModifiers()) {
+            if (!removedModifiers.contains(modifier.getID())) {
+                upsertedModifiers.putIfAbsent(modifier.getID(), modifier);
+            }
+        }
+        for (UUID modifierId : delta.getRemovedModifiers()) {
+            if (!upsertedModifiers.containsKey(modifierId)) {
+                removedModifiers.add(modifierId);
+            }
+        }
+    }
+
+    /**
+     * 저장 대상 상태 전체 (모든 base 값과 영구 수정자)
+     */
+    public PlayerStatData toData() {
+        PlayerStatData.Builder builder = PlayerStatData.builder().playerUUID(playerId);
+        List<IStatModifier> modifiers = new ArrayList<>();
+        for (IStatInstance instance : getAllIStatInstances()) {
+            builder.baseValue(instance.getStat().getID().toLowerCase(), instance.getBase());
+            for (IStatModifier modifier : instance.getAllModifiers()) {
+                if (isPermanent(modifier)) {
+                    modifiers.add(modifier);
+                }
+            }
+        }
+        return builder.permanentModifiers(modifiers).build();
+    }
+
+    /**
+     * 변경 표시 해제 (저장소에서 불러온 직후 등 저장소와 같은 상태일 때)
+     */
+    public void clearDirty() {
+        pendingBaseValues.clear();
+        upsertedModifiers.clear();
+        removedModifiers.clear();
+    }
+
+    private static boolean isPermanent(IStatModifier modifier) {
+        return modifier.getSource().startsWith(PERMANENT_PREFIX);
+    }
 }
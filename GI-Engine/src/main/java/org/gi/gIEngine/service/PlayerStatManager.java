@@ -5,35 +5,55 @@ import org.bukkit.entity.Player;
 import org.gi.Result;
 import org.gi.gIEngine.GIEngine;
 import org.gi.gIEngine.model.PlayerStatHolder;
-import org.gi.stat.IStatInstance;
 import org.gi.stat.IStatModifier;
 import org.gi.stat.IStatRegistry;
+import org.gi.stat.ModifierExpiryWheel;
 import org.gi.storage.IPlayerDataStorage;
+import org.gi.storage.PlayerDataPrefetcher;
+import org.gi.storage.PlayerSessionCache;
 import org.gi.storage.PlayerStatData;
+import org.gi.storage.PlayerStatDelta;
+import org.gi.storage.StoragePriority;
+import org.gi.storage.WriteBehindQueue;
 
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 public class PlayerStatManager {
+    private static final int LOADER_THREADS = 2;
+
     private final IStatRegistry statRegistry;
+    private final ModifierExpiryWheel expiryWheel;
     private final Map<UUID, PlayerStatHolder> holders = new ConcurrentHashMap<>();
     private final Logger logger;
     private final IPlayerDataStorage storage;
-    private static final String PERMANENT_PREFIX = "permanent:";
-    private final Set<UUID> loadingPlayers = ConcurrentHashMap.newKeySet();
-
-    public PlayerStatManager(IStatRegistry statRegistry){
+    private final WriteBehindQueue writeBehindQueue;
+    private final PlayerDataPrefetcher prefetcher;
+    private final PlayerSessionCache sessionCache;
+    private final Map<UUID, CompletableFuture<PlayerStatHolder>> loading = new ConcurrentHashMap<>(); // 등록 전인 로드
+    private final ExecutorService loader;
+    private final Executor mainThread;
+
+    public PlayerStatManager(IStatRegistry statRegistry, ModifierExpiryWheel expiryWheel){
         this.statRegistry = statRegistry;
+        this.expiryWheel = expiryWheel;
         logger = Bukkit.getLogger();
         storage = GIEngine.getInstance().getStorage();
+        writeBehindQueue = GIEngine.getInstance().getWriteBehindQueue();
+        prefetcher = GIEngine.getInstance().getPrefetcher();
+        sessionCache = GIEngine.getInstance().getSessionCache();
+        loader = Executors.newFixedThreadPool(LOADER_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "GI-Engine-Loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        mainThread = Bukkit.getScheduler().getMainThreadExecutor(GIEngine.getInstance());
     }
 
     public boolean isLoading(UUID playerId){
-        return loadingPlayers.contains(playerId);
+        return loading.containsKey(playerId);
     }
 
     // public PlayerStatHolder load(Player player){
@@ -56,52 +76,194 @@ public class PlayerStatManager {
     //     return holder;
     // }
 
-    public void load (Player player) {
+    /**
+     * 저장소 조회 -> 로더 스레드에서 홀더 생성·데이터 적용 -> 메인 스레드에서 한 번에 등록
+     * 최근 퇴장해 세션 캐시에 남은 상태나 사전 로그인 때 미리 읽은 결과가 있으면 저장소를 다시 조회하지 않음
+     * 등록 전까지 getHolder()에는 보이지 않으며, 완료 시점은 반환값이나 whenReady()로 받음
+     */
+    public CompletableFuture<PlayerStatHolder> load(Player player) {
         UUID uuid = player.getUniqueId();
+        String name = player.getName();
+        CompletableFuture<PlayerStatHolder> ready = beginLoad(uuid);
+
+        fetchStored(uuid)
+                .thenApplyAsync(opt -> buildHolder(uuid, name, opt.orElse(null)), loader)
+                .thenAcceptAsync(holder -> {
+                    if (publish(holder, ready)) {
+                        logger.info("Loaded player data: " + name);
+                    }
+                }, mainThread)
+                .exceptionally(e -> {
+                    failLoad(uuid, ready, e);
+                    return null;
+                });
+        return ready.copy();
+    }
 
-        loadingPlayers.add(uuid);
+    /**
+     * 여러 플레이어를 한 번에 로드 (서버 시작·리로드 시 접속 중인 플레이어)
+     * 플레이어 수와 관계없이 저장소 조회는 loadAll() 한 번, 등록도 메인 스레드 작업 한 번
+     */
+    public void loadAll(Collection<? extends Player> players){
+        if (players.isEmpty()){
+            return;
+        }
 
-        PlayerStatHolder holder = new PlayerStatHolder(statRegistry, player);
-        holder.initializeAllStats();;
+        Map<UUID, String> names = new LinkedHashMap<>();
+        Map<UUID, CompletableFuture<PlayerStatHolder>> readies = new HashMap<>();
+        for (Player player : players){
+            names.put(player.getUniqueId(), player.getName());
+            readies.put(player.getUniqueId(), beginLoad(player.getUniqueId()));
+        }
 
-        holders.put(uuid, holder);
+        fetch(() -> storage.loadAll(names.keySet(), StoragePriority.LOAD), Map.<UUID, PlayerStatData>of())
+                .thenApplyAsync(loaded -> {
+                    List<PlayerStatHolder> built = new ArrayList<>(names.size());
+                    names.forEach((uuid, name) -> built.add(buildHolder(uuid, name, loaded.get(uuid))));
+                    return built;
+                }, loader)
+                .thenAcceptAsync(built -> {
+                    int published = 0;
+                    for (PlayerStatHolder holder : built){
+                        if (publish(holder, readies.get(holder.getUUID()))){
+                            published++;
+                        }
+                    }
+                    logger.info("Loaded player data: " + published + " players");
+                }, mainThread)
+                .exceptionally(e -> {
+                    readies.forEach((uuid, ready) -> failLoad(uuid, ready, e));
+                    return null;
+                });
+    }
 
-        if (storageAvailable()) {
-            storage.load(uuid).thenAccept(opt -> {
-                opt.ifPresent(data -> applyLoadedData(holder, data));
-                loadingPlayers.remove(uuid);
-                logger.info("Loaded player data: "+player.getName());
-            }).exceptionally(e -> {
-                logger.warning("Failed to load:"  +e.getMessage());
-                loadingPlayers.remove(uuid);
-                return null;
+    /**
+     * 플레이어 홀더가 준비되면 완료되는 future
+     * 로딩 중이면 메인 스레드에서 등록과 함께 완료되고, 로드 전에 언로드되면 취소됨.
+     * 로드된 적 없는 플레이어면 IllegalStateException으로 실패
+     */
+    public CompletableFuture<PlayerStatHolder> whenReady(UUID playerId){
+        // 등록은 holders에 넣은 뒤 loading에서 빼므로 이 순서로 확인
+        CompletableFuture<PlayerStatHolder> pending = loading.get(playerId);
+        if (pending != null){
+            return pending.copy();
+        }
+        PlayerStatHolder holder = holders.get(playerId);
+        if (holder != null){
+            return CompletableFuture.completedFuture(holder);
+        }
+        return CompletableFuture.failedFuture(new IllegalStateException("Player is not loaded: " + playerId));
+    }
+
+    public CompletableFuture<PlayerStatHolder> whenReady(Player player){
+        return whenReady(player.getUniqueId());
+    }
+
+    /**
+     * 같은 플레이어의 이전 로드를 기다리던 쪽은 새 로드 결과를 받음
+     */
+    private CompletableFuture<PlayerStatHolder> beginLoad(UUID uuid){
+        CompletableFuture<PlayerStatHolder> ready = new CompletableFuture<>();
+        CompletableFuture<PlayerStatHolder> previous = loading.put(uuid, ready);
+        if (previous != null){
+            ready.whenComplete((holder, e) -> {
+                if (e == null) {
+                    previous.complete(holder);
+                } else {
+                    previous.completeExceptionally(e);
+                }
             });
-        }else{
-            loadingPlayers.remove(uuid);
         }
+        return ready;
     }
 
-    private void applyLoadedData(PlayerStatHolder holder,PlayerStatData data){
-        //base값 적용
-        for (Map.Entry<String,Double> entry : data.getBaseValues().entrySet()){
-            holder.setBase(entry.getKey(), entry.getValue());
+    private CompletableFuture<Optional<PlayerStatData>> fetchStored(UUID uuid){
+        Optional<PlayerStatData> recent = sessionCache.take(uuid);
+        if (recent.isPresent()){
+            prefetcher.invalidate(uuid);
+            return CompletableFuture.completedFuture(recent);
         }
+        return fetch(() -> prefetcher.take(uuid).orElseGet(() -> storage.load(uuid, StoragePriority.LOAD)), Optional.empty());
+    }
 
-        //modifier 적용
-        if (data.getPermanentModifiers() != null){
-            for (IStatModifier modifier : data.getPermanentModifiers()){
-                holder.addModifier(modifier);
-            }
+    /**
+     * 저장소를 쓸 수 없거나 조회에 실패하면 빈 데이터로 진행 (기본값 홀더)
+     */
+    private <T> CompletableFuture<T> fetch(Supplier<CompletableFuture<T>> query, T empty){
+        if (!storageAvailable()){
+            return CompletableFuture.completedFuture(empty);
+        }
+        return query.get().exceptionally(e -> {
+            logger.warning("Failed to load:" + e.getMessage());
+            return empty;
+        });
+    }
+
+    /**
+     * 아직 공개되지 않은 홀더를 만들어 저장된 데이터까지 적용 (로더 스레드)
+     * @param data 저장된 데이터가 없으면 null
+     */
+    private PlayerStatHolder buildHolder(UUID uuid, String name, PlayerStatData data){
+        PlayerStatHolder holder = new PlayerStatHolder(statRegistry, expiryWheel, uuid, name);
+        holder.initializeAllStats();
+        if (data != null){
+            applyLoadedData(holder, data);
         }
+        holder.clearDirty(); // 저장소와 같은 상태
+        return holder;
+    }
+
+    /**
+     * 메인 스레드에서 홀더 등록, 그 사이 언로드됐거나 새 로드로 대체됐으면 버림
+     */
+    private boolean publish(PlayerStatHolder holder, CompletableFuture<PlayerStatHolder> ready){
+        UUID uuid = holder.getUUID();
+        if (loading.get(uuid) != ready){
+            holder.clearAllStats();
+            return false;
+        }
+        holders.put(uuid, holder);
+        loading.remove(uuid, ready);
+        ready.complete(holder);
+        return true;
+    }
+
+    private void failLoad(UUID uuid, CompletableFuture<PlayerStatHolder> ready, Throwable e){
+        if (loading.remove(uuid, ready)){
+            logger.warning("Failed to load player data: " + uuid + ", " + e.getMessage());
+        }
+        ready.completeExceptionally(e);
+    }
+
+    private void applyLoadedData(PlayerStatHolder holder,PlayerStatData data){
+        holder.batch(tx -> {
+            //base값 적용
+            for (Map.Entry<String,Double> entry : data.getBaseValues().entrySet()){
+                tx.setBase(entry.getKey(), entry.getValue());
+            }
+
+            //modifier 적용
+            if (data.getPermanentModifiers() != null){
+                for (IStatModifier modifier : data.getPermanentModifiers()){
+                    tx.add(modifier);
+                }
+            }
+        });
     }
 
     public void unload(Player player){
         UUID uuid = player.getUniqueId();
-        PlayerStatHolder holder = holders.remove(player.getUniqueId());
+        CompletableFuture<PlayerStatHolder> pending = loading.remove(uuid);
+        if (pending != null){
+            pending.cancel(false); // 로드 도중 퇴장, 결과는 등록하지 않음
+        }
+        PlayerStatHolder holder = holders.remove(uuid);
+        prefetcher.invalidate(uuid); // 퇴장 저장 전에 미리 읽은 결과는 재접속 때 쓰지 않음
 
         if (holder != null){
             if (storageAvailable()){
-                save(holder);
+                sessionCache.put(holder.toData()); // 저장은 비동기로 진행, 그 전에 재접속해도 이 상태를 씀
+                save(holder, StoragePriority.QUIT_SAVE);
             }
             holder.clearAllStats();
         }
@@ -119,7 +281,7 @@ public class PlayerStatManager {
      * 블로킹 없이 홀더 반환. 없거나 로딩 중이면 empty.
      */
     public Optional<PlayerStatHolder> getHolderIfReady(UUID playerId) {
-        if (loadingPlayers.contains(playerId)) {
+        if (loading.containsKey(playerId)) {
             return Optional.empty();
         }
         return Optional.ofNullable(holders.get(playerId));
@@ -131,8 +293,15 @@ public class PlayerStatManager {
 
     /**
      * 모든 플레이어 언로드 (서버 종료 시점 호출)
+     * 진행 중인 로드는 취소하고 로더 스레드 종료
      * */
     public void unloadAll(){
+        loading.values().forEach(pending -> pending.cancel(false));
+        loading.clear();
+        loader.shutdownNow();
+        prefetcher.clear();
+        sessionCache.clear();
+
         try{
             saveAll().get(10, TimeUnit.SECONDS);
         }catch (Exception e){
@@ -150,51 +319,73 @@ public class PlayerStatManager {
     }
 
     public CompletableFuture<Void> save(PlayerStatHolder holder){
-        return saveRetry(holder, 3);
+        return save(holder, StoragePriority.PERIODIC_SAVE);
     }
 
-    private CompletableFuture<Void> saveRetry(PlayerStatHolder holder, int retryCount){
-        if (!storageAvailable()){
+    /**
+     * @param priority 저장 요청 우선순위 (퇴장 저장은 QUIT_SAVE, 자동 저장은 PERIODIC_SAVE)
+     */
+    public CompletableFuture<Void> save(PlayerStatHolder holder, StoragePriority priority){
+        return saveRetry(holder, 3, priority);
+    }
+
+    /**
+     * 마지막 저장 이후 변경분만 write-behind 큐에 등록, 변경이 없으면 쿼리 없음
+     * 실패 시 변경 표시를 되돌리고 재시도
+     */
+    private CompletableFuture<Void> saveRetry(PlayerStatHolder holder, int retryCount, StoragePriority priority){
+        Optional<PlayerStatDelta> pending = holder.drainDelta();
+        if (pending.isEmpty()){
             return CompletableFuture.completedFuture(null);
         }
+        PlayerStatDelta delta = pending.get();
 
-        Map<String,Double> baseValues = new HashMap<>();
-        for (IStatInstance instance : holder.getAllIStatInstances()){
-            baseValues.put(instance.getStat().getID(), instance.getBase());
+        if (!storageAvailable()){
+            holder.restoreDelta(delta);
+            return CompletableFuture.completedFuture(null);
         }
 
-        List<IStatModifier> permanentModifiers = holder.getAllIStatInstances().stream()
-                .flatMap(instance -> instance.getActiveModifiers().stream())
-                .filter(m -> m.getSource().startsWith(PERMANENT_PREFIX))
-                .collect(Collectors.toList());
-
-        PlayerStatData data = PlayerStatData.builder()
-                .playerUUID(holder.getUUID())
-                .baseValues(baseValues)
-                .permanentModifiers(permanentModifiers)
-                .build();
-
-        return storage.save(data)
-                .thenAccept(result -> {
+        return writeBehindQueue.submit(delta, priority)
+                .exceptionally(e -> Result.Error(e.getMessage()))
+                .thenCompose(result -> {
                     if (result.isSuccess()){
-                        logger.info("sava PlayerData: "+data.getPlayerUUID());
+                        logger.info("sava PlayerData: "+delta.getPlayerUUID());
+                        return CompletableFuture.completedFuture(null);
                     }
-                }).exceptionally(e -> {
+
+                    holder.restoreDelta(delta);
                     if (retryCount > 0){
-                        logger.warning("Failed to save PlayerData: "+data.getPlayerUUID()+", retrying...");
+                        logger.warning("Failed to save PlayerData: "+delta.getPlayerUUID()+", retrying...");
                         logger.warning("retrying... leftCount: "+(retryCount-1));
-                        saveRetry(holder, retryCount-1);
-                    }else{
-                        logger.warning("Failed to save PlayerData: "+data.getPlayerUUID());
+                        return saveRetry(holder, retryCount-1, priority);
                     }
-                    return null;
+                    logger.warning("Failed to save PlayerData: "+delta.getPlayerUUID());
+                    keepUnsaved(holder, delta);
+                    return CompletableFuture.completedFuture(null);
                 });
     }
 
+    /**
+     * 저장에 실패한 변경분이 퇴장 후 세션 캐시를 거쳐 사라지지 않도록
+     * 캐시된 상태는 버리고, 이미 캐시로 재접속한 홀더가 있으면 그 홀더에서 다시 저장
+     */
+    private void keepUnsaved(PlayerStatHolder holder, PlayerStatDelta delta){
+        UUID uuid = delta.getPlayerUUID();
+        sessionCache.invalidate(uuid);
+        PlayerStatHolder current = holders.get(uuid);
+        if (current != null && current != holder){
+            current.restoreDelta(delta);
+        }
+    }
+
+    /**
+     * 모든 플레이어 변경분을 큐에 등록한 뒤 지연 없이 그룹 커밋
+     */
     public CompletableFuture<Void> saveAll() {
         List<CompletableFuture<Void>> futures = holders.values().stream()
-                .map(this::save)
+                .map(holder -> save(holder, StoragePriority.PERIODIC_SAVE))
                 .toList();
+        writeBehindQueue.flush();
         return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new));
     }
 